@@ -1,44 +1,44 @@
-/*
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *      http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- *  Copyright © 2017 Yamashita,Takahiro
- */
-package org.vermeer1977.infrastructure.annotation.processor;
-
-/**
- * AnnotationProcessorによりクラス生成中に発生した例外です.
- * <P>
- * 例外発生個所を明確にすることを目的としたRuntimeExceptionのラッパーであり独自の実装はしていません.
- *
- * @author Yamashita,Takahiro
- */
-public class ClassFactoryException extends RuntimeException {
-
-    private static final long serialVersionUID = 1L;
-
-    /**
-     * Creates a new instance of <code>ClassFactoryProcessorException</code> without detail message.
-     */
-    public ClassFactoryException() {
-    }
-
-    /**
-     * Constructs an instance of <code>ClassFactoryProcessorException</code> with the specified detail message.
-     *
-     * @param msg the detail message.
-     */
-    public ClassFactoryException(String msg) {
-        super(msg);
-    }
-}
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor;
+
+/**
+ * AnnotationProcessorによりクラス生成中に発生した例外です.
+ * <P>
+ * 例外発生個所を明確にすることを目的としたRuntimeExceptionのラッパーであり独自の実装はしていません.
+ *
+ * @author Yamashita,Takahiro
+ */
+public class ClassFactoryException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new instance of <code>ClassFactoryProcessorException</code> without detail message.
+     */
+    public ClassFactoryException() {
+    }
+
+    /**
+     * Constructs an instance of <code>ClassFactoryProcessorException</code> with the specified detail message.
+     *
+     * @param msg the detail message.
+     */
+    public ClassFactoryException(String msg) {
+        super(msg);
+    }
+}
@@ -1,54 +1,134 @@
-/*
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *      http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- *  Copyright © 2017 Yamashita,Takahiro
- */
-package org.vermeer1977.infrastructure.annotation.processor.resource;
-
-import java.lang.annotation.Documented;
-import java.lang.annotation.ElementType;
-import java.lang.annotation.Retention;
-import java.lang.annotation.RetentionPolicy;
-import java.lang.annotation.Target;
-
-/**
- * ResourceBundleの情報を元にEnumを生成するクラスを指定するアノテーション.
- * <P>
- * 本インターフェースをクラスにアノテートすることで、{@link TargetResource}をアノテートしたフィールドの値のリソースを取得してEnumClassを作成する.
- *
- * @author Yamashita,Takahiro
- */
-@Documented
-@Target(ElementType.TYPE)
-@Retention(RetentionPolicy.SOURCE)
-public @interface GenerateResourceEnum {
-
-    /**
-     * 生成クラスのベースパッケージ名.
-     * <P>
-     * デフォルトは生成したクラスのパッケージ名
-     *
-     * @return 指定したベースパッケージ名
-     */
-    String basePackageName() default "";
-
-    /**
-     * 生成クラスのベースパッケージに付与するサブパッケージ名.
-     * <P>
-     * デフォルトは生成したクラス名を小文字にした文字列を付与します.
-     *
-     * @return 指定したサブパッケージ名
-     */
-    String subPackageName() default "";
-}
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ResourceBundleの情報を元にEnumを生成するクラスを指定するアノテーション.
+ * <P>
+ * 本インターフェースをクラスにアノテートすることで、{@link TargetResource}をアノテートしたフィールドの値のリソースを取得してEnumClassを作成する.
+ *
+ * @author Yamashita,Takahiro
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface GenerateResourceEnum {
+
+    /**
+     * 生成クラスのベースパッケージ名.
+     * <P>
+     * デフォルトは生成したクラスのパッケージ名
+     *
+     * @return 指定したベースパッケージ名
+     */
+    String basePackageName() default "";
+
+    /**
+     * 生成クラスのベースパッケージに付与するサブパッケージ名.
+     * <P>
+     * デフォルトは生成したクラス名を小文字にした文字列を付与します.
+     *
+     * @return 指定したサブパッケージ名
+     */
+    String subPackageName() default "";
+
+    /**
+     * ロケール毎のPropertiesファイルの値を生成クラスに埋め込むかの指定.
+     * <P>
+     * 埋め込んだ場合、生成クラスは実行時にResourceBundleを参照せず埋め込んだ値からリソースの値を解決します.<br>
+     * 埋め込む値はコンパイル時に参照できるPropertiesファイルの値です. デフォルトは埋め込みません.<br>
+     * 値はロケール毎のクラスに保持するため、参照しないロケールの値は読み込みません.<br>
+     * 親となるロケールと同じ値は埋め込まず、実行時に親の値から解決します.
+     *
+     * @return 埋め込む場合はtrue
+     */
+    boolean embedLocales() default false;
+
+    /**
+     * 埋め込み文字を配列にせずに受け取る{@code format}メソッドを生成する埋め込み文字の最大数.
+     * <P>
+     * 1から指定した数までの埋め込み文字を受け取る{@code format(Object param0, ...)}を生成します.<br>
+     * 可変長引数の{@code format}と異なり、呼び出しの都度埋め込み文字の配列を生成しません.<br>
+     * 指定できる値は0から{@link org.vermeer1977.infrastructure.annotation.processor.resource.runtime.ResourceCatalog#MAX_FORMAT_ARITY}です. デフォルトは生成しません.
+     *
+     * @return 埋め込み文字の最大数
+     */
+    int formatArity() default 0;
+
+    /**
+     * 定数毎のリソースのkeyと値を連結した文字列で保持するかの指定.
+     * <P>
+     * 連結した場合、生成クラスは定数毎にkeyと値の文字列を保持せず、参照時に連結した文字列から切り出します.<br>
+     * 生成するソースの大きさも抑えるため、定数のコメントには値を出力しません.<br>
+     * 定数の多いリソースで生成クラスの大きさとヒープの使用量を抑える場合に指定します. デフォルトは連結しません.
+     * <P>
+     * 定数の数がEnumの静的初期化子に収まらない（概ね2,000を超える）場合は指定に関わらず連結して、Enumの代わりに定数を保持するクラスを生成します.<br>
+     * 定数を参照するフィールドは{@code <クラス名>Constants<連番>}のインターフェースに分けて保持し、生成クラスはこれらを実装します.
+     * 定数は{@code switch}や{@code EnumSet}には使用できません.
+     *
+     * @return 連結する場合はtrue
+     */
+    boolean compact() default false;
+
+    /**
+     * ロケール毎のPropertiesファイルの値を生成クラスに埋め込まず、ファイルに出力するかの指定.
+     * <P>
+     * 出力した場合、生成クラスと同じパッケージのクラス出力先に「生成クラス名.catalog」を出力します.
+     * 生成クラスは実行時にファイルをメモリマップして、値は参照時に復号します.<br>
+     * keyとロケールの多いリソースで、ヒープの使用量を抑える場合に指定します. デフォルトは出力しません.<br>
+     * 定数と生成時の値、書式化や符号化をしたロケールの定数の数の配列はヒープに保持します.
+     * ファイルのkeyの数が定数の数と異なる場合は、生成クラスの初期化時に例外とします.
+     *
+     * @return 出力する場合はtrue
+     */
+    boolean mappedCatalog() default false;
+
+    /**
+     * ファイルに出力した値のうち、復号した値をロケール毎にヒープに保持する件数.
+     * <P>
+     * {@link #mappedCatalog()}を指定した場合のみ使用します. 1以上を指定します.
+     *
+     * @return 復号した値を保持する件数
+     */
+    int mappedCacheSize() default 256;
+
+    /**
+     * 生成クラスにリソースの値の参照件数を数える処理を含めるかの指定.
+     * <P>
+     * 含めた場合、生成クラスは参照と書式化の件数、生成時の値を返却した件数、書式化に要した時間を数えて、
+     * プラットフォームMBeanサーバーに公開します（{@link org.vermeer1977.infrastructure.annotation.processor.resource.runtime.ResourceMetrics}）.<br>
+     * デフォルトは含めません. 含めない場合は参照時に数えません.
+     *
+     * @return 含める場合はtrue
+     */
+    boolean metrics() default false;
+
+    /**
+     * 参照件数を定数毎にも数えるかの指定.
+     * <P>
+     * {@link #metrics()}を指定した場合のみ使用します. デフォルトは数えません.
+     *
+     * @return 定数毎に数える場合はtrue
+     */
+    boolean metricsPerConstant() default false;
+}
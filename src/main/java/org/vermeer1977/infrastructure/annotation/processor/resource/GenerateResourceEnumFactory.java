@@ -1,87 +1,133 @@
-/*
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *      http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- *  Copyright © 2017 Yamashita,Takahiro
- */
-package org.vermeer1977.infrastructure.annotation.processor.resource;
-
-import com.squareup.javapoet.JavaFile;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
-import javax.lang.model.element.Element;
-import javax.lang.model.element.VariableElement;
-import org.vermeer1977.infrastructure.annotation.processor.AbstractClassFactory;
-import org.vermeer1977.infrastructure.annotation.processor.JavaFileElement;
-
-/**
- * {@code GenerateResourceEnum}アノテーションを付与しているクラスからEnumを生成します.
- * <P>
- * @see GenerateResourceEnum
- * @author Yamashita,Takahiro
- */
-public class GenerateResourceEnumFactory extends AbstractClassFactory {
-
-    /**
-     * {@inheritDoc}
-     *
-     * @see GenerateResourceEnum
-     */
-    public GenerateResourceEnumFactory() {
-        super(GenerateResourceEnum.class);
-    }
-
-    /**
-     * {@inheritDoc}
-     * <P>
-     * 生成するEnum値にControlやLocaleを適用したい場合は、本メソッド内の{@link org.vermeer1977.infrastructure.annotation.processor.resource.ResourceEnumToJavaFile}
-     * にパラメーターとして追加してください. なお、JavaFileの編集は{@link ResourceEnumToJavaFile}にて行います.
-     */
-    @Override
-    public List<JavaFile> toJavaFiles(Element element) {
-        JavaFileElement javaFileElement = JavaFileElement.of(super.getProcessingEnvironment(), element);
-        if (this.precondition(javaFileElement) == false) {
-            return new ArrayList<>();
-        }
-        String packageName = javaFileElement.toPackageName(
-                element.getAnnotation(GenerateResourceEnum.class).basePackageName(),
-                element.getAnnotation(GenerateResourceEnum.class).subPackageName()
-        );
-
-        return javaFileElement.filter(TargetResource.class).stream()
-                .map(VariableElement.class::cast)
-                .map(ve -> {
-                    return ResourceEnumToJavaFile.of(ve.getConstantValue().toString())
-                            .packageName(packageName)
-                            .build().toJavaFile();
-                })
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * ResourceからEnumを作成する事前条件
-     *
-     * @param javaFileElement
-     * @return 事前条件を充足している場合、true
-     */
-    boolean precondition(JavaFileElement javaFileElement) {
-        boolean hasNotErr = true;
-        List<Element> fieldFiltered = javaFileElement.filter(TargetResource.class);
-        if (fieldFiltered.isEmpty()) {
-            this.printErrMessage("GenerateResourceEnum.class annotated. TargetResourceName.class annotated field is required.", javaFileElement.getElement());
-            hasNotErr = false;
-        }
-        return hasNotErr;
-    }
-}
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource;
+
+import com.squareup.javapoet.JavaFile;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.VariableElement;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import org.vermeer1977.infrastructure.annotation.processor.AbstractClassFactory;
+import org.vermeer1977.infrastructure.annotation.processor.JavaFileElement;
+import org.vermeer1977.infrastructure.annotation.processor.resource.runtime.ResourceCatalog;
+
+/**
+ * {@code GenerateResourceEnum}アノテーションを付与しているクラスからEnumを生成します.
+ * <P>
+ * @see GenerateResourceEnum
+ * @author Yamashita,Takahiro
+ */
+public class GenerateResourceEnumFactory extends AbstractClassFactory {
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see GenerateResourceEnum
+     */
+    public GenerateResourceEnumFactory() {
+        super(GenerateResourceEnum.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <P>
+     * 生成するEnum値にControlやLocaleを適用したい場合は、本メソッド内の{@link org.vermeer1977.infrastructure.annotation.processor.resource.ResourceEnumToJavaFile}
+     * にパラメーターとして追加してください. なお、JavaFileの編集は{@link ResourceEnumToJavaFile}にて行います.
+     */
+    @Override
+    public List<JavaFile> toJavaFiles(Element element) {
+        JavaFileElement javaFileElement = JavaFileElement.of(super.getProcessingEnvironment(), element);
+        if (this.precondition(javaFileElement) == false) {
+            return new ArrayList<>();
+        }
+        GenerateResourceEnum generateResourceEnum = element.getAnnotation(GenerateResourceEnum.class);
+        String packageName = javaFileElement.toPackageName(
+                generateResourceEnum.basePackageName(),
+                generateResourceEnum.subPackageName()
+        );
+
+        List<ResourceEnumToJavaFile> resourceEnumToJavaFiles = javaFileElement.filter(TargetResource.class).stream()
+                .map(VariableElement.class::cast)
+                .map(ve -> ResourceEnumToJavaFile.of(ve.getConstantValue().toString())
+                        .packageName(packageName)
+                        .embedLocales(generateResourceEnum.embedLocales())
+                        .formatArity(generateResourceEnum.formatArity())
+                        .compact(generateResourceEnum.compact())
+                        .mapped(generateResourceEnum.mappedCatalog(), generateResourceEnum.mappedCacheSize())
+                        .metrics(generateResourceEnum.metrics(), generateResourceEnum.metricsPerConstant())
+                        .build())
+                .collect(Collectors.toList());
+        List<JavaFile> javaFiles = resourceEnumToJavaFiles.stream()
+                .flatMap(resourceEnumToJavaFile -> resourceEnumToJavaFile.toJavaFiles().stream())
+                .collect(Collectors.toList());
+        if (generateResourceEnum.mappedCatalog()) {
+            resourceEnumToJavaFiles.forEach(resourceEnumToJavaFile -> this.writeMappedCatalog(resourceEnumToJavaFile, packageName, element));
+        }
+        return javaFiles;
+    }
+
+    /**
+     * ロケール毎のPropertiesファイルの値を、生成するEnumと同じパッケージのクラス出力先に出力します.
+     *
+     * @param resourceEnumToJavaFile 生成するEnumの編集クラス
+     * @param packageName 生成するEnumのパッケージ名
+     * @param element 生成元の要素
+     */
+    void writeMappedCatalog(ResourceEnumToJavaFile resourceEnumToJavaFile, String packageName, Element element) {
+        Filer filer = super.getProcessingEnvironment().getFiler();
+        try {
+            FileObject fileObject = filer.createResource(StandardLocation.CLASS_OUTPUT, packageName, resourceEnumToJavaFile.toMappedCatalogName(), element);
+            try (OutputStream out = fileObject.openOutputStream()) {
+                out.write(resourceEnumToJavaFile.toMappedCatalog());
+            }
+        } catch (IOException ex) {
+            this.printErrMessage("GenerateResourceEnum.class annotated. mapped catalog could not be written. " + ex.getMessage(), element);
+        }
+    }
+
+    /**
+     * ResourceからEnumを作成する事前条件
+     *
+     * @param javaFileElement
+     * @return 事前条件を充足している場合、true
+     */
+    boolean precondition(JavaFileElement javaFileElement) {
+        boolean hasNotErr = true;
+        List<Element> fieldFiltered = javaFileElement.filter(TargetResource.class);
+        if (fieldFiltered.isEmpty()) {
+            this.printErrMessage("GenerateResourceEnum.class annotated. TargetResourceName.class annotated field is required.", javaFileElement.getElement());
+            hasNotErr = false;
+        }
+        int formatArity = javaFileElement.getElement().getAnnotation(GenerateResourceEnum.class).formatArity();
+        if (formatArity < 0 || ResourceCatalog.MAX_FORMAT_ARITY < formatArity) {
+            this.printErrMessage("GenerateResourceEnum.class annotated. formatArity must be between 0 and " + ResourceCatalog.MAX_FORMAT_ARITY + ".", javaFileElement.getElement());
+            hasNotErr = false;
+        }
+        GenerateResourceEnum generateResourceEnum = javaFileElement.getElement().getAnnotation(GenerateResourceEnum.class);
+        if (generateResourceEnum.mappedCatalog() && generateResourceEnum.mappedCacheSize() < 1) {
+            this.printErrMessage("GenerateResourceEnum.class annotated. mappedCacheSize must be 1 or more.", javaFileElement.getElement());
+            hasNotErr = false;
+        }
+        return hasNotErr;
+    }
+}
@@ -1,336 +1,1587 @@
-/*
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *      http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- *  Copyright © 2017 Yamashita,Takahiro
- */
-package org.vermeer1977.infrastructure.annotation.processor.resource;
-
-import com.squareup.javapoet.ClassName;
-import com.squareup.javapoet.CodeBlock;
-import com.squareup.javapoet.FieldSpec;
-import com.squareup.javapoet.JavaFile;
-import com.squareup.javapoet.MethodSpec;
-import com.squareup.javapoet.ParameterSpec;
-import com.squareup.javapoet.TypeSpec;
-import java.util.Comparator;
-import java.util.Locale;
-import java.util.ResourceBundle;
-import java.util.ResourceBundle.Control;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import javax.lang.model.element.Modifier;
-
-/**
- * ResourceBundleからEnumクラスのJavaFileを生成するクラスです.
- * <P>
- * Control と Localeは任意で指定することが出来ます.<br>
- *
- * @author Yamashita,Takahiro
- */
-public class ResourceEnumToJavaFile {
-
-    private final String resourceBaseName;
-    private final String packageName;
-    private final Control control;
-    private final Locale locale;
-
-    private ResourceEnumToJavaFile(String resourceBaseName, String packageName, Control control, Locale locale) {
-        this.resourceBaseName = resourceBaseName;
-        this.packageName = packageName;
-        this.control = control;
-        this.locale = locale;
-    }
-
-    /**
-     * 必須項目の設定
-     *
-     * @param resourceBaseName リソースバンドルのBaseName（必須）
-     * @return builderクラス
-     */
-    public static Builder of(String resourceBaseName) {
-        return new ResourceEnumToJavaFile.Builder(resourceBaseName);
-    }
-
-    /**
-     * ResourceBundleのkeyとvalueからJavaFileを作成します.
-     *
-     * @return 生成したJavaFile
-     */
-    public JavaFile toJavaFile() {
-        String createClassName = this.toClassNameInitCap();
-        TypeSpec.Builder typeSpecBuilder = TypeSpec.enumBuilder(createClassName).addModifiers(Modifier.PUBLIC);
-        Pattern pattern = Pattern.compile("\\{([0-9])\\}");
-
-        // Enum 定数
-        ResourceBundle bundle = this.getBundle();
-        bundle.keySet().stream()
-                .sorted(Comparator.comparing(String::toString))
-                .forEachOrdered(key -> {
-                    String _value = bundle.getString(key);
-                    Matcher matcher = pattern.matcher(_value);
-                    int count = 0;
-                    while (matcher.find()) {
-                        count++;
-                    }
-                    TypeSpec param = TypeSpec
-                            .anonymousClassBuilder("$S, $L, $S", key, count, _value)
-                            .addJavadoc(_value + "<br>\n")
-                            .addJavadoc("parameter count = $L\n", count)
-                            .build();
-                    typeSpecBuilder.addEnumConstant(this.toEnumField(key), param);
-                });
-
-        //import的な定義
-        ClassName _Locale = ClassName.get("java.util", "Locale");
-        ClassName _ResourceBundle = ClassName.get("java.util", "ResourceBundle");
-        ClassName _Control = ClassName.get("java.util", "ResourceBundle", "Control");
-        ClassName _MessageFormat = ClassName.get("java.text", "MessageFormat");
-
-        //フィールド定義
-        FieldSpec fieldKey = FieldSpec.builder(String.class, "key", Modifier.PRIVATE, Modifier.FINAL).build();
-        FieldSpec fieldParamCount = FieldSpec.builder(Integer.class, "paramCount", Modifier.PRIVATE, Modifier.FINAL).build();
-        FieldSpec fieldValue = FieldSpec.builder(String.class, "value", Modifier.PRIVATE, Modifier.FINAL).build();
-
-        FieldSpec fieldLocale = FieldSpec.builder(_Locale, "locale", Modifier.PRIVATE, Modifier.STATIC).build();
-        FieldSpec fieldControl = FieldSpec.builder(_Control, "control", Modifier.PRIVATE, Modifier.STATIC).build();
-
-        typeSpecBuilder
-                // クラスコメント
-                .addJavadoc("Generated by ClassFactoryProcessor.\n")
-                .addJavadoc("@see org.vermeer1977.infrastructure.annotation.processor.ClassFactoryProcessor\n")
-                .addJavadoc("@see org.vermeer1977.infrastructure.annotation.processor.resource\n")
-                // フィールド
-                .addField(fieldKey)
-                .addField(fieldParamCount)
-                .addField(fieldValue)
-                // フィールド（ResourceBundle拡張：スレッドアンセーフ）
-                .addField(fieldControl)
-                .addField(fieldLocale)
-                // コンストラクタ
-                .addMethod(MethodSpec.constructorBuilder()
-                        .addModifiers(Modifier.PRIVATE)
-                        .addParameter(String.class, "key")
-                        .addParameter(Integer.class, "paramCount")
-                        .addParameter(String.class, "value")
-                        .addStatement("this.$N = key", fieldKey)
-                        .addStatement("this.$N = paramCount", fieldParamCount)
-                        .addStatement("this.$N = value", fieldValue)
-                        .build()
-                )
-                .build();
-
-        // メソッド（static）
-        ParameterSpec paramControl = ParameterSpec.builder(Control.class, "control").build();
-        typeSpecBuilder
-                .addMethod(MethodSpec.methodBuilder("setControl")
-                        .addJavadoc("任意設定項目：ResourceBundleから値を取得する際に使用するControlを設定します.<br>\n")
-                        .addJavadoc("未設定の場合、ResourceBundleのデフォルトで処理します.<br>\n")
-                        .addJavadoc("本設定はロケールのFallbackを設定したい場合などに使用します.<br>")
-                        .addJavadoc("Caution:this feild is Thread-Unsafe.\n\n")
-                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
-                        .addParameter(paramControl)
-                        .addCode(CodeBlock.builder()
-                                .addStatement("$N.$N = $N", createClassName, fieldControl, paramControl)
-                                .build()
-                        )
-                        .build()
-                )
-                .build();
-
-        ParameterSpec paramLocale = ParameterSpec.builder(Locale.class, "locale").build();
-        typeSpecBuilder
-                .addMethod(MethodSpec.methodBuilder("setLocale")
-                        .addJavadoc("任意設定項目：ResourceBundleから値を取得する際に使用するLocaleを設定します.<br>\n")
-                        .addJavadoc("未設定の場合、デフォルトロケールで処理します.<br>\n")
-                        .addJavadoc("Caution:this feild is Thread-Unsafe.\n\n")
-                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
-                        .addParameter(paramLocale)
-                        .addCode(CodeBlock.builder()
-                                .addStatement("$N.$N = $N", createClassName, fieldLocale, paramLocale)
-                                .build()
-                        )
-                        .build()
-                )
-                .build();
-
-        // メソッド
-        typeSpecBuilder
-                .addMethod(MethodSpec.methodBuilder("toString")
-                        .addAnnotation(Override.class)
-                        .addJavadoc("リソースの値を返却します.<br>\n")
-                        .addJavadoc("例外捕捉時の対応については、リソースの取得が出来なかった場合に最低限状況判別が出来うるメッセージを表示させるための措置です.<br>\n")
-                        .addJavadoc("あわせてメッセージIDを付与してリソースの取得が出来ていなかったことを可視できるようにしています.<br>\n")
-                        .addJavadoc("@return 当該定数に該当するリソースの値\n")
-                        .addModifiers(Modifier.PUBLIC)
-                        .addCode(CodeBlock.builder()
-                                .beginControlFlow("try")
-                                .addStatement("$1L _locale = $2N.$3N == null ? $1L.getDefault() : $2N.$3N",
-                                              _Locale, createClassName, fieldLocale)
-                                .add(CodeBlock.builder()
-                                        .beginControlFlow("if ($N.$N == null)", createClassName, fieldControl)
-                                        .addStatement("return $L.getBundle($S, _locale).getString(this.$N)",
-                                                      _ResourceBundle, this.resourceBaseName, fieldKey
-                                        )
-                                        .endControlFlow()
-                                        .addStatement("return $L.getBundle($S, _locale, $N.$N).getString(this.$N)",
-                                                      _ResourceBundle, this.resourceBaseName, createClassName, fieldControl, fieldKey
-                                        )
-                                        .build()
-                                )
-                                .nextControlFlow("catch($T ex)", Exception.class)
-                                .addStatement("return this.$N", fieldValue)
-                                .endControlFlow()
-                                .build()
-                        )
-                        .returns(String.class)
-                        .build()
-                )
-                .build();
-
-        ParameterSpec paramMessageParams = ParameterSpec.builder(Object[].class, "params").build();
-        typeSpecBuilder
-                .addMethod(MethodSpec.methodBuilder("format")
-                        .addJavadoc("埋め込み文字の置換をした文字列を返却します.<br>\n")
-                        .addJavadoc("@return 埋め込み文字を置換した文字列\n")
-                        .addModifiers(Modifier.PUBLIC)
-                        .addParameter(paramMessageParams)
-                        .varargs(true)
-                        .addCode(CodeBlock.builder()
-                                .addStatement("return $L.format(toString(), $N)",
-                                              _MessageFormat, paramMessageParams)
-                                .build()
-                        )
-                        .returns(String.class)
-                        .build()
-                )
-                .build();
-        return JavaFile.builder(this.getPackageName(), typeSpecBuilder.build()).build();
-    }
-
-    /**
-     * ResourceBundleを取得します.
-     * <P>
-     * @return 取得したResourceBundle
-     */
-    private ResourceBundle getBundle() {
-        if (this.locale == null && this.control == null) {
-            return ResourceBundle.getBundle(this.resourceBaseName);
-        }
-        if (this.locale != null && this.control == null) {
-            return ResourceBundle.getBundle(this.resourceBaseName, this.locale);
-        }
-        if (this.locale == null && this.control != null) {
-            return ResourceBundle.getBundle(this.resourceBaseName, this.control);
-        }
-        return ResourceBundle.getBundle(this.resourceBaseName, this.locale, this.control);
-    }
-
-    private String getPackageName() {
-        return this.packageName == null ? "" : this.packageName;
-    }
-
-    /**
-     * リソース名から編集したクラス名を編集します.
-     *
-     * @return リソース名から始めの１文字を大文字にした文字列
-     */
-    private String toClassNameInitCap() {
-        String[] path = this.resourceBaseName.split("\\.");
-        String baseName = path[path.length - 1];
-        return baseName.substring(0, 1).toUpperCase(Locale.ENGLISH) + baseName.substring(1);
-    }
-
-    /**
-     * 全ての文字を大文字に変換したものをEnumのフィールドとして編集します.
-     *
-     * @return 全てを大文字にした文字列
-     */
-    private String toEnumField(String key) {
-        return key.toUpperCase(Locale.ENGLISH);
-    }
-
-    /**
-     * JavaFileのコードの文字列を返却する.
-     *
-     * @return JavaFileのコードの文字列
-     */
-    public String toSourceCode() {
-        JavaFile javaFile = this.toJavaFile();
-        return javaFile.toString();
-    }
-
-    /**
-     * builderクラス
-     */
-    public static class Builder {
-
-        private String packageName;
-        private final String resourceBaseName;
-        private Control control;
-        private Locale locale;
-
-        /**
-         * インスタンスを構築します.
-         *
-         * @param resourceBaseName 参照元のリソース名
-         */
-        public Builder(String resourceBaseName) {
-            this.resourceBaseName = resourceBaseName;
-        }
-
-        /**
-         * ResourceBundleの任意引数であるpackageを設定します.<br>
-         *
-         * @param packageName パッケージパスの文字列
-         * @return chainに使用するbuilderクラス
-         */
-        public Builder packageName(String packageName) {
-            this.packageName = packageName;
-            return this;
-        }
-
-        /**
-         * ResourceBundleの任意引数であるCustomControlを設定します
-         *
-         * @see java.util.ResourceBundle.Control
-         * @param control {@link java.util.ResourceBundle.Control}または、そのインターフェースを実装したクラス
-         * @return chainに使用するbuilderクラス
-         */
-        public Builder control(Control control) {
-            this.control = control;
-            return this;
-        }
-
-        /**
-         * ロケールを設定します.
-         *
-         * @param locale ロケール
-         * @return chainに使用するbuilderクラス
-         */
-        public Builder locale(Locale locale) {
-            this.locale = locale;
-            return this;
-        }
-
-        /**
-         * インスタンスを構築する.
-         *
-         * @return 生成したインスタンス
-         */
-        public ResourceEnumToJavaFile build() {
-            return new ResourceEnumToJavaFile(this.resourceBaseName, this.packageName, this.control, this.locale);
-        }
-
-    }
-}
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource;
+
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.TypeVariableName;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.ResourceBundle.Control;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import javax.lang.model.element.Modifier;
+import org.vermeer1977.infrastructure.annotation.processor.ClassFactoryException;
+import org.vermeer1977.infrastructure.annotation.processor.resource.runtime.DeferredMessage;
+import org.vermeer1977.infrastructure.annotation.processor.resource.runtime.MappedStrings;
+import org.vermeer1977.infrastructure.annotation.processor.resource.runtime.MessageTemplate;
+import org.vermeer1977.infrastructure.annotation.processor.resource.runtime.PackedStrings;
+import org.vermeer1977.infrastructure.annotation.processor.resource.runtime.ResourceCacheStats;
+import org.vermeer1977.infrastructure.annotation.processor.resource.runtime.ResourceCatalog;
+import org.vermeer1977.infrastructure.annotation.processor.resource.runtime.ResourceMetrics;
+import org.vermeer1977.infrastructure.annotation.processor.resource.runtime.ResourceOverlay;
+
+/**
+ * ResourceBundleからEnumクラスのJavaFileを生成するクラスです.
+ * <P>
+ * Control と Localeは任意で指定することが出来ます.<br>
+ *
+ * @author Yamashita,Takahiro
+ */
+public class ResourceEnumToJavaFile {
+
+    /**
+     * 静的初期化子（上限64KB）のうち、定数と値の生成に使用してよいバイトコードの見積もり上限.
+     */
+    static final int CLINIT_BUDGET = 48 * 1024;
+
+    /**
+     * 引数付きの定数1つの生成に要するバイトコードの見積もり.
+     */
+    static final int CONSTANT_BYTES = 25;
+
+    /**
+     * 配列の要素1つの初期化に要するバイトコードの見積もり.
+     */
+    static final int ELEMENT_BYTES = 8;
+
+    /**
+     * 引数の無い定数1つの生成と、定数の配列への格納に要するバイトコードの見積もり.
+     */
+    static final int ENUM_CONSTANT_BYTES = 24;
+
+    /**
+     * 定数を保持するインターフェースで、定数1つの取得と格納に要するバイトコードの見積もり.
+     */
+    static final int HOLDER_CONSTANT_BYTES = 9;
+
+    private final String resourceBaseName;
+    private final String packageName;
+    private final Control control;
+    private final Locale locale;
+    private final boolean embedLocales;
+    private final int formatArity;
+    private final int chunkSize;
+    private final boolean compact;
+    private final boolean mapped;
+    private final int mappedCacheSize;
+    private final boolean metrics;
+    private final boolean metricsPerConstant;
+    private Resolved resolved;
+
+    private ResourceEnumToJavaFile(String resourceBaseName, String packageName, Control control, Locale locale, boolean embedLocales, int formatArity, int chunkSize, boolean compact,
+                                   boolean mapped, int mappedCacheSize, boolean metrics, boolean metricsPerConstant) {
+        this.resourceBaseName = resourceBaseName;
+        this.packageName = packageName;
+        this.control = control;
+        this.locale = locale;
+        this.embedLocales = embedLocales;
+        this.formatArity = formatArity;
+        this.chunkSize = chunkSize;
+        this.compact = compact;
+        this.mapped = mapped;
+        this.mappedCacheSize = mappedCacheSize;
+        this.metrics = metrics;
+        this.metricsPerConstant = metricsPerConstant;
+    }
+
+    /**
+     * 必須項目の設定
+     *
+     * @param resourceBaseName リソースバンドルのBaseName（必須）
+     * @return builderクラス
+     */
+    public static Builder of(String resourceBaseName) {
+        return new ResourceEnumToJavaFile.Builder(resourceBaseName);
+    }
+
+    /**
+     * ResourceBundleのkeyとvalueからJavaFileを作成します.
+     *
+     * @return 生成したJavaFile
+     */
+    public JavaFile toJavaFile() {
+        String createClassName = this.toClassNameInitCap();
+        // 定数が多くEnumの静的初期化子に収まらない場合は、Enumの代わりにクラスを生成して定数はインターフェースに分けて保持します.
+        boolean split = this.isSplit();
+        boolean packed = this.isPacked();
+        TypeSpec.Builder typeSpecBuilder = split
+                                           ? TypeSpec.classBuilder(createClassName).addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                                           : TypeSpec.enumBuilder(createClassName).addModifiers(Modifier.PUBLIC);
+
+        // Enum 定数
+        Resolved _resolved = this.resolve();
+        List<String> keys = _resolved.keys;
+        List<String> values = _resolved.values;
+        List<Integer> counts = values.stream().map(this::toParamCount).collect(Collectors.toList());
+        List<ResourceVariant> supported = _resolved.supported;
+        List<int[]> supportedParents = _resolved.supportedParents;
+        List<List<String>> deltas = _resolved.deltas;
+        int _chunkSize = packed ? 0 : this.toChunkSize(keys.size());
+        boolean chunked = _chunkSize > 0;
+        // 定数の値を定数毎に保持しない（値を保持するクラスを参照する）場合は序数から値を参照します.
+        boolean indexed = chunked || packed;
+        for (int i = 0; split == false && i < keys.size(); i++) {
+            TypeSpec.Builder paramBuilder = TypeSpec
+                    .anonymousClassBuilder(indexed ? "" : "$S, $L, $S", keys.get(i), counts.get(i), values.get(i));
+            // 連結して保持する場合は生成するソースの大きさを抑えるため、値をコメントに複写しません.
+            if (packed == false) {
+                paramBuilder.addJavadoc(values.get(i) + "<br>\n");
+            }
+            TypeSpec param = paramBuilder
+                    .addJavadoc("parameter count = $L\n", counts.get(i))
+                    .build();
+            typeSpecBuilder.addEnumConstant(this.toEnumField(keys.get(i)), param);
+        }
+
+        //import的な定義
+        ClassName _ResourceCatalog = ClassName.get(ResourceCatalog.class);
+        ClassName _Enum = ClassName.get(this.getPackageName(), createClassName);
+        TypeName _ListOfEnum = ParameterizedTypeName.get(ClassName.get(List.class), _Enum);
+
+        //フィールド定義
+        FieldSpec fieldKey = FieldSpec.builder(String.class, "key", Modifier.PRIVATE, Modifier.FINAL).build();
+        FieldSpec fieldParamCount = FieldSpec.builder(int.class, "paramCount", Modifier.PRIVATE, Modifier.FINAL).build();
+        FieldSpec fieldValue = FieldSpec.builder(String.class, "value", Modifier.PRIVATE, Modifier.FINAL).build();
+
+        CodeBlock.Builder catalogInitializer = CodeBlock.builder();
+        if (packed) {
+            catalogInitializer.add("$T.$L($L.class, $S).entries(Pool.KEYS, Pool.VALUES)",
+                                   _ResourceCatalog, split ? "ofClass" : "of", createClassName, this.resourceBaseName);
+        } else if (chunked) {
+            catalogInitializer.add("$T.of($L.class, $S).entries(e -> keyOf(e.ordinal()), e -> defaultValueOf(e.ordinal()))",
+                                   _ResourceCatalog, createClassName, this.resourceBaseName);
+        } else {
+            catalogInitializer.add("$T.of($L.class, $S).entries(e -> e.$N, e -> e.$N)",
+                                   _ResourceCatalog, createClassName, this.resourceBaseName, fieldKey, fieldValue);
+        }
+        catalogInitializer.add("$>$>")
+                .add(this.toSupportedLocaleCode(supported, supportedParents))
+                .add(this.toEmbedCode(keys, supported, deltas, _chunkSize))
+                .add(this.metrics ? CodeBlock.of("\n.metrics($L)", this.metricsPerConstant) : CodeBlock.of(""))
+                .add("\n.build()$<$<");
+        FieldSpec fieldCatalog = FieldSpec.builder(_ResourceCatalog, "catalog", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer(catalogInitializer.build())
+                .build();
+
+        FieldSpec fieldConstants = FieldSpec.builder(_ListOfEnum, "constants", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$T.unmodifiableList($T.asList($L()))", Collections.class, Arrays.class, split ? "newConstants" : "values")
+                .build();
+
+        if (split) {
+            typeSpecBuilder
+                    .addJavadoc("定数が多いため、Enumの代わりにクラスとして生成しています. 定数は{@code $LConstants0}から順にインターフェースに分けて保持します.<br>\n", createClassName)
+                    .addJavadoc("定数は本クラスから参照できますが、Enumと異なり{@code switch}文や{@link java.util.EnumSet}には使用できません.<br>\n");
+            this.toConstantsTypeNames().forEach(typeSpecBuilder::addSuperinterface);
+        }
+        typeSpecBuilder
+                // クラスコメント
+                .addJavadoc("Generated by ClassFactoryProcessor.\n")
+                .addJavadoc("@see org.vermeer1977.infrastructure.annotation.processor.ClassFactoryProcessor\n")
+                .addJavadoc("@see org.vermeer1977.infrastructure.annotation.processor.resource\n")
+                // フィールド（ロケール単位のキャッシュ）
+                .addField(fieldCatalog)
+                // フィールド（定数の一覧）
+                .addField(fieldConstants)
+                .build();
+
+        // 定数の値は分割も連結もしない場合のみ定数毎に保持します. それ以外は値を保持するクラスを参照します.
+        if (indexed == false) {
+            typeSpecBuilder
+                    .addField(fieldKey)
+                    .addField(fieldParamCount)
+                    .addField(fieldValue)
+                    // コンストラクタ
+                    .addMethod(MethodSpec.constructorBuilder()
+                            .addModifiers(Modifier.PRIVATE)
+                            .addParameter(String.class, "key")
+                            .addParameter(int.class, "paramCount")
+                            .addParameter(String.class, "value")
+                            .addStatement("this.$N = key", fieldKey)
+                            .addStatement("this.$N = paramCount", fieldParamCount)
+                            .addStatement("this.$N = value", fieldValue)
+                            .build()
+                    )
+                    .build();
+        }
+        if (split) {
+            this.addConstantMembers(typeSpecBuilder, _Enum, keys.size());
+        }
+
+        // メソッド（static）
+        ParameterSpec paramControl = ParameterSpec.builder(Control.class, "control").build();
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("setControl")
+                        .addJavadoc("任意設定項目：ResourceBundleから値を取得する際に使用するControlを設定します.<br>\n")
+                        .addJavadoc("未設定の場合、ResourceBundleのデフォルトで処理します.<br>\n")
+                        .addJavadoc("本設定はロケールのFallbackを設定したい場合などに使用します.<br>\n")
+                        .addJavadoc("設定を変更した場合、ロケール単位でキャッシュしたリソースの値は破棄します.\n\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(paramControl)
+                        .addCode(CodeBlock.builder()
+                                .addStatement("$N.setControl($N)", fieldCatalog, paramControl)
+                                .build()
+                        )
+                        .build()
+                )
+                .build();
+
+        ParameterSpec paramUseContextClassLoader = ParameterSpec.builder(boolean.class, "useContextClassLoader").build();
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("setUseContextClassLoader")
+                        .addJavadoc("任意設定項目：ResourceBundleから値を取得する際に、スレッドのコンテキストクラスローダーを使用するかを設定します.<br>\n")
+                        .addJavadoc("未設定の場合、本クラスのクラスローダーを使用します.<br>\n")
+                        .addJavadoc("共有ライブラリに配置した本クラスから、アプリケーション毎のPropertiesファイルを参照する場合に使用します. 値はクラスローダー毎にキャッシュします.\n\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(paramUseContextClassLoader)
+                        .addStatement("$N.setUseContextClassLoader($N)", fieldCatalog, paramUseContextClassLoader)
+                        .build()
+                )
+                .build();
+
+        ParameterSpec paramReloadDirectory = ParameterSpec.builder(Path.class, "directory").build();
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("setReloadDirectory")
+                        .addJavadoc("任意設定項目：値を優先して参照するPropertiesファイルを配置したディレクトリを設定します.<br>\n")
+                        .addJavadoc("未設定の場合、ディレクトリは参照しません. ファイルの変更を検知した場合は再読み込みします.\n\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(paramReloadDirectory)
+                        .addStatement("$N.setReloadDirectory($N)", fieldCatalog, paramReloadDirectory)
+                        .build()
+                )
+                .addMethod(MethodSpec.methodBuilder("reload")
+                        .addJavadoc("ディレクトリのPropertiesファイルを再読み込みします.\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addStatement("$N.reload()", fieldCatalog)
+                        .build()
+                )
+                .build();
+
+        ParameterSpec paramLocale = ParameterSpec.builder(Locale.class, "locale").build();
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("setLocale")
+                        .addJavadoc("任意設定項目：ResourceBundleから値を取得する際に使用するLocaleを設定します.<br>\n")
+                        .addJavadoc("未設定の場合、ResourceContextに設定したロケール、デフォルトロケールの順で処理します.<br>\n")
+                        .addJavadoc("ResourceContextにLocaleProviderを設定している場合は、LocaleProviderが返却するロケールを優先します.\n\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(paramLocale)
+                        .addCode(CodeBlock.builder()
+                                .addStatement("$N.setLocale($N)", fieldCatalog, paramLocale)
+                                .build()
+                        )
+                        .build()
+                )
+                .build();
+
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("maxLength")
+                        .addJavadoc("現在のロケールのリソースの値の文字数の最大値を返却します.<br>\n")
+                        .addJavadoc("書式化した文字列のうち、埋め込み文字を置換した値を除く部分の文字数の上限です. 追記先の初期容量の見積もりに使用します.<br>\n")
+                        .addJavadoc("@return リソースの値の文字数の最大値\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addCode(CodeBlock.builder()
+                                .addStatement("return $N.maxLength()", fieldCatalog)
+                                .build()
+                        )
+                        .returns(int.class)
+                        .build()
+                )
+                .build();
+
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("maxLength")
+                        .addJavadoc("指定したロケールのリソースの値の文字数の最大値を返却します.<br>\n")
+                        .addJavadoc("@param locale ロケール\n")
+                        .addJavadoc("@return リソースの値の文字数の最大値\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(paramLocale)
+                        .addCode(CodeBlock.builder()
+                                .addStatement("return $N.maxLength($N)", fieldCatalog, paramLocale)
+                                .build()
+                        )
+                        .returns(int.class)
+                        .build()
+                )
+                .build();
+
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("supportedLocales")
+                        .addJavadoc("生成時に検出したPropertiesファイルのロケールの一覧を返却します.<br>\n")
+                        .addJavadoc("ロケール毎の値を埋め込まない場合は、実行時に追加したPropertiesファイルも解決に使用するため一覧を保持しません.<br>\n")
+                        .addJavadoc("@return 対応ロケールの一覧. 保持しない場合は空のリスト\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addStatement("return $N.supportedLocales()", fieldCatalog)
+                        .returns(ParameterizedTypeName.get(List.class, Locale.class))
+                        .build()
+                )
+                .build();
+
+        ParameterSpec paramLocales = ParameterSpec.builder(Locale[].class, "locales").build();
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("preload")
+                        .addJavadoc("指定したロケールのリソースの値の解決と書式の解析を並列に行います.<br>\n")
+                        .addJavadoc("起動時に呼び出すと、初回の参照時の解決を省略できます. 解決はForkJoinPoolの共通プールで行い、完了するまで待機します.<br>\n")
+                        .addJavadoc("@param locales ロケール\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(paramLocales)
+                        .varargs(true)
+                        .addStatement("$N.preload($N)", fieldCatalog, paramLocales)
+                        .build()
+                )
+                .addMethod(MethodSpec.methodBuilder("preloadAll")
+                        .addJavadoc("解決できる全てのロケールのリソースの値の解決と書式の解析を並列に行います.<br>\n")
+                        .addJavadoc("ロケール毎の値を埋め込んだ場合は埋め込んだ全てのロケール、それ以外は現在のロケールを解決します.<br>\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addStatement("$N.preloadAll()", fieldCatalog)
+                        .build()
+                )
+                .build();
+
+        TypeName _MapOfString = ParameterizedTypeName.get(Map.class, String.class, String.class);
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("snapshot")
+                        .addJavadoc("指定したロケールの全てのkeyと値の変更不可のマップを返却します.<br>\n")
+                        .addJavadoc("マップはロケール毎に初回のみ作成して保持します. ロケールがnullの場合は現在のロケールのマップを返却します.<br>\n")
+                        .addJavadoc("@param locale ロケール\n")
+                        .addJavadoc("@return keyと値のマップ\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(paramLocale)
+                        .addStatement("return $N.snapshot($N)", fieldCatalog, paramLocale)
+                        .returns(_MapOfString)
+                        .build()
+                )
+                .addMethod(MethodSpec.methodBuilder("snapshotJson")
+                        .addJavadoc("指定したロケールの全てのkeyと値を、JSONのオブジェクトとしてUTF-8で符号化した読み取り専用のバッファを返却します.<br>\n")
+                        .addJavadoc("バッファはロケール毎に初回のみ作成して保持します.<br>\n")
+                        .addJavadoc("@param locale ロケール\n")
+                        .addJavadoc("@return JSONのオブジェクトを符号化したバッファ\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(paramLocale)
+                        .addStatement("return $N.snapshotJson($N)", fieldCatalog, paramLocale)
+                        .returns(ByteBuffer.class)
+                        .build()
+                )
+                .addMethod(MethodSpec.methodBuilder("snapshots")
+                        .addJavadoc("指定したロケール毎の全てのkeyと値の変更不可のマップを並列に作成して返却します.<br>\n")
+                        .addJavadoc("作成はForkJoinPoolの共通プールで行い、完了するまで待機します.<br>\n")
+                        .addJavadoc("@param locales ロケール\n")
+                        .addJavadoc("@return 指定した順のロケールとマップ\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(paramLocales)
+                        .varargs(true)
+                        .addStatement("return $N.snapshots($N)", fieldCatalog, paramLocales)
+                        .returns(ParameterizedTypeName.get(ClassName.get(Map.class), ClassName.get(Locale.class), _MapOfString))
+                        .build()
+                )
+                .build();
+
+        ParameterSpec paramCacheSize = ParameterSpec.builder(int.class, "cacheSize").build();
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("setCacheSize")
+                        .addJavadoc("任意設定項目：参照したロケール毎のキャッシュに保持するロケールの上限を設定します.<br>\n")
+                        .addJavadoc("未設定（0以下）の場合は上限なしです. 上限を超えた場合は最も長く参照していないロケールを破棄します.<br>\n")
+                        .addJavadoc("@param cacheSize 保持するロケールの上限\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(paramCacheSize)
+                        .addStatement("$N.setCacheSize($N)", fieldCatalog, paramCacheSize)
+                        .build()
+                )
+                .addMethod(MethodSpec.methodBuilder("cacheStats")
+                        .addJavadoc("参照したロケール毎のキャッシュの参照件数を返却します.<br>\n")
+                        .addJavadoc("@return キャッシュの参照件数\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addStatement("return $N.cacheStats()", fieldCatalog)
+                        .returns(ResourceCacheStats.class)
+                        .build()
+                )
+                .build();
+        if (this.metrics) {
+            typeSpecBuilder.addMethod(MethodSpec.methodBuilder("metrics")
+                    .addJavadoc("リソースの値の参照件数を返却します.<br>\n")
+                    .addJavadoc("参照件数はプラットフォームMBeanサーバーにも公開します.<br>\n")
+                    .addJavadoc("@return 参照件数\n")
+                    .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                    .addStatement("return $N.metrics()", fieldCatalog)
+                    .returns(ResourceMetrics.class)
+                    .build()
+            );
+        }
+
+        ParameterSpec paramTenant = ParameterSpec.builder(String.class, "tenant").build();
+        ParameterSpec paramOverlay = ParameterSpec.builder(ResourceOverlay.class, "overlay").build();
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("overlay")
+                        .addJavadoc("テナント毎に一部のリソースの値を置き換える上書きを構築するクラスを返却します.<br>\n")
+                        .addJavadoc("@return 上書きを構築するクラス\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addStatement("return $T.of($N)", ResourceOverlay.class, fieldCatalog)
+                        .returns(ResourceOverlay.Builder.class)
+                        .build()
+                )
+                .addMethod(MethodSpec.methodBuilder("setOverlay")
+                        .addJavadoc("任意設定項目：テナントの上書きを設定します.<br>\n")
+                        .addJavadoc("nullを設定した場合はテナントの上書きを解除します.\n\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(paramTenant)
+                        .addParameter(paramOverlay)
+                        .addStatement("$N.setOverlay($N, $N)", fieldCatalog, paramTenant, paramOverlay)
+                        .build()
+                )
+                .build();
+
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("constants")
+                        .addJavadoc("全ての定数を序数の順に並べた変更不可のリストを返却します.<br>\n")
+                        .addJavadoc("{@code values()}と異なり、呼び出しの都度配列の複製はしません.<br>\n")
+                        .addJavadoc("@return 全ての定数のリスト\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addStatement("return $N", fieldConstants)
+                        .returns(_ListOfEnum)
+                        .build()
+                )
+                .build();
+
+        ParameterSpec paramOrdinal = ParameterSpec.builder(int.class, "ordinal").build();
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("keyOf")
+                        .addJavadoc("序数に該当する定数のリソースのkeyを返却します.<br>\n")
+                        .addJavadoc("@param ordinal 定数の序数\n")
+                        .addJavadoc("@return リソースのkey\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(paramOrdinal)
+                        .addCode(packed
+                                 ? CodeBlock.builder().addStatement("return $N.keyOf($N)", fieldCatalog, paramOrdinal).build()
+                                 : chunked
+                                   ? this.toChunkAccessCode(paramOrdinal, "KEYS", keys.size(), _chunkSize)
+                                   : CodeBlock.builder().addStatement("return $N.get($N).$N", fieldConstants, paramOrdinal, fieldKey).build())
+                        .returns(String.class)
+                        .build()
+                )
+                .build();
+
+        ParameterSpec paramKey = ParameterSpec.builder(String.class, "key").build();
+        CodeBlock.Builder fromKeyCode = CodeBlock.builder()
+                .beginControlFlow("if ($N == null)", paramKey)
+                .addStatement("return null")
+                .endControlFlow();
+        if (indexed) {
+            // 分岐が多いとメソッドの上限を超えるため、keyの昇順に並べた配列から二分探索します.
+            fromKeyCode
+                    .addStatement("int ordinal = $N.indexOfKey($N)", fieldCatalog, paramKey)
+                    .addStatement("return ordinal < 0 ? null : $N.get(ordinal)", fieldConstants);
+        } else {
+            fromKeyCode.beginControlFlow("switch ($N)", paramKey);
+            keys.stream().forEachOrdered(key -> {
+                fromKeyCode.add("case $S:\n$>", key).addStatement("return $L", this.toEnumField(key)).add("$<");
+            });
+            fromKeyCode.add("default:\n$>").addStatement("return null").add("$<").endControlFlow();
+        }
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("fromKey")
+                        .addJavadoc("リソースのkeyに該当する定数を返却します.<br>\n")
+                        .addJavadoc("keyの文字列による分岐（定数が多い場合は二分探索）で判定するため、大文字への変換などの文字列の生成はしません.<br>\n")
+                        .addJavadoc("@param key リソースのkey\n")
+                        .addJavadoc("@return 該当する定数. 該当しない場合はnull\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(paramKey)
+                        .addCode(fromKeyCode.build())
+                        .returns(_Enum)
+                        .build()
+                )
+                .build();
+
+        // メソッド
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("getKey")
+                        .addJavadoc("リソースのkeyを返却します.<br>\n")
+                        .addJavadoc("@return リソースのkey\n")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addCode(indexed
+                                 ? CodeBlock.builder().addStatement("return keyOf(this.ordinal())").build()
+                                 : CodeBlock.builder().addStatement("return this.$N", fieldKey).build())
+                        .returns(String.class)
+                        .build()
+                )
+                .addMethod(MethodSpec.methodBuilder("getParamCount")
+                        .addJavadoc("生成時のリソースの値の埋め込み文字の数を返却します.<br>\n")
+                        .addJavadoc("埋め込み文字の番号の最大値に1を加えた値です. 同じ番号の重複や使用しない番号があっても最大の番号から数えます.<br>\n")
+                        .addJavadoc("@return 埋め込み文字の数\n")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addCode(packed
+                                 ? CodeBlock.builder().addStatement("return Pool.PARAM_COUNTS[this.ordinal()]").build()
+                                 : chunked
+                                   ? CodeBlock.builder().addStatement("return paramCountOf(this.ordinal())").build()
+                                   : CodeBlock.builder().addStatement("return this.$N", fieldParamCount).build())
+                        .returns(int.class)
+                        .build()
+                )
+                .build();
+
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("toString")
+                        .addAnnotation(Override.class)
+                        .addJavadoc("リソースの値を返却します.<br>\n")
+                        .addJavadoc("リソースの値はロケール単位でキャッシュしたものを返却します.<br>\n")
+                        .addJavadoc("リソースの取得が出来なかった場合は、最低限状況判別が出来うるメッセージとして生成時の値を返却します.<br>\n")
+                        .addJavadoc("@return 当該定数に該当するリソースの値\n")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addCode(CodeBlock.builder()
+                                .addStatement("return $N.getString(this.ordinal())", fieldCatalog)
+                                .build()
+                        )
+                        .returns(String.class)
+                        .build()
+                )
+                .build();
+
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("toString")
+                        .addJavadoc("指定したロケールのリソースの値を返却します.<br>\n")
+                        .addJavadoc("設定したロケールを参照も変更もしないため、リクエスト毎にロケールが異なる場合に使用します.<br>\n")
+                        .addJavadoc("@param locale ロケール\n")
+                        .addJavadoc("@return 当該定数に該当するリソースの値\n")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(paramLocale)
+                        .addCode(CodeBlock.builder()
+                                .addStatement("return $N.getString(this.ordinal(), $N)", fieldCatalog, paramLocale)
+                                .build()
+                        )
+                        .returns(String.class)
+                        .build()
+                )
+                .build();
+
+        ParameterSpec paramMessageParams = ParameterSpec.builder(Object[].class, "params").build();
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("format")
+                        .addJavadoc("埋め込み文字の置換をした文字列を返却します.<br>\n")
+                        .addJavadoc("解析済みの書式は定数とロケールの単位でキャッシュして使用します.<br>\n")
+                        .addJavadoc("埋め込み文字は番号の順に{@link #getParamCount()}の数だけ指定します.<br>\n")
+                        .addJavadoc("@return 埋め込み文字を置換した文字列\n")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(paramMessageParams)
+                        .varargs(true)
+                        .addCode(CodeBlock.builder()
+                                .addStatement("return $N.format(this.ordinal(), $N)",
+                                              fieldCatalog, paramMessageParams)
+                                .build()
+                        )
+                        .returns(String.class)
+                        .build()
+                )
+                .build();
+
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("format")
+                        .addJavadoc("指定したロケールで埋め込み文字の置換をした文字列を返却します.<br>\n")
+                        .addJavadoc("設定したロケールを参照も変更もしないため、リクエスト毎にロケールが異なる場合に使用します.<br>\n")
+                        .addJavadoc("埋め込み文字は番号の順に{@link #getParamCount()}の数だけ指定します.<br>\n")
+                        .addJavadoc("@param locale ロケール\n")
+                        .addJavadoc("@param params 埋め込み文字\n")
+                        .addJavadoc("@return 埋め込み文字を置換した文字列\n")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(paramLocale)
+                        .addParameter(paramMessageParams)
+                        .varargs(true)
+                        .addCode(CodeBlock.builder()
+                                .addStatement("return $N.format(this.ordinal(), $N, $N)",
+                                              fieldCatalog, paramLocale, paramMessageParams)
+                                .build()
+                        )
+                        .returns(String.class)
+                        .build()
+                )
+                .build();
+
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("toString")
+                        .addJavadoc("テナントの上書きを重ねて、指定したロケールのリソースの値を返却します.<br>\n")
+                        .addJavadoc("テナントの上書きが無い場合は、上書きを重ねない値を返却します.<br>\n")
+                        .addJavadoc("@param tenant テナント\n")
+                        .addJavadoc("@param locale ロケール. 現在の設定に該当するロケールを使用する場合はnull\n")
+                        .addJavadoc("@return 当該定数に該当するリソースの値\n")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(paramTenant)
+                        .addParameter(paramLocale)
+                        .addStatement("return $N.getString($N, this.ordinal(), $N)", fieldCatalog, paramTenant, paramLocale)
+                        .returns(String.class)
+                        .build()
+                )
+                .addMethod(MethodSpec.methodBuilder("formatTenant")
+                        .addJavadoc("テナントの上書きを重ねて、指定したロケールで埋め込み文字の置換をした文字列を返却します.<br>\n")
+                        .addJavadoc("@param tenant テナント\n")
+                        .addJavadoc("@param locale ロケール. 現在の設定に該当するロケールを使用する場合はnull\n")
+                        .addJavadoc("@param params 埋め込み文字\n")
+                        .addJavadoc("@return 埋め込み文字を置換した文字列\n")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(paramTenant)
+                        .addParameter(paramLocale)
+                        .addParameter(paramMessageParams)
+                        .varargs(true)
+                        .addStatement("return $N.format($N, this.ordinal(), $N, $N)", fieldCatalog, paramTenant, paramLocale, paramMessageParams)
+                        .returns(String.class)
+                        .build()
+                )
+                .build();
+
+        for (int arity = 1; arity <= this.formatArity; arity++) {
+            typeSpecBuilder.addMethod(this.toFormatMethod(fieldCatalog, null, arity));
+        }
+        for (int arity = 1; arity <= this.formatArity; arity++) {
+            typeSpecBuilder.addMethod(this.toFormatMethod(fieldCatalog, paramLocale, arity));
+        }
+
+        ParameterSpec paramStringBuilder = ParameterSpec.builder(StringBuilder.class, "sb").build();
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("formatTo")
+                        .addJavadoc("埋め込み文字の置換をした文字列を追記します.<br>\n")
+                        .addJavadoc("書式化した文字列を生成せずに追記先へ直接追記します.<br>\n")
+                        .addJavadoc("@param sb 追記先\n")
+                        .addJavadoc("@param params 埋め込み文字\n")
+                        .addJavadoc("@return 追記先\n")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(paramStringBuilder)
+                        .addParameter(paramMessageParams)
+                        .varargs(true)
+                        .addCode(CodeBlock.builder()
+                                .addStatement("return $N.formatTo(this.ordinal(), $N, $N)",
+                                              fieldCatalog, paramStringBuilder, paramMessageParams)
+                                .build()
+                        )
+                        .returns(StringBuilder.class)
+                        .build()
+                )
+                .build();
+
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("defer")
+                        .addJavadoc("書式化を文字列の参照時まで遅延するメッセージを返却します.<br>\n")
+                        .addJavadoc("出力しないログレベルのログに渡した場合は書式化しません.<br>\n")
+                        .addJavadoc("@param params 埋め込み文字\n")
+                        .addJavadoc("@return 書式化を遅延するメッセージ\n")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(paramMessageParams)
+                        .varargs(true)
+                        .addStatement("return $N.defer(this.ordinal(), $N)", fieldCatalog, paramMessageParams)
+                        .returns(DeferredMessage.class)
+                        .build()
+                )
+                .addMethod(MethodSpec.methodBuilder("defer")
+                        .addJavadoc("指定したロケールで書式化を文字列の参照時まで遅延するメッセージを返却します.<br>\n")
+                        .addJavadoc("別のスレッドで出力するロガーに渡す場合に、ロケールを確定するために使用します.<br>\n")
+                        .addJavadoc("@param locale ロケール\n")
+                        .addJavadoc("@param params 埋め込み文字\n")
+                        .addJavadoc("@return 書式化を遅延するメッセージ\n")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(paramLocale)
+                        .addParameter(paramMessageParams)
+                        .varargs(true)
+                        .addStatement("return $N.defer(this.ordinal(), $N, $N)", fieldCatalog, paramLocale, paramMessageParams)
+                        .returns(DeferredMessage.class)
+                        .build()
+                )
+                .build();
+
+        TypeVariableName typeAppendable = TypeVariableName.get("A", Appendable.class);
+        ParameterSpec paramAppendable = ParameterSpec.builder(typeAppendable, "out").build();
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("appendTo")
+                        .addJavadoc("埋め込み文字の置換をした文字列を追記します.<br>\n")
+                        .addJavadoc("書式化した文字列を生成せずに追記先へ直接追記します.<br>\n")
+                        .addJavadoc("@param <A> 追記先の型\n")
+                        .addJavadoc("@param out 追記先\n")
+                        .addJavadoc("@param params 埋め込み文字\n")
+                        .addJavadoc("@return 追記先\n")
+                        .addJavadoc("@throws IOException 追記先への出力に失敗した場合\n")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addTypeVariable(typeAppendable)
+                        .addParameter(paramAppendable)
+                        .addParameter(paramMessageParams)
+                        .varargs(true)
+                        .addException(IOException.class)
+                        .addCode(CodeBlock.builder()
+                                .addStatement("return $N.appendTo(this.ordinal(), $N, $N)",
+                                              fieldCatalog, paramAppendable, paramMessageParams)
+                                .build()
+                        )
+                        .returns(typeAppendable)
+                        .build()
+                )
+                .build();
+
+        ParameterSpec paramByteBuffer = ParameterSpec.builder(ByteBuffer.class, "dst").build();
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("writeUtf8")
+                        .addJavadoc("埋め込み文字の置換をした文字列をUTF-8で書き込みます.<br>\n")
+                        .addJavadoc("固定文字列は符号化済みのバイト列を書き込み、埋め込み文字のみ書き込み時に符号化します.<br>\n")
+                        .addJavadoc("@param dst 書き込み先\n")
+                        .addJavadoc("@param params 埋め込み文字\n")
+                        .addJavadoc("@return 書き込み先\n")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(paramByteBuffer)
+                        .addParameter(paramMessageParams)
+                        .varargs(true)
+                        .addCode(CodeBlock.builder()
+                                .addStatement("return $N.writeUtf8(this.ordinal(), $N, $N)",
+                                              fieldCatalog, paramByteBuffer, paramMessageParams)
+                                .build()
+                        )
+                        .returns(ByteBuffer.class)
+                        .build()
+                )
+                .build();
+
+        typeSpecBuilder
+                .addMethod(MethodSpec.methodBuilder("toUtf8")
+                        .addJavadoc("リソースの値をUTF-8で符号化した読み取り専用のバッファを返却します.<br>\n")
+                        .addJavadoc("符号化したバイト列はロケール単位で共有するため、バイト列の複写はしません.<br>\n")
+                        .addJavadoc("@return リソースの値をUTF-8で符号化したバッファ\n")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addCode(CodeBlock.builder()
+                                .addStatement("return $N.toUtf8(this.ordinal())", fieldCatalog)
+                                .build()
+                        )
+                        .returns(ByteBuffer.class)
+                        .build()
+                )
+                .build();
+        if (chunked) {
+            typeSpecBuilder
+                    .addMethod(MethodSpec.methodBuilder("defaultValueOf")
+                            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                            .addParameter(paramOrdinal)
+                            .addCode(this.toChunkAccessCode(paramOrdinal, "VALUES", keys.size(), _chunkSize))
+                            .returns(String.class)
+                            .build()
+                    )
+                    .addMethod(MethodSpec.methodBuilder("paramCountOf")
+                            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                            .addParameter(paramOrdinal)
+                            .addCode(this.toChunkAccessCode(paramOrdinal, "PARAM_COUNTS", keys.size(), _chunkSize))
+                            .returns(int.class)
+                            .build()
+                    )
+                    .build();
+            for (int from = 0; from < keys.size(); from += _chunkSize) {
+                int to = Math.min(from + _chunkSize, keys.size());
+                typeSpecBuilder.addType(this.toChunkType(from / _chunkSize, keys.subList(from, to), values.subList(from, to), counts.subList(from, to)));
+            }
+        }
+        if (packed) {
+            typeSpecBuilder.addType(this.toPoolType(keys, values, counts));
+        }
+        this.toTextsTypes(deltas, _chunkSize).forEach(typeSpecBuilder::addType);
+        return JavaFile.builder(this.getPackageName(), typeSpecBuilder.build()).build();
+    }
+
+    /**
+     * ResourceBundleのkeyとvalueから生成する全てのJavaFileを作成します.
+     * <P>
+     * 定数が多くEnumの代わりにクラスを生成する場合は、定数を保持するインターフェースのJavaFileもあわせて作成します.
+     *
+     * @return 生成したJavaFile. 先頭は{@link #toJavaFile()}と同じ
+     */
+    public List<JavaFile> toJavaFiles() {
+        List<JavaFile> javaFiles = new ArrayList<>();
+        javaFiles.add(this.toJavaFile());
+        if (this.isSplit() == false) {
+            return javaFiles;
+        }
+        Resolved _resolved = this.resolve();
+        ClassName _Class = ClassName.get(this.getPackageName(), this.toClassNameInitCap());
+        List<ClassName> typeNames = this.toConstantsTypeNames();
+        int holderSize = CLINIT_BUDGET / HOLDER_CONSTANT_BYTES;
+        for (int holder = 0; holder < typeNames.size(); holder++) {
+            int from = holder * holderSize;
+            int to = Math.min(from + holderSize, _resolved.keys.size());
+            TypeSpec.Builder builder = TypeSpec.interfaceBuilder(typeNames.get(holder))
+                    .addModifiers(Modifier.PUBLIC)
+                    .addJavadoc("{@link $T}の序数$Lから$Lまでの定数を保持するインターフェースです.<br>\n", _Class, from, to - 1)
+                    .addJavadoc("Generated by ClassFactoryProcessor.\n")
+                    .addJavadoc("@see org.vermeer1977.infrastructure.annotation.processor.ClassFactoryProcessor\n");
+            for (int ordinal = from; ordinal < to; ordinal++) {
+                builder.addField(FieldSpec.builder(_Class, this.toEnumField(_resolved.keys.get(ordinal)), Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .addJavadoc("parameter count = $L\n", this.toParamCount(_resolved.values.get(ordinal)))
+                        .initializer("$T.constant($L)", _Class, ordinal)
+                        .build());
+            }
+            javaFiles.add(JavaFile.builder(this.getPackageName(), builder.build()).build());
+        }
+        return javaFiles;
+    }
+
+    /**
+     * Enumの代わりに生成するクラスの、定数の生成と参照に使用するメンバーを編集します.
+     * <P>
+     * 定数はクラスの初期化時に序数の順に配列で生成するため、静的初期化子のバイトコードは定数の数に比例しません.
+     * 定数を保持するインターフェースは、序数から生成済みの定数を参照します.
+     *
+     * @param typeSpecBuilder 生成するクラス
+     * @param _Class 生成するクラスの型
+     * @param keyCount 定数の数
+     */
+    private void addConstantMembers(TypeSpec.Builder typeSpecBuilder, ClassName _Class, int keyCount) {
+        FieldSpec fieldOrdinal = FieldSpec.builder(int.class, "ordinal", Modifier.PRIVATE, Modifier.FINAL).build();
+        ParameterSpec paramOrdinal = ParameterSpec.builder(int.class, "ordinal").build();
+        typeSpecBuilder
+                .addField(fieldOrdinal)
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PRIVATE)
+                        .addParameter(paramOrdinal)
+                        .addStatement("this.$N = $N", fieldOrdinal, paramOrdinal)
+                        .build()
+                )
+                .addMethod(MethodSpec.methodBuilder("newConstants")
+                        .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                        .addStatement("$T[] created = new $T[$L]", _Class, _Class, keyCount)
+                        .beginControlFlow("for (int i = 0; i < created.length; i++)")
+                        .addStatement("created[i] = new $T(i)", _Class)
+                        .endControlFlow()
+                        .addStatement("return created")
+                        .returns(ArrayTypeName.of(_Class))
+                        .build()
+                )
+                .addMethod(MethodSpec.methodBuilder("constant")
+                        .addJavadoc("序数に該当する定数を返却します.<br>\n")
+                        .addJavadoc("定数を保持するインターフェースの初期化に使用します.<br>\n")
+                        .addJavadoc("@param ordinal 定数の序数\n")
+                        .addJavadoc("@return 定数\n")
+                        .addModifiers(Modifier.STATIC)
+                        .addParameter(paramOrdinal)
+                        .addStatement("return constants.get($N)", paramOrdinal)
+                        .returns(_Class)
+                        .build()
+                )
+                .addMethod(MethodSpec.methodBuilder("values")
+                        .addJavadoc("全ての定数を序数の順に並べた配列を返却します.<br>\n")
+                        .addJavadoc("Enumの{@code values()}と同じく、呼び出しの都度配列を作成します.<br>\n")
+                        .addJavadoc("@return 全ての定数の配列\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addStatement("return constants.toArray(new $T[0])", _Class)
+                        .returns(ArrayTypeName.of(_Class))
+                        .build()
+                )
+                .addMethod(MethodSpec.methodBuilder("ordinal")
+                        .addJavadoc("定数の序数を返却します.<br>\n")
+                        .addJavadoc("@return 定数の序数\n")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addStatement("return this.$N", fieldOrdinal)
+                        .returns(int.class)
+                        .build()
+                )
+                .addMethod(MethodSpec.methodBuilder("name")
+                        .addJavadoc("定数の名前（リソースのkeyを大文字にした文字列）を返却します.<br>\n")
+                        .addJavadoc("@return 定数の名前\n")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addStatement("return this.getKey().toUpperCase($T.ENGLISH)", Locale.class)
+                        .returns(String.class)
+                        .build()
+                );
+    }
+
+    /**
+     * 埋め込み文字を配列にせずに受け取る書式化のメソッドを編集します.
+     *
+     * @param fieldCatalog 書式化を委譲するフィールド
+     * @param paramLocale ロケールの引数. ロケールを指定しないメソッドの場合はnull
+     * @param arity 埋め込み文字の数
+     * @return 書式化のメソッド
+     */
+    private MethodSpec toFormatMethod(FieldSpec fieldCatalog, ParameterSpec paramLocale, int arity) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder("format");
+        CodeBlock.Builder arguments = CodeBlock.builder();
+        if (paramLocale == null) {
+            builder.addJavadoc("埋め込み文字の置換をした文字列を返却します.<br>\n");
+        } else {
+            builder.addJavadoc("指定したロケールで埋め込み文字の置換をした文字列を返却します.<br>\n");
+        }
+        builder.addJavadoc("埋め込み文字の配列を生成せずに書式化します.<br>\n");
+        builder.addJavadoc("埋め込み文字は番号の順に指定します. 使用しない番号の埋め込み文字も含めて、{@link #getParamCount()}の数に合うメソッドを使用します.<br>\n");
+        if (paramLocale != null) {
+            builder.addJavadoc("@param $N ロケール\n", paramLocale).addParameter(paramLocale);
+            arguments.add(", $N", paramLocale);
+        }
+        for (int i = 0; i < arity; i++) {
+            ParameterSpec param = ParameterSpec.builder(Object.class, "param" + i).build();
+            builder.addJavadoc("@param $N 埋め込み文字{$L}\n", param, i).addParameter(param);
+            arguments.add(", $N", param);
+        }
+        return builder
+                .addJavadoc("@return 埋め込み文字を置換した文字列\n")
+                .addModifiers(Modifier.PUBLIC)
+                .addCode(CodeBlock.builder()
+                        .addStatement("return $N.format(this.ordinal()$L)", fieldCatalog, arguments.build())
+                        .build()
+                )
+                .returns(String.class)
+                .build();
+    }
+
+    /**
+     * ResourceBundleを取得します.
+     * <P>
+     * @return 取得したResourceBundle
+     */
+    private ResourceBundle getBundle() {
+        if (this.locale == null && this.control == null) {
+            return ResourceBundle.getBundle(this.resourceBaseName);
+        }
+        if (this.locale != null && this.control == null) {
+            return ResourceBundle.getBundle(this.resourceBaseName, this.locale);
+        }
+        if (this.locale == null && this.control != null) {
+            return ResourceBundle.getBundle(this.resourceBaseName, this.control);
+        }
+        return ResourceBundle.getBundle(this.resourceBaseName, this.locale, this.control);
+    }
+
+    /**
+     * ロケール毎のPropertiesファイルの値を埋め込むコードを編集します.
+     * <P>
+     * 値はロケール毎に値を保持するクラスを参照する関数として埋め込み、当該ロケールの初回の解決時まで読み込みません.<br>
+     * ファイルに出力する場合は、ファイルを参照するコードのみ編集します.<br>
+     * 親と同じ値のため埋め込みを省略したkeyがある場合は、あわせて省略したkeyの序数を編集します.
+     *
+     * @param keys Enum定数の順に並べたリソースのkey
+     * @param variants 埋め込むPropertiesファイル
+     * @param deltas 埋め込むPropertiesファイル毎の親との差分
+     * @param chunkSize 分割する単位. 分割しない場合は0
+     * @return 値を埋め込むコード
+     */
+    private CodeBlock toEmbedCode(List<String> keys, List<ResourceVariant> variants, List<List<String>> deltas, int chunkSize) {
+        CodeBlock.Builder builder = CodeBlock.builder();
+        if (this.mapped && variants.isEmpty() == false) {
+            builder.add("\n.embedMapped($S, $L)", this.toMappedCatalogName(), this.mappedCacheSize);
+        }
+        for (int index = 0; index < variants.size(); index++) {
+            ResourceVariant variant = variants.get(index);
+            CodeBlock localeCode = this.toLocaleCode(variant.getLocale());
+            if (this.mapped == false) {
+                builder.add(this.toEmbedLocaleCode(localeCode, index, keys.size(), chunkSize));
+            }
+            List<String> delta = deltas.get(index);
+            List<Integer> inherited = IntStream.range(0, keys.size())
+                    .filter(ordinal -> variant.getString(keys.get(ordinal)) != null && delta.get(ordinal) == null)
+                    .boxed()
+                    .collect(Collectors.toList());
+            if (inherited.isEmpty() == false) {
+                builder.add("\n.inherited(").add(localeCode).add(", $S)", PackedStrings.encodeInts(inherited));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * ロケールの値を保持するクラスを参照する関数を埋め込むコードを編集します.
+     *
+     * @param localeCode ロケールを編集したコード
+     * @param index 埋め込むPropertiesファイルの序数
+     * @param keyCount 定数の数
+     * @param chunkSize 分割する単位. 分割しない場合は0
+     * @return 値を埋め込むコード
+     */
+    private CodeBlock toEmbedLocaleCode(CodeBlock localeCode, int index, int keyCount, int chunkSize) {
+        CodeBlock.Builder builder = CodeBlock.builder();
+        if (this.isPacked()) {
+            builder.add("\n.embedPacked(").add(localeCode).add(", () -> Texts$L.TEXTS)", index);
+        } else if (chunkSize > 0) {
+            builder.add("\n.embedLazily(").add(localeCode);
+            for (int chunk = 0; chunk * chunkSize < keyCount; chunk++) {
+                builder.add(", () -> Texts$LChunk$L.TEXTS", index, chunk);
+            }
+            builder.add(")");
+        } else {
+            builder.add("\n.embedLazily(").add(localeCode).add(", () -> Texts$L.TEXTS)", index);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Propertiesファイルの値のうち、親となる対応ロケールから解決する値と異なる値（差分）を編集します.
+     * <P>
+     * 親となる対応ロケールはデフォルトのControlの候補ロケールの順で、いずれにも記述が無い場合は生成時の値を親の値とします.<br>
+     * 親と同じ値は実行時に親から解決するため、nullとして埋め込みを省略します.
+     *
+     * @param keys Enum定数の順に並べたリソースのkey
+     * @param values Enum定数の順に並べた生成時のリソースの値
+     * @param variants 埋め込むPropertiesファイル
+     * @param parents 対応ロケール毎の親となる対応ロケールの序数
+     * @param index 編集するPropertiesファイルの序数
+     * @return Enum定数の順に並べた差分. 差分が無いkeyはnull
+     */
+    private List<String> toDeltaTexts(List<String> keys, List<String> values, List<ResourceVariant> variants, List<int[]> parents, int index) {
+        List<String> delta = new ArrayList<>();
+        for (int ordinal = 0; ordinal < keys.size(); ordinal++) {
+            String key = keys.get(ordinal);
+            String inherited = Arrays.stream(parents.get(index))
+                    .mapToObj(parent -> variants.get(parent).getString(key))
+                    .filter(text -> text != null)
+                    .findFirst()
+                    .orElse(values.get(ordinal));
+            String text = variants.get(index).getString(key);
+            delta.add(inherited.equals(text) ? null : text);
+        }
+        return delta;
+    }
+
+    /**
+     * 生成時に検出したPropertiesファイルのロケール（対応ロケール）を設定するコードを編集します.
+     * <P>
+     * 実行時は親の序数から値を補完するため、候補ロケールの算出とクラスパスの探索はしません.<br>
+     * ロケール毎の値を埋め込まない場合は、生成後に追加したPropertiesファイルをResourceBundleと同じく解決するため設定しません.
+     *
+     * @param supported 検出したPropertiesファイル. 設定しない場合は空のリスト
+     * @param parents 対応ロケール毎の親となる対応ロケールの序数
+     * @return 対応ロケールを設定するコード
+     */
+    private CodeBlock toSupportedLocaleCode(List<ResourceVariant> supported, List<int[]> parents) {
+        CodeBlock.Builder builder = CodeBlock.builder();
+        for (int index = 0; index < supported.size(); index++) {
+            builder.add("\n.supportedLocale(").add(this.toLocaleCode(supported.get(index).getLocale()));
+            Arrays.stream(parents.get(index)).forEachOrdered(parent -> builder.add(", $L", parent));
+            builder.add(")");
+        }
+        return builder.build();
+    }
+
+    /**
+     * 対応ロケール毎に、デフォルトのControlの候補ロケールのうち対応ロケールに含まれるもの（自身を除く）を親として序数で編集します.
+     *
+     * @param supported 検出したPropertiesファイル
+     * @return 対応ロケール毎の親となる対応ロケールの序数
+     */
+    private List<int[]> toSupportedParents(List<ResourceVariant> supported) {
+        Control defaultControl = Control.getControl(Control.FORMAT_DEFAULT);
+        List<Locale> locales = supported.stream().map(ResourceVariant::getLocale).collect(Collectors.toList());
+        return locales.stream()
+                .map(supportedLocale -> defaultControl.getCandidateLocales(this.resourceBaseName, supportedLocale).stream()
+                .filter(candidate -> candidate.equals(supportedLocale) == false)
+                .mapToInt(locales::indexOf)
+                .filter(parent -> parent >= 0)
+                .toArray())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * ロケール毎のPropertiesファイルの値を保持するクラスを編集します.
+     * <P>
+     * 値はロケール毎（分割する場合はロケールと分割した単位毎）のクラスで保持するため、クラスの初期化は当該ロケールの初回の解決時まで遅延します.<br>
+     * 保持する値は親との差分のみです. 同じ値の文字列リテラルはクラスをまたいで同じインスタンスを参照します.
+     *
+     * @param deltas 埋め込むPropertiesファイル毎の親との差分
+     * @param chunkSize 分割する単位. 分割しない場合は0
+     * @return 値を保持するクラス
+     */
+    private List<TypeSpec> toTextsTypes(List<List<String>> deltas, int chunkSize) {
+        List<TypeSpec> types = new ArrayList<>();
+        if (this.mapped) {
+            return types;
+        }
+        for (int index = 0; index < deltas.size(); index++) {
+            List<String> texts = deltas.get(index);
+            if (this.isPacked()) {
+                types.add(this.toTextsType("Texts" + index, this.toPoolField("TEXTS", texts)));
+                continue;
+            }
+            if (chunkSize == 0) {
+                types.add(this.toTextsType("Texts" + index, this.toTextsField(texts)));
+                continue;
+            }
+            for (int from = 0; from < texts.size(); from += chunkSize) {
+                List<String> chunk = texts.subList(from, Math.min(from + chunkSize, texts.size()));
+                types.add(this.toTextsType("Texts" + index + "Chunk" + from / chunkSize, this.toTextsField(chunk)));
+            }
+        }
+        return types;
+    }
+
+    private FieldSpec toTextsField(List<String> texts) {
+        return this.toChunkField(String[].class, "TEXTS", texts.stream().map(text -> text == null ? CodeBlock.of("null") : CodeBlock.of("$S", text)));
+    }
+
+    private TypeSpec toTextsType(String name, FieldSpec field) {
+        return TypeSpec.classBuilder(name)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .addField(field)
+                .build();
+    }
+
+    /**
+     * 定数の値を保持するクラスに分割する単位を編集します.
+     * <P>
+     * 指定が無い場合は静的初期化子のバイトコードの大きさを見積もり、{@link #CLINIT_BUDGET}を超える場合のみ分割します.<br>
+     * 分割する場合の単位は、値を保持するクラスの静的初期化子が{@link #CLINIT_BUDGET}を超えない定数の数です.<br>
+     * ロケール毎の値はロケール毎のクラスで保持するため、Enumの静的初期化子の見積もりには含めません.
+     * <P>
+     * なお、Enum定数の生成は分割できないため、定数の生成も上限を超える場合は分割せずにEnumの代わりのクラスを生成します（{@link #isSplit()}）.
+     *
+     * @param keyCount 定数の数
+     * @return 分割する単位. 分割しない場合は0
+     */
+    private int toChunkSize(int keyCount) {
+        if (this.chunkSize > 0) {
+            return this.chunkSize;
+        }
+        if (keyCount * CONSTANT_BYTES <= CLINIT_BUDGET) {
+            return 0;
+        }
+        return Math.max(1, CLINIT_BUDGET / ELEMENT_BYTES / 3);
+    }
+
+    /**
+     * Enumの代わりにクラスを生成して、定数をインターフェースに分けて保持するかを判定します.
+     * <P>
+     * 引数の無いEnum定数の生成も静的初期化子のバイトコードが定数の数に比例するため、{@link #CLINIT_BUDGET}を超える場合に該当します.<br>
+     * 該当する場合、クラスの静的初期化子は定数を配列で生成して、定数を参照するフィールドは{@link #CLINIT_BUDGET}を超えない数ずつインターフェースに分けます.
+     * keyと値は連結して保持します（{@link #isPacked()}）.
+     *
+     * @return Enumの代わりにクラスを生成する場合はtrue
+     */
+    private boolean isSplit() {
+        return this.resolve().keys.size() * ENUM_CONSTANT_BYTES > CLINIT_BUDGET;
+    }
+
+    /**
+     * 定数のkeyと値を連結して保持するかを判定します.
+     *
+     * @return 連結を指定した場合と、Enumの代わりにクラスを生成する場合はtrue
+     */
+    private boolean isPacked() {
+        return this.compact || this.isSplit();
+    }
+
+    /**
+     * Enumの代わりに生成するクラスの定数を保持するインターフェースの名前を編集します.
+     *
+     * @return インターフェースの名前
+     */
+    private List<ClassName> toConstantsTypeNames() {
+        int holderSize = CLINIT_BUDGET / HOLDER_CONSTANT_BYTES;
+        int holderCount = (this.resolve().keys.size() + holderSize - 1) / holderSize;
+        return IntStream.range(0, holderCount)
+                .mapToObj(holder -> ClassName.get(this.getPackageName(), this.toClassNameInitCap() + "Constants" + holder))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 序数に該当する値を保持するクラスの配列を参照するコードを編集します.
+     *
+     * @param paramOrdinal 序数の引数
+     * @param field 参照する配列
+     * @param keyCount 定数の数
+     * @param chunkSize 分割する単位
+     * @return 配列を参照するコード
+     */
+    private CodeBlock toChunkAccessCode(ParameterSpec paramOrdinal, String field, int keyCount, int chunkSize) {
+        CodeBlock.Builder builder = CodeBlock.builder().beginControlFlow("switch ($N / $L)", paramOrdinal, chunkSize);
+        for (int chunk = 0; chunk * chunkSize < keyCount; chunk++) {
+            builder.add("case $L:\n$>", chunk)
+                    .addStatement("return Chunk$L.$L[$N - $L]", chunk, field, paramOrdinal, chunk * chunkSize)
+                    .add("$<");
+        }
+        return builder.add("default:\n$>")
+                .addStatement("throw new $T($N)", ArrayIndexOutOfBoundsException.class, paramOrdinal)
+                .add("$<")
+                .endControlFlow()
+                .build();
+    }
+
+    /**
+     * 分割した定数の値を保持するクラスを編集します.
+     *
+     * @param chunk 分割した番号
+     * @param keys 保持する定数のリソースのkey
+     * @param values 保持する定数のリソースの値
+     * @param counts 保持する定数の埋め込み文字の数
+     * @return 値を保持するクラス
+     */
+    private TypeSpec toChunkType(int chunk, List<String> keys, List<String> values, List<Integer> counts) {
+        TypeSpec.Builder builder = TypeSpec.classBuilder("Chunk" + chunk)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .addField(this.toChunkField(String[].class, "KEYS", keys.stream().map(key -> CodeBlock.of("$S", key))))
+                .addField(this.toChunkField(String[].class, "VALUES", values.stream().map(value -> CodeBlock.of("$S", value))))
+                .addField(this.toChunkField(int[].class, "PARAM_COUNTS", counts.stream().map(count -> CodeBlock.of("$L", count))));
+        return builder.build();
+    }
+
+    /**
+     * 連結した定数の値を保持するクラスを編集します.
+     * <P>
+     * keyと値はそれぞれ1つの文字列に連結した文字列リテラルと、文字列毎の長さの文字列リテラルで保持します.<br>
+     * 文字列リテラルはクラスファイルの定数として保持するため、静的初期化子のバイトコードは定数の数に比例しません.
+     *
+     * @param keys Enum定数の順に並べたリソースのkey
+     * @param values Enum定数の順に並べたリソースの値
+     * @param counts Enum定数の順に並べた埋め込み文字の数
+     * @return 値を保持するクラス
+     */
+    private TypeSpec toPoolType(List<String> keys, List<String> values, List<Integer> counts) {
+        TypeSpec.Builder builder = TypeSpec.classBuilder("Pool")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .addField(this.toPoolField("KEYS", keys))
+                .addField(this.toPoolField("VALUES", values))
+                .addField(FieldSpec.builder(int[].class, "PARAM_COUNTS", Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$T.decodeInts($S)", PackedStrings.class, PackedStrings.encodeInts(counts))
+                        .build());
+        return builder.build();
+    }
+
+    private FieldSpec toPoolField(String name, List<String> strings) {
+        CodeBlock.Builder initializer = CodeBlock.builder()
+                .add("$T.of($>$>\n$S", PackedStrings.class, PackedStrings.encodeLengths(strings));
+        PackedStrings.encodeSegments(strings).forEach(segment -> initializer.add(",\n$S", segment));
+        return FieldSpec.builder(PackedStrings.class, name, Modifier.STATIC, Modifier.FINAL)
+                .initializer(initializer.add("$<$<)").build())
+                .build();
+    }
+
+    private FieldSpec toChunkField(Class<?> type, String name, Stream<CodeBlock> elements) {
+        CodeBlock.Builder initializer = CodeBlock.builder().add("{$>$>");
+        elements.forEachOrdered(element -> initializer.add("\n").add(element).add(","));
+        return FieldSpec.builder(type, name, Modifier.STATIC, Modifier.FINAL)
+                .initializer(initializer.add("$<$<\n}").build())
+                .build();
+    }
+
+    /**
+     * ロケールを生成するコードを編集します.
+     *
+     * @param locale ロケール
+     * @return ロケールを生成するコード
+     */
+    private CodeBlock toLocaleCode(Locale locale) {
+        if (Locale.ROOT.equals(locale)) {
+            return CodeBlock.of("$T.ROOT", Locale.class);
+        }
+        return CodeBlock.of("$T.forLanguageTag($S)", Locale.class, locale.toLanguageTag());
+    }
+
+    /**
+     * 埋め込み文字の数を編集します.
+     * <P>
+     * 実行時の書式化と同じ解析で数えます. 書式として解析できない値は書式化の対象外として0を返却します.
+     *
+     * @param value リソースの値
+     * @return 埋め込み文字の数
+     */
+    private int toParamCount(String value) {
+        try {
+            return MessageTemplate.of(value, Locale.ROOT).getArgumentCount();
+        } catch (IllegalArgumentException ex) {
+            return 0;
+        }
+    }
+
+    private String getPackageName() {
+        return this.packageName == null ? "" : this.packageName;
+    }
+
+    /**
+     * リソース名から編集したクラス名を編集します.
+     *
+     * @return リソース名から始めの１文字を大文字にした文字列
+     */
+    private String toClassNameInitCap() {
+        String[] path = this.resourceBaseName.split("\\.");
+        String baseName = path[path.length - 1];
+        return baseName.substring(0, 1).toUpperCase(Locale.ENGLISH) + baseName.substring(1);
+    }
+
+    /**
+     * 全ての文字を大文字に変換したものをEnumのフィールドとして編集します.
+     *
+     * @return 全てを大文字にした文字列
+     */
+    private String toEnumField(String key) {
+        return key.toUpperCase(Locale.ENGLISH);
+    }
+
+    /**
+     * ロケール毎のPropertiesファイルの値を出力するファイルの名前を返却します.
+     * <P>
+     * ファイルは生成するEnumと同じパッケージに出力します.
+     *
+     * @return ファイルの名前
+     */
+    public String toMappedCatalogName() {
+        return this.toClassNameInitCap() + ".catalog";
+    }
+
+    /**
+     * ロケール毎のPropertiesファイルの値をファイルの形式に編集します.
+     * <P>
+     * 生成するEnumに埋め込む場合と同じく、親と同じ値は出力しません. 形式は{@link MappedStrings}を参照してください.
+     *
+     * @return ファイルの内容
+     */
+    public byte[] toMappedCatalog() {
+        Resolved _resolved = this.resolve();
+        return MappedStrings.encode(_resolved.supported.stream().map(ResourceVariant::getLocale).collect(Collectors.toList()), _resolved.deltas);
+    }
+
+    /**
+     * 生成に使用するリソースのkeyと値、検出したPropertiesファイルを返却します.
+     * <P>
+     * 初回の参照時に解決して保持するため、Enumとファイルの両方を編集する場合もResourceBundleの参照とPropertiesファイルの検出は1度のみです.<br>
+     * Propertiesファイルの検出は値を埋め込む場合とファイルに出力する場合のみ行います. ResourceBundleから解決する場合は検出せず、対応ロケールは空のリストです.
+     *
+     * @return 解決したリソース
+     */
+    private Resolved resolve() {
+        if (this.resolved == null) {
+            ResourceBundle bundle = this.getBundle();
+            List<String> keys = bundle.keySet().stream()
+                    .sorted(Comparator.comparing(String::toString))
+                    .collect(Collectors.toList());
+            List<String> values = keys.stream().map(bundle::getString).collect(Collectors.toList());
+            // ResourceBundleから解決する場合は生成後に追加したPropertiesファイルも解決に使用するため、対応ロケールを検出しません.
+            boolean detect = this.embedLocales || this.mapped;
+            List<ResourceVariant> supported = detect
+                                              ? ResourceVariant.find(this.resourceBaseName, ResourceEnumToJavaFile.class.getClassLoader())
+                                              : Collections.emptyList();
+            List<int[]> supportedParents = this.toSupportedParents(supported);
+            List<List<String>> deltas = IntStream.range(0, supported.size())
+                    .mapToObj(index -> this.toDeltaTexts(keys, values, supported, supportedParents, index))
+                    .collect(Collectors.toList());
+            this.resolved = new Resolved(keys, values, supported, supportedParents, deltas);
+        }
+        return this.resolved;
+    }
+
+    /**
+     * JavaFileのコードの文字列を返却する.
+     *
+     * @return JavaFileのコードの文字列
+     */
+    public String toSourceCode() {
+        JavaFile javaFile = this.toJavaFile();
+        return javaFile.toString();
+    }
+
+    /**
+     * 生成に使用するリソースのkeyと値、検出したPropertiesファイルを保持するクラスです.
+     */
+    private static class Resolved {
+
+        private final List<String> keys;
+        private final List<String> values;
+        private final List<ResourceVariant> supported;
+        private final List<int[]> supportedParents;
+        private final List<List<String>> deltas;
+
+        /**
+         * インスタンスを構築します.
+         *
+         * @param keys Enum定数の順に並べたリソースのkey
+         * @param values Enum定数の順に並べた生成時のリソースの値
+         * @param supported 検出したPropertiesファイル
+         * @param supportedParents 対応ロケール毎の親となる対応ロケールの序数
+         * @param deltas 検出したPropertiesファイル毎の親との差分. 値を埋め込まない場合は空のリスト
+         */
+        private Resolved(List<String> keys, List<String> values, List<ResourceVariant> supported, List<int[]> supportedParents, List<List<String>> deltas) {
+            this.keys = keys;
+            this.values = values;
+            this.supported = supported;
+            this.supportedParents = supportedParents;
+            this.deltas = deltas;
+        }
+    }
+
+    /**
+     * builderクラス
+     */
+    public static class Builder {
+
+        private String packageName;
+        private final String resourceBaseName;
+        private Control control;
+        private Locale locale;
+        private boolean embedLocales;
+        private int formatArity;
+        private int chunkSize;
+        private boolean compact;
+        private boolean mapped;
+        private int mappedCacheSize;
+        private boolean metrics;
+        private boolean metricsPerConstant;
+
+        /**
+         * インスタンスを構築します.
+         *
+         * @param resourceBaseName 参照元のリソース名
+         */
+        public Builder(String resourceBaseName) {
+            this.resourceBaseName = resourceBaseName;
+        }
+
+        /**
+         * ResourceBundleの任意引数であるpackageを設定します.<br>
+         *
+         * @param packageName パッケージパスの文字列
+         * @return chainに使用するbuilderクラス
+         */
+        public Builder packageName(String packageName) {
+            this.packageName = packageName;
+            return this;
+        }
+
+        /**
+         * ResourceBundleの任意引数であるCustomControlを設定します
+         *
+         * @see java.util.ResourceBundle.Control
+         * @param control {@link java.util.ResourceBundle.Control}または、そのインターフェースを実装したクラス
+         * @return chainに使用するbuilderクラス
+         */
+        public Builder control(Control control) {
+            this.control = control;
+            return this;
+        }
+
+        /**
+         * ロケールを設定します.
+         *
+         * @param locale ロケール
+         * @return chainに使用するbuilderクラス
+         */
+        public Builder locale(Locale locale) {
+            this.locale = locale;
+            return this;
+        }
+
+        /**
+         * ロケール毎のPropertiesファイルの値を生成するEnumに埋め込むかを設定します.
+         * <P>
+         * 埋め込んだ場合、生成したEnumは実行時にResourceBundleを参照しません.
+         *
+         * @param embedLocales true:ロケール毎の値を埋め込む
+         * @return chainに使用するbuilderクラス
+         */
+        public Builder embedLocales(boolean embedLocales) {
+            this.embedLocales = embedLocales;
+            return this;
+        }
+
+        /**
+         * 埋め込み文字を配列にせずに受け取る{@code format}メソッドを生成する埋め込み文字の最大数を設定します.
+         * <P>
+         * 1から指定した数までの埋め込み文字を受け取る{@code format}メソッドを生成します. 0の場合は生成しません.
+         *
+         * @param formatArity 埋め込み文字の最大数（0から{@link ResourceCatalog#MAX_FORMAT_ARITY}）
+         * @return chainに使用するbuilderクラス
+         */
+        public Builder formatArity(int formatArity) {
+            this.formatArity = formatArity;
+            return this;
+        }
+
+        /**
+         * 定数の値を保持するクラスに分割する単位（定数の数）を設定します.
+         * <P>
+         * 0の場合は生成するクラスの大きさを見積もり、静的初期化子の上限を超える場合のみ自動で分割します.
+         *
+         * @param chunkSize 分割する単位. 0の場合は自動
+         * @return chainに使用するbuilderクラス
+         */
+        public Builder chunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * 定数毎のリソースのkeyと値を連結した文字列で保持するかを設定します.
+         * <P>
+         * 連結した場合、生成したEnumは参照時に連結した文字列からkeyと値を切り出します.<br>
+         * 連結した文字列はクラスファイルの定数として保持するため、分割する単位（{@link #chunkSize(int)}）は使用しません.
+         * 定数のコメントには値を出力せず、埋め込み文字の数のみ出力します.
+         *
+         * @param compact true:keyと値を連結して保持する
+         * @return chainに使用するbuilderクラス
+         */
+        public Builder compact(boolean compact) {
+            this.compact = compact;
+            return this;
+        }
+
+        /**
+         * ロケール毎のPropertiesファイルの値を、生成するEnumに埋め込まずにファイルに出力するかを設定します.
+         * <P>
+         * 出力した場合、生成したEnumは実行時にResourceBundleを参照せず、ファイルをメモリマップして値を参照します.<br>
+         * ファイルの内容は{@link ResourceEnumToJavaFile#toMappedCatalog()}で編集します.
+         *
+         * @param mapped true:ロケール毎の値をファイルに出力する
+         * @param cacheSize 復号した値をロケール毎に保持する件数（1以上）
+         * @return chainに使用するbuilderクラス
+         */
+        public Builder mapped(boolean mapped, int cacheSize) {
+            this.mapped = mapped;
+            this.mappedCacheSize = cacheSize;
+            return this;
+        }
+
+        /**
+         * 生成するEnumにリソースの値の参照件数を数える処理を含めるかを設定します.
+         * <P>
+         * 含めた場合、生成したEnumは参照と書式化の件数、生成時の値を返却した件数、書式化に要した時間を数えて、プラットフォームMBeanサーバーに公開します.<br>
+         * 含めない場合は参照時に数えません.
+         *
+         * @param metrics true:参照件数を数える
+         * @param perConstant true:定数毎の参照件数も数える
+         * @return chainに使用するbuilderクラス
+         */
+        public Builder metrics(boolean metrics, boolean perConstant) {
+            this.metrics = metrics;
+            this.metricsPerConstant = perConstant;
+            return this;
+        }
+
+        /**
+         * インスタンスを構築する.
+         *
+         * @return 生成したインスタンス
+         * @throws ClassFactoryException 埋め込み文字の最大数が範囲外の場合、ファイルに出力する場合に復号した値を保持する件数が1未満の場合
+         */
+        public ResourceEnumToJavaFile build() {
+            if (this.formatArity < 0 || ResourceCatalog.MAX_FORMAT_ARITY < this.formatArity) {
+                throw new ClassFactoryException("formatArity must be between 0 and " + ResourceCatalog.MAX_FORMAT_ARITY + ". " + this.formatArity);
+            }
+            if (this.mapped && this.mappedCacheSize < 1) {
+                throw new ClassFactoryException("mappedCacheSize must be 1 or more. " + this.mappedCacheSize);
+            }
+            return new ResourceEnumToJavaFile(this.resourceBaseName, this.packageName, this.control, this.locale, this.embedLocales, this.formatArity, this.chunkSize, this.compact,
+                                              this.mapped, this.mappedCacheSize, this.metrics, this.metricsPerConstant);
+        }
+
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IllformedLocaleException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PropertyResourceBundle;
+import java.util.ResourceBundle.Control;
+import java.util.Set;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+import org.vermeer1977.infrastructure.annotation.processor.ClassFactoryException;
+
+/**
+ * ResourceBundleのロケール毎のPropertiesファイル（例：message_ja_JP.properties）を表すクラスです.
+ * <P>
+ * 保持する値は当該ファイルに記述されているkeyと値のみで、親となるロケールの値は含みません.
+ *
+ * @author Yamashita,Takahiro
+ */
+public class ResourceVariant {
+
+    private static final Control CONTROL = Control.getControl(Control.FORMAT_PROPERTIES);
+
+    private final Locale locale;
+    private final Map<String, String> entries;
+
+    private ResourceVariant(Locale locale, Map<String, String> entries) {
+        this.locale = locale;
+        this.entries = entries;
+    }
+
+    /**
+     * クラスローダーから参照できるロケール毎のPropertiesファイルを全て取得します.
+     * <P>
+     * 探索対象のロケールは{@link Locale#getAvailableLocales()}とルートロケール、およびPropertiesファイルと同じディレクトリ（jarファイルを含む）にある
+     * {@code baseName_xx_YY.properties}の形式のファイル名のロケールです. 返却するリストはルートロケールを先頭にロケールの文字列の昇順で並べます.
+     *
+     * @param baseName リソースバンドルのBaseName
+     * @param classLoader 探索に使用するクラスローダー
+     * @return 取得したPropertiesファイルのリスト
+     * @throws ClassFactoryException Propertiesファイルの読み込みに失敗した場合
+     */
+    public static List<ResourceVariant> find(String baseName, ClassLoader classLoader) {
+        List<Locale> locales = new ArrayList<>(Arrays.asList(Locale.getAvailableLocales()));
+        locales.add(Locale.ROOT);
+        locales.addAll(list(baseName, classLoader));
+        List<ResourceVariant> variants = new ArrayList<>();
+        locales.stream()
+                .map(Locale::stripExtensions)
+                .distinct()
+                .sorted(Comparator.comparing((Locale l) -> l.equals(Locale.ROOT) == false).thenComparing(Locale::toString))
+                .forEachOrdered(locale -> {
+                    String resourceName = CONTROL.toResourceName(CONTROL.toBundleName(baseName, locale), "properties");
+                    URL url = classLoader.getResource(resourceName);
+                    if (url != null) {
+                        variants.add(new ResourceVariant(locale, read(url)));
+                    }
+                });
+        return variants;
+    }
+
+    /**
+     * Propertiesファイルと同じディレクトリにあるファイルのファイル名からロケールを取得します.
+     * <P>
+     * ディレクトリとjarファイル以外（一覧を取得できないクラスローダーなど）は対象外です.
+     *
+     * @param baseName リソースバンドルのBaseName
+     * @param classLoader 探索に使用するクラスローダー
+     * @return ファイル名から取得したロケール
+     * @throws ClassFactoryException ディレクトリの一覧の取得に失敗した場合
+     */
+    private static Set<Locale> list(String baseName, ClassLoader classLoader) {
+        String bundlePath = baseName.replace('.', '/');
+        String directory = bundlePath.substring(0, bundlePath.lastIndexOf('/') + 1);
+        String prefix = bundlePath + "_";
+        String suffix = ".properties";
+        Set<Locale> locales = new HashSet<>();
+        try {
+            for (URL url : Collections.list(classLoader.getResources(directory))) {
+                List<String> names = new ArrayList<>();
+                if ("file".equals(url.getProtocol())) {
+                    try (Stream<Path> paths = Files.list(Paths.get(url.toURI()))) {
+                        paths.forEach(path -> names.add(directory + path.getFileName().toString()));
+                    }
+                } else if ("jar".equals(url.getProtocol())) {
+                    JarURLConnection connection = (JarURLConnection) url.openConnection();
+                    connection.setUseCaches(false);
+                    try (JarFile jarFile = connection.getJarFile()) {
+                        jarFile.stream().forEach(entry -> names.add(entry.getName()));
+                    }
+                }
+                names.stream()
+                        .filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+                        .map(name -> toLocale(baseName, name.substring(prefix.length(), name.length() - suffix.length())))
+                        .filter(locale -> locale != null)
+                        .forEach(locales::add);
+            }
+        } catch (IOException | URISyntaxException ex) {
+            throw new ClassFactoryException("resource directory could not list. " + directory);
+        }
+        return locales;
+    }
+
+    /**
+     * ファイル名のロケールの部分（例：ja_JP）からロケールを編集します.
+     * <P>
+     * ResourceBundleのファイル名の規則（言語_文字体系_国_バリアント）で解釈して、ファイル名に戻した値が一致する場合のみ返却します.
+     *
+     * @param baseName リソースバンドルのBaseName
+     * @param localeName ファイル名のロケールの部分
+     * @return ロケール. ロケールとして解釈できない場合はnull
+     */
+    private static Locale toLocale(String baseName, String localeName) {
+        String[] parts = localeName.split("_", -1);
+        Locale locale;
+        try {
+            if (parts.length >= 2 && parts[1].length() == 4) {
+                locale = new Locale.Builder()
+                        .setLanguage(parts[0])
+                        .setScript(parts[1])
+                        .setRegion(parts.length >= 3 ? parts[2] : "")
+                        .setVariant(parts.length >= 4 ? localeName.substring(parts[0].length() + parts[1].length() + parts[2].length() + 3) : "")
+                        .build();
+            } else {
+                locale = new Locale(parts[0], parts.length >= 2 ? parts[1] : "", parts.length >= 3 ? localeName.substring(parts[0].length() + parts[1].length() + 2) : "");
+            }
+        } catch (IllformedLocaleException ex) {
+            return null;
+        }
+        return CONTROL.toBundleName(baseName, locale).equals(baseName + "_" + localeName) ? locale : null;
+    }
+
+    /**
+     * Propertiesファイルに記述されているkeyと値を取得します.
+     *
+     * @param url Propertiesファイル
+     * @return 取得したkeyと値
+     */
+    private static Map<String, String> read(URL url) {
+        try (InputStream in = url.openStream()) {
+            PropertyResourceBundle bundle = new PropertyResourceBundle(in);
+            Map<String, String> entries = new HashMap<>();
+            bundle.keySet().forEach(key -> entries.put(key, bundle.getString(key)));
+            return Collections.unmodifiableMap(entries);
+        } catch (IOException ex) {
+            throw new ClassFactoryException("resource could not read. " + url);
+        }
+    }
+
+    /**
+     * ロケールを返却します.
+     *
+     * @return ロケール
+     */
+    public Locale getLocale() {
+        return this.locale;
+    }
+
+    /**
+     * 当該ファイルに記述されている値を返却します.
+     *
+     * @param key リソースのkey
+     * @return 当該ファイルに記述されている値. 記述されていない場合はnull
+     */
+    public String getString(String key) {
+        return this.entries.get(key);
+    }
+}
@@ -1,39 +1,39 @@
-/*
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *      http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- *  Copyright © 2017 Yamashita,Takahiro
- */
-package org.vermeer1977.infrastructure.annotation.processor.resource;
-
-import java.lang.annotation.Documented;
-import java.lang.annotation.ElementType;
-import java.lang.annotation.Retention;
-import java.lang.annotation.RetentionPolicy;
-import java.lang.annotation.Target;
-
-/**
- * 生成する対象とするResourceBundleのBaseNameを指定するフィールドに付与するアノテーションです.
- * <P>
- * このアノテーションが付与されるフィールドは、GenerateResourceEnumインタフェースのメンバでなければいけません。<br>
- * アノテーションを付与するフィールドはfinalにしてください。そうしないと定数の読み込みができずビルドエラーになります。
- *
- * @see GenerateResourceEnum
- * @author Yamashita,Takahiro
- */
-@Documented
-@Target(ElementType.FIELD)
-@Retention(RetentionPolicy.CLASS)
-public @interface TargetResource {
-
-}
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 生成する対象とするResourceBundleのBaseNameを指定するフィールドに付与するアノテーションです.
+ * <P>
+ * このアノテーションが付与されるフィールドは、GenerateResourceEnumインタフェースのメンバでなければいけません。<br>
+ * アノテーションを付与するフィールドはfinalにしてください。そうしないと定数の読み込みができずビルドエラーになります。
+ *
+ * @see GenerateResourceEnum
+ * @author Yamashita,Takahiro
+ */
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.CLASS)
+public @interface TargetResource {
+
+}
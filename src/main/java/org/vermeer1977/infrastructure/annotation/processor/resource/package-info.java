@@ -1,64 +1,86 @@
-/*
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *      http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- *  Copyright © 2017 Yamashita,Takahiro
- */
-/**
- * ResourceBundleファイルからEnumClassの作成を行うクラスを提供します.<br>
- * 使用について
- * <ol>
- * <li>
- * 生成対象の情報を管理するクラスに{@link org.vermeer1977.infrastructure.annotation.processor.resource.GenerateResourceEnum}をアノテート
- * </li>
- * <li>
- * アノテートしたクラスのフィールドに{@link org.vermeer1977.infrastructure.annotation.processor.resource.TargetResource}のフィールド値をリソース名としてEnumクラスを生成
- * </li>
- * </ol>
- * <p>
- * 生成されるEnumClassについて
- * <ul>
- * <li>
- * クラス名：ResourceNameの先頭一文字を大文字にした名称<br>
- * （例：message→Message）<br>
- * 注意事項：CamelCaseではなく、あくまで１文字目のみ
- * </li>
- * <li>
- * Enum定数値：Resoueceのkeyをすべて大文字にした値.<br>
- * （例：msg001→MSG001）<br>
- * 理由：定数として可読性を持たせるため
- * </li>
- * </ul>
- *
- * <p>
- * 実装例
- * <pre>
- * <code>
- *{@literal @GenerateResourceEnum}
- * public class SampleEnum {
- *
- *     {@literal @TargetResource}
- *      final String resourceName = "resource.message";
- * }
- * </code>
- *
- * </pre>
- * <p>
- * 補足事項
- * <ul>
- * <li>
- * {@link org.vermeer1977.infrastructure.annotation.processor.resource.TargetResource}をアノテートしたフィールドは同一クラス内に複数指定して良い.
- * </li>
- * </ul>
- */
-package org.vermeer1977.infrastructure.annotation.processor.resource;
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+/**
+ * ResourceBundleファイルからEnumClassの作成を行うクラスを提供します.<br>
+ * 使用について
+ * <ol>
+ * <li>
+ * 生成対象の情報を管理するクラスに{@link org.vermeer1977.infrastructure.annotation.processor.resource.GenerateResourceEnum}をアノテート
+ * </li>
+ * <li>
+ * アノテートしたクラスのフィールドに{@link org.vermeer1977.infrastructure.annotation.processor.resource.TargetResource}のフィールド値をリソース名としてEnumクラスを生成
+ * </li>
+ * </ol>
+ * <p>
+ * 生成されるEnumClassについて
+ * <ul>
+ * <li>
+ * クラス名：ResourceNameの先頭一文字を大文字にした名称<br>
+ * （例：message→Message）<br>
+ * 注意事項：CamelCaseではなく、あくまで１文字目のみ
+ * </li>
+ * <li>
+ * Enum定数値：Resoueceのkeyをすべて大文字にした値.<br>
+ * （例：msg001→MSG001）<br>
+ * 理由：定数として可読性を持たせるため
+ * </li>
+ * </ul>
+ *
+ * <p>
+ * 実装例
+ * <pre>
+ * <code>
+ *{@literal @GenerateResourceEnum}
+ * public class SampleEnum {
+ *
+ *     {@literal @TargetResource}
+ *      final String resourceName = "resource.message";
+ * }
+ * </code>
+ *
+ * </pre>
+ * <p>
+ * 補足事項
+ * <ul>
+ * <li>
+ * {@link org.vermeer1977.infrastructure.annotation.processor.resource.TargetResource}をアノテートしたフィールドは同一クラス内に複数指定して良い.
+ * </li>
+ * <li>
+ * {@link org.vermeer1977.infrastructure.annotation.processor.resource.GenerateResourceEnum#embedLocales()}を指定した場合、ロケール毎のPropertiesファイルの値をEnumClassに埋め込む.<br>
+ * 埋め込んだEnumClassは実行時にResourceBundleを参照しない.
+ * </li>
+ * <li>
+ * {@link org.vermeer1977.infrastructure.annotation.processor.resource.GenerateResourceEnum#formatArity()}を指定した場合、指定した数までの埋め込み文字を個別の引数で受け取る{@code format}メソッドを生成する.<br>
+ * 生成したメソッドは呼び出しの都度埋め込み文字の配列を生成しない.
+ * </li>
+ * <li>
+ * {@link org.vermeer1977.infrastructure.annotation.processor.resource.GenerateResourceEnum#compact()}を指定した場合、定数毎のkeyと値を連結した文字列としてEnumClassに保持する.<br>
+ * keyと値は参照時に切り出すため、参照しない値はヒープを消費しない.
+ * </li>
+ * <li>
+ * {@link org.vermeer1977.infrastructure.annotation.processor.resource.GenerateResourceEnum#mappedCatalog()}を指定した場合、ロケール毎のPropertiesファイルの値をEnumClassと同じパッケージのファイル（EnumClass名.catalog）に出力する.<br>
+ * 出力したEnumClassは実行時にファイルをメモリマップして値を参照する.
+ * 復号した値をロケール毎に保持する件数は{@link org.vermeer1977.infrastructure.annotation.processor.resource.GenerateResourceEnum#mappedCacheSize()}（1以上）で指定する.
+ * </li>
+ * <li>
+ * {@link org.vermeer1977.infrastructure.annotation.processor.resource.GenerateResourceEnum#metrics()}を指定した場合、リソースの値の参照件数と書式化に要した時間を数えて、プラットフォームMBeanサーバーに公開する.<br>
+ * {@link org.vermeer1977.infrastructure.annotation.processor.resource.GenerateResourceEnum#metricsPerConstant()}を併せて指定した場合は定数毎の参照件数も数える.
+ * 指定しない場合は参照時に数えない.
+ * </li>
+ * </ul>
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource;
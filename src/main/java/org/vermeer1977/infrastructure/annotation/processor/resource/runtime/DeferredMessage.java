@@ -0,0 +1,75 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * 書式化を文字列の参照時まで遅延するメッセージです.
+ * <P>
+ * 定数の序数と埋め込み文字のみを保持して、{@link #toString()}（または{@link #get()}）の初回の呼び出し時に書式化します.<br>
+ * ロガーに渡した場合、出力しないログレベルのメッセージは書式化しません. 書式化した文字列は保持して、以降の呼び出しで返却します.
+ * 書式化した文字列は不変のため、同時に書式化された場合もいずれかを保持するだけで結果は変わりません.
+ * <P>
+ * 埋め込み文字の配列は複写せずに保持します. 書式化までに埋め込み文字を変更した場合は、変更後の値で書式化します.<br>
+ * ロケールを指定しない場合は書式化した時点の設定でロケールを判定します. 別のスレッドで出力するロガーで処理単位のロケールを使用する場合は、ロケールを指定してください.
+ *
+ * @author Yamashita,Takahiro
+ */
+public final class DeferredMessage implements Supplier<String> {
+
+    private final ResourceCatalog catalog;
+    private final int ordinal;
+    private final Locale locale;
+    private final Object[] params;
+    private String formatted;
+
+    DeferredMessage(ResourceCatalog catalog, int ordinal, Locale locale, Object[] params) {
+        this.catalog = catalog;
+        this.ordinal = ordinal;
+        this.locale = locale;
+        this.params = params;
+    }
+
+    /**
+     * 埋め込み文字を置換した文字列を返却します.
+     *
+     * @return 埋め込み文字を置換した文字列
+     */
+    @Override
+    public String get() {
+        return this.toString();
+    }
+
+    /**
+     * 埋め込み文字を置換した文字列を返却します.
+     * <P>
+     * 初回の呼び出し時に書式化します.
+     *
+     * @return 埋め込み文字を置換した文字列
+     */
+    @Override
+    public String toString() {
+        String _formatted = this.formatted;
+        if (_formatted == null) {
+            _formatted = this.catalog.format(this.ordinal, this.locale, this.params);
+            this.formatted = _formatted;
+        }
+        return _formatted;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 外部のディレクトリに配置したPropertiesファイルだけを参照するクラスローダーです.
+ * <P>
+ * ディレクトリにはパッケージのディレクトリを作成せず、Propertiesファイル（例：message_ja.properties）を直接配置します.<br>
+ * パッケージ内のリソースは参照しないため、ディレクトリで解決できなかったkeyは呼び出し側でパッケージ内の値から解決します.
+ * ResourceBundleのキャッシュはクラスローダー単位のため、再読み込みの都度インスタンスを作成します.
+ *
+ * @author Yamashita,Takahiro
+ */
+final class DirectoryResourceLoader extends ClassLoader {
+
+    private final Path directory;
+    private final String packagePath;
+
+    /**
+     * インスタンスを構築します.
+     *
+     * @param directory Propertiesファイルを配置したディレクトリ
+     * @param baseName リソースバンドルのBaseName
+     */
+    DirectoryResourceLoader(Path directory, String baseName) {
+        super(null);
+        this.directory = directory;
+        String bundlePath = baseName.replace('.', '/');
+        this.packagePath = bundlePath.substring(0, bundlePath.lastIndexOf('/') + 1);
+    }
+
+    @Override
+    protected URL findResource(String name) {
+        if (name.startsWith(this.packagePath) == false || name.indexOf('/', this.packagePath.length()) >= 0) {
+            return null;
+        }
+        Path file = this.directory.resolve(name.substring(this.packagePath.length()));
+        if (Files.isRegularFile(file) == false) {
+            return null;
+        }
+        try {
+            return file.toUri().toURL();
+        } catch (MalformedURLException ex) {
+            return null;
+        }
+    }
+}
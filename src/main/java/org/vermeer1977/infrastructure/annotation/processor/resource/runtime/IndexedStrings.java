@@ -0,0 +1,43 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+/**
+ * 添字で参照する文字列の一覧です.
+ * <P>
+ * ロケール毎の値（{@link ResourceTexts}）の保持形式を、連結した文字列（{@link PackedStrings}）と
+ * メモリマップしたファイル（{@link MappedStrings}）で共通に扱います.
+ *
+ * @author Yamashita,Takahiro
+ */
+interface IndexedStrings {
+
+    /**
+     * 文字列の数を返却します.
+     *
+     * @return 文字列の数
+     */
+    int size();
+
+    /**
+     * 添字に該当する文字列を返却します.
+     *
+     * @param index 添字
+     * @return 文字列. 定義していない場合はnull
+     */
+    String get(int index);
+}
@@ -0,0 +1,45 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.util.Locale;
+
+/**
+ * 処理単位（リクエストなど）のロケールを提供するインターフェースです.
+ * <P>
+ * {@link ResourceContext#setLocaleProvider(LocaleProvider)}に設定すると、生成した全てのEnumはロケールの指定が無い参照で本インターフェースが返却するロケールを使用します.<br>
+ * Java 8では{@link ThreadLocalLocaleProvider}を使用してください. ScopedValueが使用できる環境では次のように設定できます.
+ * <pre>
+ * <code>
+ * ResourceContext.setLocaleProvider(() -&gt; LOCALE.isBound() ? LOCALE.get() : null);
+ * </code>
+ * </pre>
+ *
+ * @author Yamashita,Takahiro
+ */
+@FunctionalInterface
+public interface LocaleProvider {
+
+    /**
+     * 現在の処理単位のロケールを返却します.
+     * <P>
+     * 本メソッドはリソースの値を参照する都度呼び出すため、ロックや生成を伴わない実装にしてください.
+     *
+     * @return 現在の処理単位のロケール. 指定が無い場合はnull
+     */
+    Locale getLocale();
+}
@@ -0,0 +1,247 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * ロケール毎の値をUTF-8で出力したファイルを、メモリマップして参照するクラスです.
+ * <P>
+ * 値はファイルのまま保持して、参照時に復号します. 復号した値は指定した件数のみヒープに保持するため、
+ * ヒープの使用量はkeyとロケールの数によらず一定です.<br>
+ * ファイルは全てのロケールで共有する読み取り専用のバッファとして参照します.
+ * <P>
+ * ファイルの形式は次のとおりです. 数値はビッグエンディアンです.
+ * <ol>
+ * <li>ヘッダ：識別子（{@link #MAGIC}）、版数（{@link #VERSION}）、ロケールの数、keyの数（各int）</li>
+ * <li>ロケールの一覧：ロケール毎に索引の位置（int）、言語タグの長さ（short）、言語タグ（UTF-8）</li>
+ * <li>索引：ロケール毎に、Enum定数の序数順に値の位置と長さ（各int）. 定義していない値は長さを-1とします</li>
+ * <li>値：UTF-8で符号化した値. 同じ値は1度のみ出力します</li>
+ * </ol>
+ *
+ * @author Yamashita,Takahiro
+ */
+public final class MappedStrings implements IndexedStrings {
+
+    /**
+     * ファイルの識別子.
+     */
+    public static final int MAGIC = 0x52435431;
+
+    /**
+     * ファイルの形式の版数.
+     */
+    public static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 16;
+    private static final int ENTRY_SIZE = 8;
+
+    private final ByteBuffer buffer;
+    private final int position;
+    private final int size;
+    private final Cached[] cache;
+
+    private MappedStrings(ByteBuffer buffer, int position, int size, int cacheSize) {
+        this.buffer = buffer;
+        this.position = position;
+        this.size = size;
+        this.cache = cacheSize > 0 ? new Cached[cacheSize == 1 ? 1 : Integer.highestOneBit(cacheSize - 1) << 1] : null;
+    }
+
+    /**
+     * ファイルを読み込み、ロケール毎の値を返却します.
+     * <P>
+     * ファイルシステム上のファイルはメモリマップします. それ以外（jarファイル内のリソースなど）はヒープ外の領域に読み込みます.
+     *
+     * ファイルのkeyの数が指定した数と異なる場合（生成後にリソースを変更して、ファイルのみ古い場合など）は、異なる値を返却しないように例外とします.
+     *
+     * @param url ファイル
+     * @param keyCount Enum定数の数
+     * @param cacheSize 復号した値をロケール毎に保持する件数. 保持しない場合は0
+     * @return ロケール毎の値
+     * @throws IOException ファイルの読み込みに失敗した場合
+     * @throws IllegalArgumentException ファイルの形式が異なる場合、keyの数が異なる場合
+     */
+    static Map<Locale, MappedStrings> open(URL url, int keyCount, int cacheSize) throws IOException {
+        ByteBuffer buffer = map(url);
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("unsupported mapped catalog format. " + url);
+        }
+        int localeCount = buffer.getInt(8);
+        if (buffer.getInt(12) != keyCount) {
+            throw new IllegalArgumentException("mapped catalog does not match the constants. expected key count = " + keyCount
+                                               + ", actual = " + buffer.getInt(12) + ". " + url);
+        }
+        Map<Locale, MappedStrings> mapped = new LinkedHashMap<>();
+        int position = HEADER_SIZE;
+        for (int i = 0; i < localeCount; i++) {
+            int index = buffer.getInt(position);
+            if (index < 0 || buffer.capacity() - index < (long) keyCount * ENTRY_SIZE) {
+                throw new IllegalArgumentException("unsupported mapped catalog format. " + url);
+            }
+            byte[] tag = new byte[buffer.getShort(position + 4)];
+            ByteBuffer view = buffer.duplicate();
+            view.position(position + 6);
+            view.get(tag);
+            position += 6 + tag.length;
+            mapped.put(Locale.forLanguageTag(new String(tag, StandardCharsets.UTF_8)), new MappedStrings(buffer, index, keyCount, cacheSize));
+        }
+        return mapped;
+    }
+
+    private static ByteBuffer map(URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            try (FileChannel channel = FileChannel.open(Paths.get(url.toURI()), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (URISyntaxException ex) {
+                throw new IllegalArgumentException("mapped catalog is not a file. " + url, ex);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = url.openStream()) {
+            byte[] chunk = new byte[8192];
+            int length;
+            while ((length = in.read(chunk)) >= 0) {
+                out.write(chunk, 0, length);
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(out.size());
+        buffer.put(out.toByteArray());
+        buffer.flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * 添字に該当する文字列を返却します.
+     * <P>
+     * 保持している復号済みの値が無い場合はファイルから復号します. 復号した値は、添字が同じ位置に割り当たる値と入れ替えて保持します.<br>
+     * 復号済みの値は不変のため、同時に入れ替えられた場合もいずれかを保持するだけで結果は変わりません.
+     *
+     * @param index 添字
+     * @return 文字列. 定義していない場合はnull
+     */
+    @Override
+    public String get(int index) {
+        if (index < 0 || this.size <= index) {
+            throw new IndexOutOfBoundsException("index = " + index + ", size = " + this.size);
+        }
+        Cached cached = this.cache == null ? null : this.cache[index & (this.cache.length - 1)];
+        if (cached != null && cached.index == index) {
+            return cached.text;
+        }
+        int entry = this.position + index * ENTRY_SIZE;
+        int length = this.buffer.getInt(entry + 4);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        ByteBuffer view = this.buffer.duplicate();
+        view.position(this.buffer.getInt(entry));
+        view.get(bytes);
+        String text = new String(bytes, StandardCharsets.UTF_8);
+        if (this.cache != null) {
+            this.cache[index & (this.cache.length - 1)] = new Cached(index, text);
+        }
+        return text;
+    }
+
+    /**
+     * ロケール毎の値をファイルの形式に編集します.
+     *
+     * @param locales ロケール
+     * @param texts ロケール毎の、Enum定数の序数順に並べた値. 定義していない値はnull
+     * @return ファイルの内容
+     * @throws IllegalArgumentException ロケールと値の数が一致しない場合、ロケール毎の値の数が一致しない場合
+     */
+    public static byte[] encode(List<Locale> locales, List<List<String>> texts) {
+        if (locales.size() != texts.size()) {
+            throw new IllegalArgumentException("locales does not match texts. " + locales.size() + " != " + texts.size());
+        }
+        int keyCount = texts.isEmpty() ? 0 : texts.get(0).size();
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        Map<String, Integer> offsets = new HashMap<>();
+        byte[][] tags = new byte[locales.size()][];
+        int directorySize = 0;
+        for (int i = 0; i < locales.size(); i++) {
+            tags[i] = locales.get(i).toLanguageTag().getBytes(StandardCharsets.UTF_8);
+            directorySize += 6 + tags[i].length;
+            if (texts.get(i).size() != keyCount) {
+                throw new IllegalArgumentException("size of texts does not match. " + texts.get(i).size() + " != " + keyCount);
+            }
+        }
+        int indexStart = HEADER_SIZE + directorySize;
+        int payloadStart = indexStart + locales.size() * keyCount * ENTRY_SIZE;
+        ByteBuffer index = ByteBuffer.allocate(locales.size() * keyCount * ENTRY_SIZE);
+        for (List<String> localeTexts : texts) {
+            for (String text : localeTexts) {
+                if (text == null) {
+                    index.putInt(0).putInt(-1);
+                    continue;
+                }
+                byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+                Integer offset = offsets.get(text);
+                if (offset == null) {
+                    offset = payloadStart + payload.size();
+                    offsets.put(text, offset);
+                    payload.write(bytes, 0, bytes.length);
+                }
+                index.putInt(offset).putInt(bytes.length);
+            }
+        }
+        ByteBuffer out = ByteBuffer.allocate(payloadStart + payload.size());
+        out.putInt(MAGIC).putInt(VERSION).putInt(locales.size()).putInt(keyCount);
+        for (int i = 0; i < locales.size(); i++) {
+            out.putInt(indexStart + i * keyCount * ENTRY_SIZE).putShort((short) tags[i].length).put(tags[i]);
+        }
+        out.put(index.array());
+        out.put(payload.toByteArray());
+        return out.array();
+    }
+
+    /**
+     * 復号済みの値.
+     */
+    private static class Cached {
+
+        private final int index;
+        private final String text;
+
+        private Cached(int index, String text) {
+            this.index = index;
+            this.text = text;
+        }
+    }
+}
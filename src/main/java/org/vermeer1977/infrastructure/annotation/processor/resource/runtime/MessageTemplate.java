@@ -0,0 +1,349 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.DateFormat;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 解析済みのメッセージの書式を保持するクラスです.
+ * <P>
+ * 書式は固定文字列と埋め込み文字（{@literal {0}}の形式）の並びに分解して保持し、書式化は固定文字列と埋め込み文字を順に連結するだけで行います.<br>
+ * 埋め込み文字の変換は{@link MessageFormat}と同じ規則（数値、日付はロケールに従った書式化、nullは"null"、該当する値が無い場合は埋め込み文字のまま）です.
+ * <P>
+ * 数値、日付、選択などの書式（{@literal {0,number}}の形式）を含む場合は{@link MessageFormat}で書式化します.<br>
+ * {@link MessageFormat}はスレッドセーフではないため、解析済みのインスタンスは雛形として保持して、書式化の都度複製して使用します.
+ * <P>
+ * インスタンスは不変のため、スレッド間で共有できます.
+ *
+ * @author Yamashita,Takahiro
+ */
+public final class MessageTemplate {
+
+    private final Locale locale;
+    private final String[] literals;
+    private final byte[][] literalBytes;
+    private final int[] arguments;
+    private final int literalLength;
+    private final int argumentCount;
+    private final MessageFormat prototype;
+
+    private MessageTemplate(Locale locale, String[] literals, int[] arguments, MessageFormat prototype) {
+        this.locale = locale;
+        this.literals = literals;
+        this.literalBytes = new byte[literals.length][];
+        for (int i = 0; i < literals.length; i++) {
+            this.literalBytes[i] = literals[i].getBytes(StandardCharsets.UTF_8);
+        }
+        this.arguments = arguments;
+        this.prototype = prototype;
+        int _literalLength = 0;
+        for (String literal : literals) {
+            _literalLength += literal.length();
+        }
+        this.literalLength = _literalLength;
+        this.argumentCount = prototype == null
+                             ? maxArgument(arguments) + 1
+                             : prototype.getFormatsByArgumentIndex().length;
+    }
+
+    /**
+     * 書式を解析してインスタンスを構築します.
+     *
+     * @param pattern メッセージの書式
+     * @param locale 埋め込み文字の書式化に使用するロケール
+     * @return 構築したインスタンス
+     * @throws IllegalArgumentException 書式が不正な場合
+     */
+    public static MessageTemplate of(String pattern, Locale locale) {
+        List<String> _literals = new ArrayList<>();
+        List<Integer> _arguments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        boolean inQuote = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char ch = pattern.charAt(i);
+            if (ch == '\'') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                    literal.append(ch);
+                    i++;
+                } else {
+                    inQuote = !inQuote;
+                }
+                continue;
+            }
+            if (ch != '{' || inQuote) {
+                literal.append(ch);
+                continue;
+            }
+            int end = pattern.indexOf('}', i + 1);
+            int argument = end < 0 ? -1 : toArgument(pattern.substring(i + 1, end));
+            if (argument < 0) {
+                return new MessageTemplate(locale, new String[0], new int[0], new MessageFormat(pattern, locale));
+            }
+            _literals.add(literal.toString());
+            _arguments.add(argument);
+            literal.setLength(0);
+            i = end;
+        }
+        _literals.add(literal.toString());
+        return new MessageTemplate(locale,
+                                   _literals.toArray(new String[_literals.size()]),
+                                   _arguments.stream().mapToInt(Integer::intValue).toArray(),
+                                   null);
+    }
+
+    /**
+     * 埋め込み文字の番号を返却します.
+     *
+     * @param index 波括弧の内側の文字列
+     * @return 書式の指定が無い埋め込み文字の場合は番号. それ以外は-1
+     */
+    private static int toArgument(String index) {
+        if (index.isEmpty() || index.length() > 9) {
+            return -1;
+        }
+        for (int i = 0; i < index.length(); i++) {
+            if (index.charAt(i) < '0' || '9' < index.charAt(i)) {
+                return -1;
+            }
+        }
+        return Integer.parseInt(index);
+    }
+
+    private static int maxArgument(int[] arguments) {
+        int max = -1;
+        for (int argument : arguments) {
+            max = Math.max(max, argument);
+        }
+        return max;
+    }
+
+    /**
+     * 埋め込み文字の数を返却します.
+     * <P>
+     * 埋め込み文字の番号の最大値に1を加えた値です. 同じ番号を複数回使用している場合も1つとして数えます.
+     *
+     * @return 埋め込み文字の数
+     */
+    public int getArgumentCount() {
+        return this.argumentCount;
+    }
+
+    /**
+     * 書式の指定を含まない書式かを判定します.
+     * <P>
+     * 該当する場合は{@link MessageFormat}を使用せず、個数を指定した書式化では埋め込み文字を配列にしません.
+     *
+     * @return 書式の指定を含まない場合はtrue
+     */
+    boolean isPlain() {
+        return this.prototype == null;
+    }
+
+    /**
+     * 埋め込み文字の置換をした文字列を返却します.
+     *
+     * @param params 埋め込み文字
+     * @return 埋め込み文字を置換した文字列
+     */
+    String format(Object... params) {
+        if (this.prototype != null) {
+            MessageFormat messageFormat = (MessageFormat) this.prototype.clone();
+            return messageFormat.format(params);
+        }
+        StringBuilder sb = new StringBuilder(this.literalLength + 16 * this.arguments.length);
+        this.render(sb, params == null ? 0 : params.length, params, null, null, null, null);
+        return sb.toString();
+    }
+
+    /**
+     * 埋め込み文字の置換をした文字列を返却します.
+     * <P>
+     * 埋め込み文字を配列にせずに受け取ります. 書式の指定を含む場合のみ配列に詰め替えて{@link MessageFormat}で書式化します.
+     *
+     * @param count 埋め込み文字の数（0から{@link ResourceCatalog#MAX_FORMAT_ARITY}）
+     * @param param0 埋め込み文字{@literal {0}}
+     * @param param1 埋め込み文字{@literal {1}}
+     * @param param2 埋め込み文字{@literal {2}}
+     * @param param3 埋め込み文字{@literal {3}}
+     * @return 埋め込み文字を置換した文字列
+     */
+    String format(int count, Object param0, Object param1, Object param2, Object param3) {
+        if (this.prototype != null) {
+            return this.format(Arrays.copyOf(new Object[]{param0, param1, param2, param3}, count));
+        }
+        StringBuilder sb = new StringBuilder(this.literalLength + 16 * this.arguments.length);
+        this.render(sb, count, null, param0, param1, param2, param3);
+        return sb.toString();
+    }
+
+    /**
+     * 埋め込み文字の置換をした文字列を追記します.
+     *
+     * @param sb 追記先
+     * @param params 埋め込み文字
+     */
+    void formatTo(StringBuilder sb, Object... params) {
+        if (this.prototype != null) {
+            sb.append(this.format(params));
+            return;
+        }
+        this.render(sb, params == null ? 0 : params.length, params, null, null, null, null);
+    }
+
+    /**
+     * 埋め込み文字の置換をした文字列を追記します.
+     *
+     * @param out 追記先
+     * @param params 埋め込み文字
+     * @throws IOException 追記先への出力に失敗した場合
+     */
+    void appendTo(Appendable out, Object... params) throws IOException {
+        if (this.prototype != null) {
+            out.append(this.format(params));
+            return;
+        }
+        this.renderTo(out, params == null ? 0 : params.length, params, null, null, null, null);
+    }
+
+    /**
+     * 埋め込み文字の置換をした文字列をUTF-8で書き込みます.
+     * <P>
+     * 固定文字列は符号化済みのバイト列を書き込み、埋め込み文字のみ書き込み時に符号化します.
+     *
+     * @param dst 書き込み先
+     * @param params 埋め込み文字
+     * @throws java.nio.BufferOverflowException 書き込み先の残り容量が不足する場合
+     */
+    void writeUtf8(ByteBuffer dst, Object... params) {
+        if (this.prototype != null) {
+            putUtf8(dst, this.format(params));
+            return;
+        }
+        dst.put(this.literalBytes[0]);
+        for (int i = 0; i < this.arguments.length; i++) {
+            int argument = this.arguments[i];
+            if (params == null || argument >= params.length) {
+                putUtf8(dst, "{" + argument + "}");
+            } else {
+                putUtf8(dst, this.toText(params[argument]));
+            }
+            dst.put(this.literalBytes[i + 1]);
+        }
+    }
+
+    /**
+     * 文字列をUTF-8で書き込みます.
+     * <P>
+     * 対になっていないサロゲート文字は{@link String#getBytes(java.nio.charset.Charset)}と同じく'?'に置き換えます.
+     *
+     * @param dst 書き込み先
+     * @param text 書き込む文字列
+     */
+    static void putUtf8(ByteBuffer dst, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch < 0x80) {
+                dst.put((byte) ch);
+            } else if (ch < 0x800) {
+                dst.put((byte) (0xC0 | (ch >> 6)));
+                dst.put((byte) (0x80 | (ch & 0x3F)));
+            } else if (Character.isSurrogate(ch)) {
+                if (Character.isHighSurrogate(ch) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(ch, text.charAt(++i));
+                    dst.put((byte) (0xF0 | (codePoint >> 18)));
+                    dst.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                    dst.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                    dst.put((byte) (0x80 | (codePoint & 0x3F)));
+                } else {
+                    dst.put((byte) '?');
+                }
+            } else {
+                dst.put((byte) (0xE0 | (ch >> 12)));
+                dst.put((byte) (0x80 | ((ch >> 6) & 0x3F)));
+                dst.put((byte) (0x80 | (ch & 0x3F)));
+            }
+        }
+    }
+
+    /**
+     * 固定文字列と埋め込み文字を順に追記します.
+     *
+     * @param sb 追記先
+     * @param count 埋め込み文字の数
+     * @param params 埋め込み文字の配列. 配列にせずに受け取った場合はnull
+     * @param param0 配列にせずに受け取った埋め込み文字{@literal {0}}
+     * @param param1 配列にせずに受け取った埋め込み文字{@literal {1}}
+     * @param param2 配列にせずに受け取った埋め込み文字{@literal {2}}
+     * @param param3 配列にせずに受け取った埋め込み文字{@literal {3}}
+     */
+    private void render(StringBuilder sb, int count, Object[] params, Object param0, Object param1, Object param2, Object param3) {
+        try {
+            this.renderTo(sb, count, params, param0, param1, param2, param3);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void renderTo(Appendable out, int count, Object[] params, Object param0, Object param1, Object param2, Object param3) throws IOException {
+        out.append(this.literals[0]);
+        for (int i = 0; i < this.arguments.length; i++) {
+            int argument = this.arguments[i];
+            if (argument >= count) {
+                out.append('{').append(Integer.toString(argument)).append('}');
+            } else if (params != null) {
+                out.append(this.toText(params[argument]));
+            } else {
+                out.append(this.toText(argument == 0 ? param0 : argument == 1 ? param1 : argument == 2 ? param2 : param3));
+            }
+            out.append(this.literals[i + 1]);
+        }
+    }
+
+    /**
+     * 埋め込み文字を{@link MessageFormat}と同じ規則で文字列に変換します.
+     *
+     * @param param 埋め込み文字
+     * @return 変換した文字列
+     */
+    private String toText(Object param) {
+        if (param == null) {
+            return "null";
+        }
+        if (param instanceof String) {
+            return (String) param;
+        }
+        if (param instanceof Number) {
+            return NumberFormat.getInstance(this.locale).format(param);
+        }
+        if (param instanceof Date) {
+            return DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, this.locale).format(param);
+        }
+        String text = param.toString();
+        return text == null ? "null" : text;
+    }
+}
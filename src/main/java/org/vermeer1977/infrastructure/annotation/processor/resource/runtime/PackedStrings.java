@@ -0,0 +1,347 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * 複数の文字列を1つの文字列に連結して保持するクラスです.
+ * <P>
+ * 各文字列は連結した文字列の中の開始位置（オフセット）の配列で管理し、初回の参照時に切り出して保持します.<br>
+ * 文字列毎のオブジェクトを生成時に作成しないため、参照しない文字列はヒープを消費しません.<br>
+ * 切り出した文字列は不変のため、同時に切り出された場合もいずれかを保持するだけで結果は変わりません.
+ * <P>
+ * 生成したEnumは文字列の長さを{@link #encodeLengths(java.util.List)}、連結した文字列を{@link #encodeSegments(java.util.List)}で編集した文字列リテラルとして保持します.<br>
+ * 文字列リテラルはクラスファイルの定数の上限（65535バイト）を超えないように分割します.
+ *
+ * @author Yamashita,Takahiro
+ */
+public final class PackedStrings implements IndexedStrings {
+
+    /**
+     * 連結した文字列を分割する文字数の上限.
+     * <P>
+     * 1文字は修正UTF-8で最大3バイトのため、分割した文字列リテラルはクラスファイルの定数の上限を超えません.
+     */
+    public static final int MAX_SEGMENT_LENGTH = 16 * 1024;
+
+    private final String pool;
+    private final int[] offsets;
+    private final BitSet nulls;
+    private final String[] strings;
+
+    private PackedStrings(String pool, int[] offsets, BitSet nulls) {
+        this.pool = pool;
+        this.offsets = offsets;
+        this.nulls = nulls;
+        this.strings = new String[offsets.length - 1];
+    }
+
+    /**
+     * 連結せずに保持した文字列の配列から構築します.
+     *
+     * @param strings 文字列の配列
+     */
+    PackedStrings(String[] strings) {
+        this.pool = null;
+        this.offsets = null;
+        this.nulls = null;
+        this.strings = strings;
+    }
+
+    /**
+     * 生成時に連結した文字列から構築します.
+     *
+     * @param lengths {@link #encodeLengths(java.util.List)}で編集した文字列毎の長さ
+     * @param segments {@link #encodeSegments(java.util.List)}で編集した連結した文字列
+     * @return 構築したインスタンス
+     * @throws IllegalArgumentException 文字列毎の長さと連結した文字列の長さが一致しない場合
+     */
+    public static PackedStrings of(String lengths, String... segments) {
+        String _pool = segments.length == 1 ? segments[0] : String.join("", segments);
+        int[] _lengths = decodeInts(lengths);
+        int[] _offsets = new int[_lengths.length + 1];
+        BitSet _nulls = new BitSet(_lengths.length);
+        for (int i = 0; i < _lengths.length; i++) {
+            if (_lengths[i] < 0) {
+                _nulls.set(i);
+            }
+            _offsets[i + 1] = _offsets[i] + Math.max(_lengths[i], 0);
+        }
+        if (_offsets[_lengths.length] != _pool.length()) {
+            throw new IllegalArgumentException("lengths does not match packed strings. " + _offsets[_lengths.length] + " != " + _pool.length());
+        }
+        return new PackedStrings(_pool, _offsets, _nulls.isEmpty() ? null : _nulls);
+    }
+
+    /**
+     * 文字列の数を返却します.
+     *
+     * @return 文字列の数
+     */
+    @Override
+    public int size() {
+        return this.strings.length;
+    }
+
+    /**
+     * 添字に該当する文字列を返却します.
+     * <P>
+     * 初回の参照時に連結した文字列から切り出して保持します. 以降の参照は保持した文字列を返却します.
+     *
+     * @param index 添字
+     * @return 文字列
+     */
+    @Override
+    public String get(int index) {
+        String string = this.strings[index];
+        if (string == null && this.pool != null) {
+            string = this.decode(index);
+            this.strings[index] = string;
+        }
+        return string;
+    }
+
+    /**
+     * 添字に該当する文字列を保持せずに返却します.
+     * <P>
+     * 1度のみ参照する文字列の切り出しに使用します. 切り出し済みの場合は保持した文字列を返却します.
+     *
+     * @param index 添字
+     * @return 文字列
+     */
+    String peek(int index) {
+        String string = this.strings[index];
+        return string == null && this.pool != null ? this.decode(index) : string;
+    }
+
+    /**
+     * 全ての文字列を配列に切り出して返却します.
+     *
+     * @return 全ての文字列の配列
+     */
+    public String[] toArray() {
+        String[] array = new String[this.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = this.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * 文字列が昇順（重複なし）に並んでいるかを返却します.
+     * <P>
+     * 文字列を切り出さずに判定します.
+     *
+     * @return 昇順に並んでいる場合はtrue
+     */
+    boolean isSorted() {
+        for (int i = 1; i < this.size(); i++) {
+            if (this.isNull(i - 1) || this.isNull(i)) {
+                return false;
+            }
+            String decoded = this.strings[i];
+            boolean compared = decoded != null || this.pool == null
+                               ? this.compare(i - 1, decoded, 0, decoded.length()) < 0
+                               : this.compare(i - 1, this.pool, this.offsets[i], this.offsets[i + 1] - this.offsets[i]) < 0;
+            if (compared == false) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 文字列に一致する添字を返却します.
+     * <P>
+     * 昇順に並んでいる場合は二分探索、それ以外は先頭から順に判定します. いずれも文字列を切り出さずに判定します.
+     *
+     * @param string 文字列
+     * @param sorted 昇順に並んでいる場合はtrue
+     * @return 添字. 該当しない場合は-1
+     */
+    int indexOf(String string, boolean sorted) {
+        if (string == null) {
+            return -1;
+        }
+        if (sorted) {
+            int low = 0;
+            int high = this.size() - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int compared = this.compare(mid, string);
+                if (compared < 0) {
+                    low = mid + 1;
+                } else if (compared > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+        for (int i = 0; i < this.size(); i++) {
+            if (this.isNull(i) == false && this.compare(i, string) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isNull(int index) {
+        return this.pool == null ? this.strings[index] == null : this.nulls != null && this.nulls.get(index);
+    }
+
+    private int compare(int index, String other) {
+        return this.compare(index, other, 0, other.length());
+    }
+
+    /**
+     * 添字に該当する文字列と指定した文字列の範囲を辞書順に比較します.
+     * <P>
+     * 切り出し済みの文字列は他のスレッドで更新される場合があるため、参照は1度のみ行います.
+     *
+     * @param index 添字
+     * @param other 比較する文字列
+     * @param otherFrom 比較する範囲の開始位置
+     * @param otherLength 比較する範囲の長さ
+     * @return {@link String#compareTo(java.lang.String)}と同じ比較結果
+     */
+    private int compare(int index, String other, int otherFrom, int otherLength) {
+        String decoded = this.strings[index];
+        boolean isDecoded = decoded != null || this.pool == null;
+        String source = isDecoded ? decoded : this.pool;
+        int from = isDecoded ? 0 : this.offsets[index];
+        int length = isDecoded ? decoded.length() : this.offsets[index + 1] - from;
+        int limit = Math.min(length, otherLength);
+        for (int i = 0; i < limit; i++) {
+            char c1 = source.charAt(from + i);
+            char c2 = other.charAt(otherFrom + i);
+            if (c1 != c2) {
+                return c1 - c2;
+            }
+        }
+        return length - otherLength;
+    }
+
+    private String decode(int index) {
+        if (this.nulls != null && this.nulls.get(index)) {
+            return null;
+        }
+        return this.pool.substring(this.offsets[index], this.offsets[index + 1]);
+    }
+
+    /**
+     * 文字列毎の長さを編集します.
+     * <P>
+     * 長さはカンマ区切りの10進数で編集します. nullは-1で編集します.
+     *
+     * @param strings 連結する文字列
+     * @return 文字列毎の長さ
+     */
+    public static String encodeLengths(List<String> strings) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < strings.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(strings.get(i) == null ? -1 : strings.get(i).length());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 文字列を連結して、{@link #MAX_SEGMENT_LENGTH}以下の文字数に分割します.
+     * <P>
+     * サロゲートペアの途中では分割しません. nullは連結しません.
+     *
+     * @param strings 連結する文字列
+     * @return 連結した文字列を分割した文字列
+     */
+    public static List<String> encodeSegments(List<String> strings) {
+        StringBuilder pool = new StringBuilder();
+        strings.stream().filter(string -> string != null).forEachOrdered(pool::append);
+        List<String> segments = new ArrayList<>();
+        int from = 0;
+        while (from < pool.length() || segments.isEmpty()) {
+            int to = Math.min(from + MAX_SEGMENT_LENGTH, pool.length());
+            if (to < pool.length() && Character.isHighSurrogate(pool.charAt(to - 1))) {
+                to--;
+            }
+            segments.add(pool.substring(from, to));
+            from = to;
+        }
+        return segments;
+    }
+
+    /**
+     * 数値の一覧をカンマ区切りの10進数で編集します.
+     *
+     * @param values 数値の一覧
+     * @return カンマ区切りの10進数
+     */
+    public static String encodeInts(List<Integer> values) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(values.get(i));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * カンマ区切りの10進数を数値の配列に変換します.
+     * <P>
+     * 要素が無い場合（空文字）は空の配列を返却します.
+     *
+     * @param values カンマ区切りの10進数
+     * @return 数値の配列
+     */
+    public static int[] decodeInts(String values) {
+        if (values.isEmpty()) {
+            return new int[0];
+        }
+        int count = 1;
+        for (int i = 0; i < values.length(); i++) {
+            if (values.charAt(i) == ',') {
+                count++;
+            }
+        }
+        int[] result = new int[count];
+        int index = 0;
+        int value = 0;
+        boolean negative = false;
+        for (int i = 0; i < values.length(); i++) {
+            char c = values.charAt(i);
+            if (c == ',') {
+                result[index++] = negative ? -value : value;
+                value = 0;
+                negative = false;
+            } else if (c == '-') {
+                negative = true;
+            } else {
+                value = value * 10 + (c - '0');
+            }
+        }
+        result[index] = negative ? -value : value;
+        return result;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+/**
+ * ロケール単位のキャッシュの参照件数を保持するクラスです.
+ * <P>
+ * 取得時点の件数の複製で、以降の参照により変化しません.
+ *
+ * @author Yamashita,Takahiro
+ */
+public final class ResourceCacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final int size;
+
+    ResourceCacheStats(long hitCount, long missCount, long evictionCount, int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    /**
+     * キャッシュに該当した件数を返却します.
+     *
+     * @return キャッシュに該当した件数
+     */
+    public long hitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * キャッシュに該当せずに解決した件数を返却します.
+     *
+     * @return キャッシュに該当しなかった件数
+     */
+    public long missCount() {
+        return this.missCount;
+    }
+
+    /**
+     * 上限を超えたためキャッシュから破棄した件数を返却します.
+     *
+     * @return キャッシュから破棄した件数
+     */
+    public long evictionCount() {
+        return this.evictionCount;
+    }
+
+    /**
+     * 取得時点でキャッシュしているロケールの数を返却します.
+     *
+     * @return キャッシュしているロケールの数
+     */
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceCacheStats{" + "hitCount=" + this.hitCount + ", missCount=" + this.missCount
+               + ", evictionCount=" + this.evictionCount + ", size=" + this.size + '}';
+    }
+}
@@ -0,0 +1,1593 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.ResourceBundle.Control;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 生成したEnumが参照するリソースの値をロケール単位でキャッシュするクラスです.
+ * <P>
+ * ResourceBundleから取得した値はEnum定数の序数（ordinal）を添字とした配列としてロケール毎に保持します.<br>
+ * 一度解決したロケールはResourceBundleを経由せず、volatileの読み込みと配列の参照のみで値を返却します.
+ * <P>
+ * Locale、Controlを変更した場合はキャッシュを破棄して、次回の参照時に改めて解決します.
+ * <P>
+ * 生成時にロケール毎の値を埋め込んだ場合は、ResourceBundleを使用せずに埋め込んだ値から解決します.<br>
+ * 解決に使用するロケールの候補とFallbackはResourceBundleと同じく{@link java.util.ResourceBundle.Control}に従います.
+ * <P>
+ * 生成時に検出したPropertiesファイルのロケール（対応ロケール）を設定した場合、Controlが未設定であれば対応ロケールの一覧から解決に使用するロケールを判定します.<br>
+ * 同じ対応ロケールに解決されるロケール（例：en_USとen_GB）は、対応ロケールに正規化して解決済みの値を共有します.
+ * 埋め込み文字の書式化には、正規化する前の指定したロケールを使用します.
+ * <P>
+ * 参照したロケール毎のキャッシュは、上限を設定すると最も長く参照していないロケールから破棄します（{@link #setCacheSize(int)}）.
+ * <P>
+ * スレッドのコンテキストクラスローダーから解決する場合（{@link #setUseContextClassLoader(boolean)}）、キャッシュはクラスローダー毎に保持します.<br>
+ * クラスローダーは弱参照で保持するため、再配備で破棄されたクラスローダーとその値を保持し続けることはありません.
+ * <P>
+ * 外部のディレクトリを設定した場合（{@link #setReloadDirectory(java.nio.file.Path)}）、ディレクトリのPropertiesファイルの値を優先して、
+ * ファイルの変更時は再読み込みします. 再読み込みは新しい設定で解決してから設定ごと置き換えるため、参照は待たされず、読み込み途中の値も参照しません.
+ * <P>
+ * テナント毎に一部の値を置き換える場合は、上書き（{@link ResourceOverlay}）を設定してテナントを指定して参照します.
+ * 上書きはテナント毎の不変のインスタンスで、変更はテナントと上書きの対応を複写して置き換えるため、参照は待たされません.
+ * <P>
+ * 解決した値はロケール毎の配列に複写せず、ロケール毎の値（差分）を親となるロケールの値と重ねて保持します.<br>
+ * 生成時に親と同じ値の埋め込みを省略した場合も、親から同じ値を解決します.
+ *
+ * @author Yamashita,Takahiro
+ */
+public class ResourceCatalog {
+
+    /**
+     * 埋め込み文字を配列にせずに受け取る書式化で指定できる埋め込み文字の最大数.
+     */
+    public static final int MAX_FORMAT_ARITY = 4;
+
+    private static final Control DEFAULT_CONTROL = Control.getControl(Control.FORMAT_DEFAULT);
+
+    private final String baseName;
+    private final ClassLoader classLoader;
+    private final PackedStrings keys;
+    private final PackedStrings values;
+    private final boolean sortedKeys;
+    private final ResourceTexts defaults;
+    private final Map<Locale, Supplier<? extends IndexedStrings>> embedded;
+    private final Map<Locale, BitSet> inherited;
+    private final Locale[] supportedLocales;
+    private final int[][] supportedParents;
+    private final Map<Locale, Integer> supportedIndex;
+    private final LongAdder cacheHits;
+    private final LongAdder cacheMisses;
+    private final LongAdder cacheEvictions;
+    private final ResourceMetrics metrics;
+    private Path reloadDirectory;
+    private ResourceReloader reloader;
+    private ScopedResourceLoader controlLoader;
+    private volatile Setting setting;
+    private volatile Map<String, ResourceOverlay> overlays;
+
+    private ResourceCatalog(String baseName, ClassLoader classLoader, PackedStrings keys, PackedStrings values, Map<Locale, Supplier<? extends IndexedStrings>> embedded,
+                            Map<Locale, BitSet> inherited, Locale[] supportedLocales, int[][] supportedParents, String metricsName, boolean metricsPerConstant) {
+        this.baseName = baseName;
+        this.classLoader = classLoader;
+        this.keys = keys;
+        this.values = values;
+        this.sortedKeys = keys.isSorted();
+        this.defaults = new ResourceTexts(values, null);
+        this.embedded = embedded;
+        this.inherited = inherited;
+        this.supportedLocales = supportedLocales;
+        this.supportedParents = supportedParents;
+        Map<Locale, Integer> _supportedIndex = new HashMap<>();
+        for (int i = 0; i < supportedLocales.length; i++) {
+            _supportedIndex.put(supportedLocales[i], i);
+        }
+        this.supportedIndex = Collections.unmodifiableMap(_supportedIndex);
+        this.cacheHits = new LongAdder();
+        this.cacheMisses = new LongAdder();
+        this.cacheEvictions = new LongAdder();
+        this.setting = new Setting(null, null, 0, false, classLoader, null);
+        this.overlays = Collections.emptyMap();
+        this.metrics = metricsName == null ? null : new ResourceMetrics(this, metricsName, classLoader, metricsPerConstant);
+    }
+
+    /**
+     * 必須項目の設定
+     *
+     * @param <E> 生成したEnumの型
+     * @param enumClass 生成したEnumのクラス（必須）
+     * @param baseName リソースバンドルのBaseName（必須）
+     * @return builderクラス
+     */
+    public static <E extends Enum<E>> Builder<E> of(Class<E> enumClass, String baseName) {
+        return new ResourceCatalog.Builder<>(enumClass, baseName);
+    }
+
+    /**
+     * 必須項目の設定
+     * <P>
+     * 定数の多いリソースでEnumの代わりに生成したクラスに使用します. 定数の一覧を取得できないため、keyと値は連結して設定します（{@link Builder#entries(PackedStrings, PackedStrings)}）.
+     *
+     * @param <T> 生成したクラスの型
+     * @param constantClass 生成したクラス（必須）
+     * @param baseName リソースバンドルのBaseName（必須）
+     * @return builderクラス
+     */
+    public static <T> Builder<T> ofClass(Class<T> constantClass, String baseName) {
+        return new ResourceCatalog.Builder<>(constantClass, baseName);
+    }
+
+    /**
+     * ResourceBundleから値を取得する際に使用するLocaleを設定します.
+     * <P>
+     * 未設定（null）の場合、{@link ResourceContext}に設定したロケール、デフォルトロケールの順で処理します.<br>
+     * {@link ResourceContext}に{@link LocaleProvider}を設定している場合は、{@link LocaleProvider}が返却するロケールを優先します.
+     *
+     * @param locale ロケール
+     */
+    public synchronized void setLocale(Locale locale) {
+        this.setting = new Setting(locale, this.setting.control, this.setting.cacheSize, this.setting.contextual, this.classLoader, this.setting.reloading);
+    }
+
+    /**
+     * ResourceBundleから値を取得する際に使用するControlを設定します.
+     * <P>
+     * 未設定（null）の場合、ResourceBundleのデフォルトで処理します. 設定を変更した場合、キャッシュは破棄します.<br>
+     * ResourceBundle自身のキャッシュはControlを区別しないため、Controlを設定した場合はカタログ専用のクラスローダーを経由して解決して、
+     * キャッシュを他のResourceBundleと分けて保持します（{@link ScopedResourceLoader}）. 変更時に破棄するResourceBundleのキャッシュは当該クラスローダーの分のみで、
+     * 同じクラスローダーで解決した他のResourceBundleのキャッシュは破棄しません.
+     *
+     * @param control {@link java.util.ResourceBundle.Control}または、そのインターフェースを実装したクラス
+     */
+    public synchronized void setControl(Control control) {
+        Setting current = this.setting;
+        this.controlLoader = control == null ? null : new ScopedResourceLoader(this.classLoader);
+        this.setting = new Setting(current.locale, control, current.cacheSize, current.contextual, this.classLoader, current.reloading);
+        current.clearScopedCache();
+        if (current.reloading != null) {
+            ResourceBundle.clearCache(current.reloading);
+        }
+    }
+
+    /**
+     * 参照したロケール毎のキャッシュに保持するロケールの上限を設定します.
+     * <P>
+     * 0以下の場合は上限なしです（デフォルト）. 上限を超えた場合は最も長く参照していないロケールを破棄して、次回の参照時に改めて解決します.<br>
+     * 値は対応ロケール、または解決したResourceBundleのロケールに正規化して共有するため、破棄したロケールの再解決は値の参照のみです.<br>
+     * キャッシュはロケールを指定した書式化のため参照したロケール毎に保持しますが、書式を保持する配列は当該ロケールで書式化するまで作成しません.
+     * 設定を変更した場合、キャッシュは破棄します.
+     *
+     * @param cacheSize 保持するロケールの上限
+     */
+    public synchronized void setCacheSize(int cacheSize) {
+        this.setting = new Setting(this.setting.locale, this.setting.control, cacheSize, this.setting.contextual, this.classLoader, this.setting.reloading);
+    }
+
+    /**
+     * ResourceBundleから値を取得する際に、参照したスレッドのコンテキストクラスローダーを使用するかを設定します.
+     * <P>
+     * 未設定の場合は生成したEnumのクラスローダーを使用します. アプリケーションサーバーの共有ライブラリに配置したEnumから、
+     * アプリケーション毎のPropertiesファイルを参照する場合に使用します.<br>
+     * 解決した値はクラスローダー毎にキャッシュして、クラスローダーは弱参照で保持します. 再配備したアプリケーションは新しいクラスローダーで改めて解決します.<br>
+     * クラスローダー毎のキャッシュは初回のみ排他して作成し、以降の参照は排他しません.
+     * Enumのクラスローダー以外から解決する場合、生成時に検出した対応ロケールは使用しません.
+     * ロケール毎の値を埋め込んだ場合はResourceBundleを使用しないため、設定は影響しません. 設定を変更した場合、キャッシュは破棄します.
+     *
+     * @param useContextClassLoader コンテキストクラスローダーを使用する場合はtrue
+     */
+    public synchronized void setUseContextClassLoader(boolean useContextClassLoader) {
+        this.setting = new Setting(this.setting.locale, this.setting.control, this.setting.cacheSize, useContextClassLoader, this.classLoader, this.setting.reloading);
+    }
+
+    /**
+     * 値を優先して参照する外部のディレクトリを設定して、ディレクトリの監視を開始します.
+     * <P>
+     * ディレクトリにはPropertiesファイル（例：message_ja.properties）をパッケージのディレクトリを作成せずに配置します.
+     * ロケール毎にディレクトリのファイルをパッケージ内のファイルより優先して、ResourceBundleと同じく解決します.
+     * 解決できなかったkeyは設定前と同じく解決します. 生成時に値を埋め込んだ場合もディレクトリのファイルの値を優先します.<br>
+     * ファイルの作成、変更、削除を検知した場合は{@link #reload()}で再読み込みします. 解析できないファイルの場合は再読み込みせず、読み込み済みの値を使用し続けます.<br>
+     * nullを設定した場合は監視を終了して、ディレクトリを参照しない設定に戻します.
+     *
+     * @param directory Propertiesファイルを配置したディレクトリ
+     * @throws UncheckedIOException ディレクトリの監視を開始できない場合
+     */
+    public synchronized void setReloadDirectory(Path directory) {
+        if (this.reloader != null) {
+            try {
+                this.reloader.close();
+            } catch (IOException ex) {
+                // 監視の終了に失敗した場合も、以降の再読み込みは行いません.
+            }
+            this.reloader = null;
+        }
+        this.reloadDirectory = directory;
+        if (directory == null) {
+            this.swap(null);
+            return;
+        }
+        try {
+            this.reloader = new ResourceReloader(directory, this.baseName.substring(this.baseName.lastIndexOf('.') + 1), this::reload);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        this.reload();
+    }
+
+    /**
+     * 外部のディレクトリのPropertiesファイルを再読み込みします.
+     * <P>
+     * 新しい設定で参照済みのロケールを解決してから、設定ごと置き換えます. 解決中も参照は置き換える前の設定で行うため、待たされません.<br>
+     * 解決に失敗した場合は置き換えません. ディレクトリを設定していない場合は何もしません.
+     */
+    public synchronized void reload() {
+        if (this.reloadDirectory == null) {
+            return;
+        }
+        this.swap(new DirectoryResourceLoader(this.reloadDirectory, this.baseName));
+    }
+
+    /**
+     * 値を優先して参照するクラスローダーを置き換えた設定で参照済みのロケールを解決して、設定を置き換えます.
+     *
+     * @param reloading 値を優先して参照するクラスローダー. 参照しない場合はnull
+     */
+    private void swap(DirectoryResourceLoader reloading) {
+        Setting current = this.setting;
+        Setting next = new Setting(current.locale, current.control, current.cacheSize, current.contextual, this.classLoader, reloading);
+        for (Locale locale : current.tables.locales()) {
+            this.getTable(next, locale);
+        }
+        this.setting = next;
+        if (current.reloading != null) {
+            ResourceBundle.clearCache(current.reloading);
+        }
+    }
+
+    /**
+     * テナントの上書きを設定します.
+     * <P>
+     * テナントと上書きの対応を複写して置き換えるため、設定中も参照は待たされません. nullを設定した場合はテナントの上書きを解除します.
+     *
+     * @param tenant テナント
+     * @param overlay 上書き
+     * @throws IllegalArgumentException 上書きが他のカタログに対して作成したものである場合
+     */
+    public synchronized void setOverlay(String tenant, ResourceOverlay overlay) {
+        if (overlay != null && overlay.getCatalog() != this) {
+            throw new IllegalArgumentException("overlay is not created for this catalog. tenant = " + tenant);
+        }
+        Map<String, ResourceOverlay> _overlays = new HashMap<>(this.overlays);
+        if (overlay == null) {
+            _overlays.remove(tenant);
+        } else {
+            _overlays.put(tenant, overlay);
+        }
+        this.overlays = Collections.unmodifiableMap(_overlays);
+    }
+
+    /**
+     * 参照したロケール毎のキャッシュの参照件数を返却します.
+     * <P>
+     * 件数はロケールを指定した参照と、現在の設定に該当するロケールが変わった際の参照を数えます.
+     * 現在の設定に該当するロケールが変わらない間の参照は数えません. 件数は設定を変更しても累積します.
+     *
+     * @return キャッシュの参照件数
+     */
+    public ResourceCacheStats cacheStats() {
+        Setting _setting = this.setting;
+        int size = _setting.tables.size();
+        for (Setting loaderSetting : _setting.loaderSettings) {
+            size += loaderSetting.tables.size();
+        }
+        return new ResourceCacheStats(this.cacheHits.sum(), this.cacheMisses.sum(), this.cacheEvictions.sum(), size);
+    }
+
+    /**
+     * リソースの値の参照件数を返却します.
+     * <P>
+     * 件数は{@link Builder#metrics(boolean)}を指定した場合のみ数えます.
+     *
+     * @return 参照件数. 数えない場合はnull
+     */
+    public ResourceMetrics metrics() {
+        return this.metrics;
+    }
+
+    /**
+     * リソースのkeyに該当するEnum定数の序数を返却します.
+     * <P>
+     * 生成したEnumは定数をkeyの昇順に定義しているため、二分探索で判定します. 昇順でない場合は先頭から順に判定します.<br>
+     * keyを連結して保持している場合も、keyを切り出さずに判定します.
+     *
+     * @param key リソースのkey
+     * @return Enum定数の序数. 該当しない場合は負の値
+     */
+    public int indexOfKey(String key) {
+        return this.keys.indexOf(key, this.sortedKeys);
+    }
+
+    /**
+     * 序数に該当するEnum定数のリソースのkeyを返却します.
+     * <P>
+     * keyを連結して保持している場合は、初回の参照時に切り出して保持します.
+     *
+     * @param ordinal Enum定数の序数
+     * @return リソースのkey
+     */
+    public String keyOf(int ordinal) {
+        return this.keys.get(ordinal);
+    }
+
+    /**
+     * 序数に該当するリソースの値を返却します.
+     *
+     * @param ordinal Enum定数の序数
+     * @return リソースの値
+     */
+    public String getString(int ordinal) {
+        ResourceTable table = this.getTable();
+        return this.metrics == null ? table.getString(ordinal) : this.metrics.lookup(table, ordinal);
+    }
+
+    /**
+     * 序数に該当するリソースの値の埋め込み文字を置換した文字列を返却します.
+     * <P>
+     * 解析済みの書式を定数とロケールの単位でキャッシュするため、書式の解析は初回のみ行います.<br>
+     * 埋め込み文字の書式化にはリソースの値の解決に使用したロケールを使用します.
+     *
+     * @param ordinal Enum定数の序数
+     * @param params 埋め込み文字
+     * @return 埋め込み文字を置換した文字列
+     */
+    public String format(int ordinal, Object... params) {
+        ResourceTable table = this.getTable();
+        if (this.metrics == null) {
+            return table.format(ordinal, params);
+        }
+        long start = this.metrics.beginFormat(table, ordinal);
+        try {
+            return table.format(ordinal, params);
+        } finally {
+            this.metrics.endFormat(start);
+        }
+    }
+
+    /**
+     * 埋め込み文字が1つのリソースの値の埋め込み文字を置換した文字列を返却します.
+     * <P>
+     * 埋め込み文字の配列を生成せずに書式化します. 書式化の結果は{@link #format(int, java.lang.Object...)}と同じです.
+     *
+     * @param ordinal Enum定数の序数
+     * @param param0 埋め込み文字{@literal {0}}
+     * @return 埋め込み文字を置換した文字列
+     */
+    public String format(int ordinal, Object param0) {
+        ResourceTable table = this.getTable();
+        if (this.metrics == null) {
+            return table.format(ordinal, 1, param0, null, null, null);
+        }
+        long start = this.metrics.beginFormat(table, ordinal);
+        try {
+            return table.format(ordinal, 1, param0, null, null, null);
+        } finally {
+            this.metrics.endFormat(start);
+        }
+    }
+
+    /**
+     * 埋め込み文字が2つのリソースの値の埋め込み文字を置換した文字列を返却します.
+     *
+     * @param ordinal Enum定数の序数
+     * @param param0 埋め込み文字{@literal {0}}
+     * @param param1 埋め込み文字{@literal {1}}
+     * @return 埋め込み文字を置換した文字列
+     * @see #format(int, java.lang.Object)
+     */
+    public String format(int ordinal, Object param0, Object param1) {
+        ResourceTable table = this.getTable();
+        if (this.metrics == null) {
+            return table.format(ordinal, 2, param0, param1, null, null);
+        }
+        long start = this.metrics.beginFormat(table, ordinal);
+        try {
+            return table.format(ordinal, 2, param0, param1, null, null);
+        } finally {
+            this.metrics.endFormat(start);
+        }
+    }
+
+    /**
+     * 埋め込み文字が3つのリソースの値の埋め込み文字を置換した文字列を返却します.
+     *
+     * @param ordinal Enum定数の序数
+     * @param param0 埋め込み文字{@literal {0}}
+     * @param param1 埋め込み文字{@literal {1}}
+     * @param param2 埋め込み文字{@literal {2}}
+     * @return 埋め込み文字を置換した文字列
+     * @see #format(int, java.lang.Object)
+     */
+    public String format(int ordinal, Object param0, Object param1, Object param2) {
+        ResourceTable table = this.getTable();
+        if (this.metrics == null) {
+            return table.format(ordinal, 3, param0, param1, param2, null);
+        }
+        long start = this.metrics.beginFormat(table, ordinal);
+        try {
+            return table.format(ordinal, 3, param0, param1, param2, null);
+        } finally {
+            this.metrics.endFormat(start);
+        }
+    }
+
+    /**
+     * 埋め込み文字が4つのリソースの値の埋め込み文字を置換した文字列を返却します.
+     *
+     * @param ordinal Enum定数の序数
+     * @param param0 埋め込み文字{@literal {0}}
+     * @param param1 埋め込み文字{@literal {1}}
+     * @param param2 埋め込み文字{@literal {2}}
+     * @param param3 埋め込み文字{@literal {3}}
+     * @return 埋め込み文字を置換した文字列
+     * @see #format(int, java.lang.Object)
+     */
+    public String format(int ordinal, Object param0, Object param1, Object param2, Object param3) {
+        ResourceTable table = this.getTable();
+        if (this.metrics == null) {
+            return table.format(ordinal, 4, param0, param1, param2, param3);
+        }
+        long start = this.metrics.beginFormat(table, ordinal);
+        try {
+            return table.format(ordinal, 4, param0, param1, param2, param3);
+        } finally {
+            this.metrics.endFormat(start);
+        }
+    }
+
+    /**
+     * 指定したロケールの序数に該当するリソースの値を返却します.
+     * <P>
+     * 設定したロケール（{@link #setLocale(java.util.Locale)}）を参照も変更もしないため、リクエスト毎にロケールが異なる場合に使用します.<br>
+     * 解決した値は設定したロケールと同じキャッシュに保持します. ロケールがnullの場合は{@link #getString(int)}と同じです.
+     *
+     * @param ordinal Enum定数の序数
+     * @param locale ロケール
+     * @return リソースの値
+     */
+    public String getString(int ordinal, Locale locale) {
+        ResourceTable table = this.getTable(locale);
+        return this.metrics == null ? table.getString(ordinal) : this.metrics.lookup(table, ordinal);
+    }
+
+    /**
+     * 指定したロケールの序数に該当するリソースの値の埋め込み文字を置換した文字列を返却します.
+     *
+     * @param ordinal Enum定数の序数
+     * @param locale ロケール
+     * @param params 埋め込み文字
+     * @return 埋め込み文字を置換した文字列
+     * @see #getString(int, java.util.Locale)
+     */
+    public String format(int ordinal, Locale locale, Object... params) {
+        ResourceTable table = this.getTable(locale);
+        if (this.metrics == null) {
+            return table.format(ordinal, params);
+        }
+        long start = this.metrics.beginFormat(table, ordinal);
+        try {
+            return table.format(ordinal, params);
+        } finally {
+            this.metrics.endFormat(start);
+        }
+    }
+
+    /**
+     * テナントの上書きを重ねて、指定したロケールの序数に該当するリソースの値を返却します.
+     * <P>
+     * テナントの上書きが無い場合は{@link #getString(int, java.util.Locale)}と同じです.
+     *
+     * @param tenant テナント
+     * @param ordinal Enum定数の序数
+     * @param locale ロケール. 現在の設定に該当するロケールを使用する場合はnull
+     * @return リソースの値
+     */
+    public String getString(String tenant, int ordinal, Locale locale) {
+        ResourceTable table = this.getTable(tenant, locale);
+        return this.metrics == null ? table.getString(ordinal) : this.metrics.lookup(table, ordinal);
+    }
+
+    /**
+     * テナントの上書きを重ねて、指定したロケールの序数に該当するリソースの値の埋め込み文字を置換した文字列を返却します.
+     *
+     * @param tenant テナント
+     * @param ordinal Enum定数の序数
+     * @param locale ロケール. 現在の設定に該当するロケールを使用する場合はnull
+     * @param params 埋め込み文字
+     * @return 埋め込み文字を置換した文字列
+     * @see #getString(java.lang.String, int, java.util.Locale)
+     */
+    public String format(String tenant, int ordinal, Locale locale, Object... params) {
+        ResourceTable table = this.getTable(tenant, locale);
+        if (this.metrics == null) {
+            return table.format(ordinal, params);
+        }
+        long start = this.metrics.beginFormat(table, ordinal);
+        try {
+            return table.format(ordinal, params);
+        } finally {
+            this.metrics.endFormat(start);
+        }
+    }
+
+    /**
+     * 指定したロケールの埋め込み文字が1つのリソースの値の埋め込み文字を置換した文字列を返却します.
+     * <P>
+     * 埋め込み文字の配列を生成せずに書式化します.<br>
+     * 先頭の引数の型がLocaleの場合（nullのリテラルを含む）はロケールを指定した書式化になります. nullを先頭の埋め込み文字とする場合はObjectにキャストしてください.
+     *
+     * @param ordinal Enum定数の序数
+     * @param locale ロケール
+     * @param param0 埋め込み文字{@literal {0}}
+     * @return 埋め込み文字を置換した文字列
+     * @see #getString(int, java.util.Locale)
+     */
+    public String format(int ordinal, Locale locale, Object param0) {
+        ResourceTable table = this.getTable(locale);
+        if (this.metrics == null) {
+            return table.format(ordinal, 1, param0, null, null, null);
+        }
+        long start = this.metrics.beginFormat(table, ordinal);
+        try {
+            return table.format(ordinal, 1, param0, null, null, null);
+        } finally {
+            this.metrics.endFormat(start);
+        }
+    }
+
+    /**
+     * 指定したロケールの埋め込み文字が2つのリソースの値の埋め込み文字を置換した文字列を返却します.
+     *
+     * @param ordinal Enum定数の序数
+     * @param locale ロケール
+     * @param param0 埋め込み文字{@literal {0}}
+     * @param param1 埋め込み文字{@literal {1}}
+     * @return 埋め込み文字を置換した文字列
+     * @see #format(int, java.util.Locale, java.lang.Object)
+     */
+    public String format(int ordinal, Locale locale, Object param0, Object param1) {
+        ResourceTable table = this.getTable(locale);
+        if (this.metrics == null) {
+            return table.format(ordinal, 2, param0, param1, null, null);
+        }
+        long start = this.metrics.beginFormat(table, ordinal);
+        try {
+            return table.format(ordinal, 2, param0, param1, null, null);
+        } finally {
+            this.metrics.endFormat(start);
+        }
+    }
+
+    /**
+     * 指定したロケールの埋め込み文字が3つのリソースの値の埋め込み文字を置換した文字列を返却します.
+     *
+     * @param ordinal Enum定数の序数
+     * @param locale ロケール
+     * @param param0 埋め込み文字{@literal {0}}
+     * @param param1 埋め込み文字{@literal {1}}
+     * @param param2 埋め込み文字{@literal {2}}
+     * @return 埋め込み文字を置換した文字列
+     * @see #format(int, java.util.Locale, java.lang.Object)
+     */
+    public String format(int ordinal, Locale locale, Object param0, Object param1, Object param2) {
+        ResourceTable table = this.getTable(locale);
+        if (this.metrics == null) {
+            return table.format(ordinal, 3, param0, param1, param2, null);
+        }
+        long start = this.metrics.beginFormat(table, ordinal);
+        try {
+            return table.format(ordinal, 3, param0, param1, param2, null);
+        } finally {
+            this.metrics.endFormat(start);
+        }
+    }
+
+    /**
+     * 指定したロケールの埋め込み文字が4つのリソースの値の埋め込み文字を置換した文字列を返却します.
+     *
+     * @param ordinal Enum定数の序数
+     * @param locale ロケール
+     * @param param0 埋め込み文字{@literal {0}}
+     * @param param1 埋め込み文字{@literal {1}}
+     * @param param2 埋め込み文字{@literal {2}}
+     * @param param3 埋め込み文字{@literal {3}}
+     * @return 埋め込み文字を置換した文字列
+     * @see #format(int, java.util.Locale, java.lang.Object)
+     */
+    public String format(int ordinal, Locale locale, Object param0, Object param1, Object param2, Object param3) {
+        ResourceTable table = this.getTable(locale);
+        if (this.metrics == null) {
+            return table.format(ordinal, 4, param0, param1, param2, param3);
+        }
+        long start = this.metrics.beginFormat(table, ordinal);
+        try {
+            return table.format(ordinal, 4, param0, param1, param2, param3);
+        } finally {
+            this.metrics.endFormat(start);
+        }
+    }
+
+    /**
+     * 序数に該当するリソースの値の書式化を、文字列の参照時まで遅延するメッセージを返却します.
+     * <P>
+     * 出力しないログレベルのログに渡した場合は書式化しません.
+     *
+     * @param ordinal Enum定数の序数
+     * @param params 埋め込み文字
+     * @return 書式化を遅延するメッセージ
+     * @see DeferredMessage
+     */
+    public DeferredMessage defer(int ordinal, Object... params) {
+        return new DeferredMessage(this, ordinal, null, params);
+    }
+
+    /**
+     * 指定したロケールの序数に該当するリソースの値の書式化を、文字列の参照時まで遅延するメッセージを返却します.
+     *
+     * @param ordinal Enum定数の序数
+     * @param locale ロケール
+     * @param params 埋め込み文字
+     * @return 書式化を遅延するメッセージ
+     * @see #defer(int, java.lang.Object...)
+     */
+    public DeferredMessage defer(int ordinal, Locale locale, Object... params) {
+        return new DeferredMessage(this, ordinal, locale, params);
+    }
+
+    /**
+     * 序数に該当するリソースの値の埋め込み文字を置換した文字列を追記します.
+     * <P>
+     * 書式化した文字列を生成せずに、固定文字列と埋め込み文字を追記先へ直接追記します.
+     *
+     * @param ordinal Enum定数の序数
+     * @param sb 追記先
+     * @param params 埋め込み文字
+     * @return 追記先
+     */
+    public StringBuilder formatTo(int ordinal, StringBuilder sb, Object... params) {
+        this.getTable().formatTo(ordinal, sb, params);
+        return sb;
+    }
+
+    /**
+     * 序数に該当するリソースの値の埋め込み文字を置換した文字列を追記します.
+     *
+     * @param <A> 追記先の型
+     * @param ordinal Enum定数の序数
+     * @param out 追記先
+     * @param params 埋め込み文字
+     * @return 追記先
+     * @throws IOException 追記先への出力に失敗した場合
+     * @see #formatTo(int, java.lang.StringBuilder, java.lang.Object...)
+     */
+    public <A extends Appendable> A appendTo(int ordinal, A out, Object... params) throws IOException {
+        this.getTable().appendTo(ordinal, out, params);
+        return out;
+    }
+
+    /**
+     * 序数に該当するリソースの値の埋め込み文字を置換した文字列をUTF-8で書き込みます.
+     * <P>
+     * 固定文字列はロケール毎に符号化済みのバイト列を書き込み、埋め込み文字のみ書き込み時に符号化します.<br>
+     * 書き込み先の残り容量が不足する場合は{@link java.nio.BufferOverflowException}をスローします. その場合、書き込み先の位置は不定です.
+     *
+     * @param ordinal Enum定数の序数
+     * @param dst 書き込み先
+     * @param params 埋め込み文字
+     * @return 書き込み先
+     */
+    public ByteBuffer writeUtf8(int ordinal, ByteBuffer dst, Object... params) {
+        this.getTable().writeUtf8(ordinal, dst, params);
+        return dst;
+    }
+
+    /**
+     * 序数に該当するリソースの値をUTF-8で符号化した読み取り専用のバッファを返却します.
+     * <P>
+     * 符号化したバイト列はロケール単位で共有し、返却するバッファは参照の都度作成します（バイト列の複写はしません）.
+     *
+     * @param ordinal Enum定数の序数
+     * @return リソースの値をUTF-8で符号化したバッファ
+     */
+    public ByteBuffer toUtf8(int ordinal) {
+        return this.getTable().toUtf8(ordinal);
+    }
+
+    /**
+     * 現在の設定に該当するロケールのリソースの値の文字数の最大値を返却します.
+     * <P>
+     * 書式化した文字列のうち、埋め込み文字を置換した値を除く部分の文字数の上限です. 追記先の初期容量の見積もりに使用します.
+     *
+     * @return リソースの値の文字数の最大値
+     */
+    public int maxLength() {
+        return this.getTable().maxLength();
+    }
+
+    /**
+     * 指定したロケールのリソースの値の文字数の最大値を返却します.
+     *
+     * @param locale ロケール
+     * @return リソースの値の文字数の最大値
+     * @see #maxLength()
+     */
+    public int maxLength(Locale locale) {
+        return this.getTable(locale).maxLength();
+    }
+
+    /**
+     * 指定したロケールの全てのkeyと値の変更不可のマップを返却します.
+     * <P>
+     * マップはロケール毎の解決済みテーブルに保持するため、作成はロケール毎の初回のみです. マップはEnum定数の序数順に列挙します.<br>
+     * ロケールがnullの場合は現在の設定に該当するロケールのマップを返却します.
+     *
+     * @param locale ロケール
+     * @return keyと値のマップ
+     */
+    public Map<String, String> snapshot(Locale locale) {
+        return this.getTable(locale).snapshot(this.keys);
+    }
+
+    /**
+     * 指定したロケールの全てのkeyと値を、JSONのオブジェクトとしてUTF-8で符号化した読み取り専用のバッファを返却します.
+     * <P>
+     * 符号化したバイト列はロケール毎の解決済みテーブルに保持するため、作成はロケール毎の初回のみです. 返却するバッファは参照の都度作成します.
+     *
+     * @param locale ロケール
+     * @return JSONのオブジェクトを符号化したバッファ
+     * @see #snapshot(java.util.Locale)
+     */
+    public ByteBuffer snapshotJson(Locale locale) {
+        return this.getTable(locale).snapshotJson(this.keys);
+    }
+
+    /**
+     * 指定したロケール毎の全てのkeyと値の変更不可のマップを並列に作成して返却します.
+     * <P>
+     * 作成はForkJoinPoolの共通プールで並列に行い、全てのロケールの作成が完了するまで待機します. 作成済みのロケールは保持したマップを返却します.
+     *
+     * @param locales ロケール
+     * @return 指定した順のロケールとマップ
+     * @see #snapshot(java.util.Locale)
+     */
+    public Map<Locale, Map<String, String>> snapshots(Locale... locales) {
+        List<Map<String, String>> snapshots = Arrays.stream(locales).parallel().map(this::snapshot).collect(Collectors.toList());
+        Map<Locale, Map<String, String>> result = new LinkedHashMap<>();
+        for (int i = 0; i < locales.length; i++) {
+            result.put(locales[i], snapshots.get(i));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * 指定したロケールのテーブルを並列に解決します.
+     * <P>
+     * 起動時などに呼び出して、初回の参照時の解決と書式の解析を事前に行います.<br>
+     * 解決はForkJoinPoolの共通プールで並列に行い、全てのロケールの解決が完了するまで待機します.<br>
+     * 解決したテーブルは参照時と同じキャッシュに保持します. ロケールにnullを含む場合は現在の設定に該当するテーブルを解決します.
+     *
+     * @param locales ロケール
+     */
+    public void preload(Locale... locales) {
+        Arrays.stream(locales).parallel().forEach(locale -> this.getTable(locale).preload());
+    }
+
+    /**
+     * 解決できる全てのロケールのテーブルを並列に解決します.
+     * <P>
+     * 対応ロケールの一覧がある場合は全ての対応ロケール、生成時にロケール毎の値を埋め込んだ場合は埋め込んだ全てのロケール、
+     * それ以外は現在の設定に該当するロケールを解決します.
+     *
+     * @see #preload(java.util.Locale...)
+     */
+    public void preloadAll() {
+        if (this.supportedLocales.length > 0) {
+            this.preload(this.supportedLocales.clone());
+            return;
+        }
+        if (this.embedded.isEmpty()) {
+            this.preload((Locale) null);
+            return;
+        }
+        this.preload(this.embedded.keySet().toArray(new Locale[0]));
+    }
+
+    /**
+     * 生成時に検出したPropertiesファイルのロケール（対応ロケール）の一覧を返却します.
+     *
+     * @return 対応ロケールの一覧. 生成時に検出していない場合は空のリスト
+     */
+    public List<Locale> supportedLocales() {
+        return Collections.unmodifiableList(Arrays.asList(this.supportedLocales));
+    }
+
+    /**
+     * 現在の設定に該当するロケールの解決済みテーブルを返却します.
+     * <P>
+     * 使用するロケールの優先順は{@link ResourceContext}を参照してください.<br>
+     * 直前に参照したロケールと一致する場合はキャッシュを参照せずに返却します.
+     * 処理単位のロケールは処理毎に異なるため、直前に参照したテーブルの更新はしません.
+     *
+     * @return 解決済みテーブル
+     */
+    ResourceTable getTable() {
+        Setting _setting = this.getSetting();
+        Locale scoped = ResourceContext.scopedLocale();
+        if (scoped != null) {
+            return this.getTable(_setting, scoped);
+        }
+        Locale _locale = _setting.locale == null ? ResourceContext.defaultLocale() : _setting.locale;
+        Current _current = _setting.current;
+        if (_current != null && _current.locale == _locale) {
+            return _current.table;
+        }
+        ResourceTable table = this.getTable(_setting, _locale);
+        _setting.current = new Current(_locale, table);
+        return table;
+    }
+
+    /**
+     * 指定したロケールの解決済みテーブルを返却します.
+     * <P>
+     * 直前に参照したテーブルは更新しません. ロケールがnullの場合は現在の設定に該当するテーブルを返却します.
+     *
+     * @param locale ロケール
+     * @return 解決済みテーブル
+     */
+    ResourceTable getTable(Locale locale) {
+        if (locale == null) {
+            return this.getTable();
+        }
+        return this.getTable(this.getSetting(), locale);
+    }
+
+    /**
+     * テナントの上書きを重ねた解決済みテーブルを返却します.
+     *
+     * @param tenant テナント
+     * @param locale ロケール. 現在の設定に該当するロケールを使用する場合はnull
+     * @return 解決済みテーブル
+     */
+    private ResourceTable getTable(String tenant, Locale locale) {
+        ResourceTable table = this.getTable(locale);
+        ResourceOverlay overlay = tenant == null ? null : this.overlays.get(tenant);
+        return overlay == null ? table : overlay.apply(table);
+    }
+
+    /**
+     * 値の数を返却します.
+     *
+     * @return 値の数
+     */
+    int size() {
+        return this.values.size();
+    }
+
+    /**
+     * 現在の設定を返却します.
+     * <P>
+     * コンテキストクラスローダーを使用する場合は、コンテキストクラスローダー毎の設定を返却します.
+     *
+     * @return 現在の設定
+     */
+    private Setting getSetting() {
+        Setting _setting = this.setting;
+        if (_setting.contextual == false || this.embedded.isEmpty() == false) {
+            return _setting;
+        }
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader == null || loader == this.classLoader) {
+            return _setting;
+        }
+        return _setting.forClassLoader(loader);
+    }
+
+    private ResourceTable getTable(Setting _setting, Locale locale) {
+        return _setting.tables.get(locale, l -> this.load(l, _setting));
+    }
+
+    /**
+     * 値を解決してテーブルを作成します.
+     * <P>
+     * 外部のディレクトリを設定した場合は、ディレクトリのPropertiesファイルを優先して解決した値を、設定しない場合に解決した値に重ねます.
+     *
+     * @param locale ロケール
+     * @param _setting 解決に使用する設定
+     * @return 作成したテーブル
+     */
+    private ResourceTable load(Locale locale, Setting _setting) {
+        ResourceTable table = this.resolve(locale, _setting);
+        if (_setting.reloading == null) {
+            return table;
+        }
+        String[] texts = this.readBundle(locale, _setting.control, _setting.reloading);
+        return new ResourceTable(locale, new ResourceTexts(new PackedStrings(texts), table.getTexts()));
+    }
+
+    /**
+     * パッケージ内のPropertiesファイル、または埋め込んだ値から解決してテーブルを作成します.
+     * <P>
+     * Controlが未設定で対応ロケールの一覧がある場合は、対応ロケールの一覧から解決に使用するロケールを判定して、
+     * 当該ロケールで解決した値を同じロケールに解決される全てのロケールで共有します. クラスパスの探索は対応ロケール毎に1度のみです.<br>
+     * テーブルは埋め込み文字の書式化に指定したロケールを使用するため、値のみを共有して指定したロケール毎に作成します.<br>
+     * それ以外は埋め込んだ値、またはResourceBundleから解決します. ResourceBundleから解決した値は、解決したResourceBundleのロケール毎に共有します.
+     *
+     * @param locale ロケール
+     * @param _setting 解決に使用する設定
+     * @return 作成したテーブル
+     */
+    private ResourceTable resolve(Locale locale, Setting _setting) {
+        if (_setting.control == null && this.supportedLocales.length > 0 && _setting.external == false) {
+            List<Locale> chain = this.resolveChain(locale, DEFAULT_CONTROL, this.supportedIndex::containsKey);
+            if (chain.isEmpty() == false) {
+                return new ResourceTable(locale, this.getSupportedTexts(this.supportedIndex.get(chain.get(0)), _setting));
+            }
+        }
+        if (this.embedded.isEmpty() == false) {
+            List<Locale> chain = this.resolveChain(locale, _setting.control == null ? DEFAULT_CONTROL : _setting.control, this.embedded::containsKey);
+            return new ResourceTable(locale, this.loadEmbedded(chain, _setting, _setting.control != null));
+        }
+        return new ResourceTable(locale, this.getBundleTexts(locale, _setting));
+    }
+
+    /**
+     * ResourceBundleから解決した値を、解決したResourceBundleのロケール（{@link ResourceBundle#getLocale()}）単位で返却します.
+     * <P>
+     * 異なるロケールでも同じResourceBundleに解決される場合（例：バリアントや拡張を含むロケール）は値を共有するため、
+     * 値を保持する配列は参照したロケールの数ではなくPropertiesファイルの数しか作成しません.<br>
+     * 同じ設定の間は解決したResourceBundleのロケールをキーとして保持します.
+     *
+     * @param locale ロケール
+     * @param _setting 解決に使用する設定
+     * @return 解決した値
+     */
+    private ResourceTexts getBundleTexts(Locale locale, Setting _setting) {
+        ResourceBundle bundle = this.getBundle(locale, _setting.control, _setting.getBundleLoader());
+        if (bundle == null) {
+            return this.defaults;
+        }
+        Locale resolved = bundle.getLocale();
+        if (resolved == null) {
+            return new ResourceTexts(new PackedStrings(this.readBundle(bundle)), this.defaults);
+        }
+        return _setting.bundleTexts.computeIfAbsent(resolved, l -> new ResourceTexts(new PackedStrings(this.readBundle(bundle)), this.defaults));
+    }
+
+    /**
+     * 対応ロケールの解決済みの値を返却します.
+     * <P>
+     * 初回の参照時に解決して、同じ設定の間は対応ロケールの序数を添字として保持します.
+     *
+     * @param ordinal 対応ロケールの序数
+     * @param _setting 解決に使用する設定
+     * @return 解決した値
+     */
+    private ResourceTexts getSupportedTexts(int ordinal, Setting _setting) {
+        ResourceTexts texts = _setting.supportedTexts.get(ordinal);
+        if (texts == null) {
+            _setting.supportedTexts.compareAndSet(ordinal, null, this.loadSupported(ordinal, _setting));
+            texts = _setting.supportedTexts.get(ordinal);
+        }
+        return texts;
+    }
+
+    /**
+     * 対応ロケールの値を解決します.
+     * <P>
+     * 埋め込んだ値から解決する場合は、生成時に算出した親となる対応ロケールの順に値を重ねます.
+     *
+     * @param ordinal 対応ロケールの序数
+     * @param _setting 解決に使用する設定
+     * @return 解決した値
+     */
+    private ResourceTexts loadSupported(int ordinal, Setting _setting) {
+        if (this.embedded.isEmpty()) {
+            return this.loadBundle(this.supportedLocales[ordinal], null, this.classLoader);
+        }
+        List<Locale> chain = new ArrayList<>();
+        chain.add(this.supportedLocales[ordinal]);
+        Arrays.stream(this.supportedParents[ordinal]).forEachOrdered(parent -> chain.add(this.supportedLocales[parent]));
+        return this.loadEmbedded(chain, _setting, false);
+    }
+
+    /**
+     * ResourceBundleから値を解決します.
+     * <P>
+     * リソースが取得できなかった場合は、生成時の値を使用します.<br>
+     * 取得できなかった値は生成時の値を親として解決するため、以降の参照は取得できた値と同じくテーブルの参照のみで返却します.
+     *
+     * @param locale ロケール
+     * @param control Control（未設定の場合はnull）
+     * @param loader 使用するクラスローダー
+     * @return 解決した値
+     */
+    private ResourceTexts loadBundle(Locale locale, Control control, ClassLoader loader) {
+        return new ResourceTexts(new PackedStrings(this.readBundle(locale, control, loader)), this.defaults);
+    }
+
+    /**
+     * ResourceBundleから値を取得します.
+     *
+     * @param locale ロケール
+     * @param control Control（未設定の場合はnull）
+     * @param loader 使用するクラスローダー
+     * @return 取得した値. 取得できなかった要素はnull
+     */
+    private String[] readBundle(Locale locale, Control control, ClassLoader loader) {
+        return this.readBundle(this.getBundle(locale, control, loader));
+    }
+
+    /**
+     * ResourceBundleを取得します.
+     *
+     * @param locale ロケール
+     * @param control Control（未設定の場合はnull）
+     * @param loader 使用するクラスローダー
+     * @return ResourceBundle. リソースが存在しない場合はnull
+     */
+    private ResourceBundle getBundle(Locale locale, Control control, ClassLoader loader) {
+        try {
+            return control == null
+                   ? ResourceBundle.getBundle(this.baseName, locale, loader)
+                   : ResourceBundle.getBundle(this.baseName, locale, loader, control);
+        } catch (MissingResourceException ex) {
+            // リソースが存在しない場合は生成時の値のままとします.
+            return null;
+        }
+    }
+
+    /**
+     * ResourceBundleから値を取得します.
+     *
+     * @param bundle ResourceBundle. リソースが存在しない場合はnull
+     * @return 取得した値. 取得できなかった要素はnull
+     */
+    private String[] readBundle(ResourceBundle bundle) {
+        String[] texts = new String[this.values.size()];
+        if (bundle == null) {
+            return texts;
+        }
+        for (int i = 0; i < texts.length; i++) {
+            // keyが存在しない場合は例外を使用せずに判定して、生成時の値のままとします.
+            String key = this.keys.peek(i);
+            if (bundle.containsKey(key) == false) {
+                continue;
+            }
+            Object text = bundle.getObject(key);
+            if (text instanceof String) {
+                texts[i] = (String) text;
+            }
+        }
+        return texts;
+    }
+
+    /**
+     * 生成時に埋め込んだロケール毎の値から値を解決します.
+     * <P>
+     * 解決に使用するロケールの順に値を重ねて、値が存在する最初のロケールの値を採用します. いずれのロケールにも存在しない場合は生成時の値を使用します.<br>
+     * 埋め込んだ値は解決に使用するロケールのみ取得するため、遅延して埋め込んだ値は参照しないロケールの分を読み込みません.
+     *
+     * @param chain 解決に使用するロケール
+     * @param _setting 解決に使用する設定
+     * @param restore 埋め込みを省略した値を復元する場合はtrue
+     * @return 解決した値
+     */
+    private ResourceTexts loadEmbedded(List<Locale> chain, Setting _setting, boolean restore) {
+        ResourceTexts texts = this.defaults;
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            IndexedStrings layer = this.loadEmbeddedLayer(chain.get(i), _setting, restore);
+            if (layer != null) {
+                texts = new ResourceTexts(layer, texts);
+            }
+        }
+        return texts;
+    }
+
+    /**
+     * 生成時に埋め込んだロケールの値を取得します.
+     * <P>
+     * 生成時に親と同じ値の埋め込みを省略したkeyは、デフォルトのControlでは親の値から同じ値を解決します.<br>
+     * Controlを設定した場合は親となるロケールが異なるため、省略した値を当該ロケールの対応ロケールとしての値から復元します.
+     *
+     * @param locale ロケール
+     * @param _setting 解決に使用する設定
+     * @param restore 埋め込みを省略した値を復元する場合はtrue
+     * @return 当該ロケールで定義した値. 埋め込んでいない場合はnull
+     */
+    private IndexedStrings loadEmbeddedLayer(Locale locale, Setting _setting, boolean restore) {
+        Supplier<? extends IndexedStrings> supplier = this.embedded.get(locale);
+        if (supplier == null) {
+            return null;
+        }
+        IndexedStrings texts = supplier.get();
+        BitSet _inherited = this.inherited.get(locale);
+        if (_inherited == null || restore == false) {
+            return texts;
+        }
+        ResourceTexts resolved = this.getSupportedTexts(this.supportedIndex.get(locale), _setting);
+        String[] restored = new String[texts.size()];
+        for (int i = 0; i < restored.length; i++) {
+            restored[i] = _inherited.get(i) ? resolved.get(i) : texts.get(i);
+        }
+        return new PackedStrings(restored);
+    }
+
+    /**
+     * 解決に使用するロケールを判定します.
+     * <P>
+     * ResourceBundle#getBundleと同じく、Controlの候補ロケールのうち値が存在する最初のロケールを採用して、
+     * 以降の候補ロケールを親とします. 採用したロケールがルートロケールの場合はFallbackロケールでの解決を優先します.<br>
+     * 値の存在は判定の関数で行うため、クラスパスの探索はしません.
+     *
+     * @param locale ロケール
+     * @param control Control
+     * @param exists ロケールの値が存在するかを判定する関数
+     * @return 解決に使用するロケール（優先する順）. 該当するロケールが無い場合は空のリスト
+     */
+    private List<Locale> resolveChain(Locale locale, Control control, Predicate<Locale> exists) {
+        List<Locale> baseChain = null;
+        for (Locale target = locale; target != null; target = control.getFallbackLocale(this.baseName, target)) {
+            List<Locale> candidates = control.getCandidateLocales(this.baseName, target);
+            List<Locale> found = candidates.stream().filter(exists).collect(Collectors.toList());
+            if (found.isEmpty()) {
+                continue;
+            }
+            Locale first = found.get(0);
+            boolean isBase = Locale.ROOT.equals(first);
+            if (isBase == false || first.equals(locale) || (candidates.size() == 1 && first.equals(candidates.get(0)))) {
+                return found;
+            }
+            baseChain = baseChain == null ? found : baseChain;
+        }
+        return baseChain == null ? Collections.emptyList() : baseChain;
+    }
+
+    /**
+     * LocaleとControlの組み合わせと、その組み合わせで解決したテーブルのキャッシュを保持するクラスです.
+     * <P>
+     * 設定の変更時はインスタンスごと置き換えるため、変更前の設定で解決中のテーブルが変更後のキャッシュに混在することはありません.
+     * <P>
+     * コンテキストクラスローダーを使用する場合は、Enumのクラスローダー以外のクラスローダー毎の設定を保持します.<br>
+     * クラスローダー毎の設定は追加時のみ複写して置き換えるため、参照は排他しません. クラスローダーは弱参照で保持して、回収済みの設定は追加時に取り除きます.
+     */
+    private class Setting {
+
+        private final Locale locale;
+        private final Control control;
+        private final int cacheSize;
+        private final boolean contextual;
+        private final WeakReference<ClassLoader> classLoader;
+        private final boolean external;
+        private final DirectoryResourceLoader reloading;
+        private final ScopedResourceLoader scoped;
+        private final ResourceTableCache tables;
+        private final AtomicReferenceArray<ResourceTexts> supportedTexts;
+        private final Map<Locale, ResourceTexts> bundleTexts;
+        private volatile Setting[] loaderSettings;
+        private Current current;
+
+        private Setting(Locale locale, Control control, int cacheSize, boolean contextual, ClassLoader classLoader, DirectoryResourceLoader reloading) {
+            this.locale = locale;
+            this.control = control;
+            this.cacheSize = cacheSize;
+            this.contextual = contextual;
+            this.classLoader = new WeakReference<>(classLoader);
+            this.external = classLoader != ResourceCatalog.this.classLoader;
+            this.reloading = reloading;
+            this.scoped = control == null ? null : this.external ? new ScopedResourceLoader(classLoader) : ResourceCatalog.this.controlLoader;
+            this.loaderSettings = new Setting[0];
+            this.tables = new ResourceTableCache(cacheSize, ResourceCatalog.this.cacheHits, ResourceCatalog.this.cacheMisses, ResourceCatalog.this.cacheEvictions);
+            this.supportedTexts = new AtomicReferenceArray<>(ResourceCatalog.this.supportedLocales.length);
+            this.bundleTexts = new ConcurrentHashMap<>();
+        }
+
+        /**
+         * 値の解決に使用するクラスローダーを返却します.
+         * <P>
+         * 参照中のスレッドのコンテキストクラスローダーのため回収されることはありませんが、回収済みの場合はEnumのクラスローダーを返却します.
+         *
+         * @return クラスローダー
+         */
+        private ClassLoader getClassLoader() {
+            ClassLoader loader = this.classLoader.get();
+            return loader == null ? ResourceCatalog.this.classLoader : loader;
+        }
+
+        /**
+         * ResourceBundleの解決に使用するクラスローダーを返却します.
+         * <P>
+         * Controlを設定した場合は、ResourceBundleのキャッシュを分けるためにカタログ専用のクラスローダーを返却します.
+         *
+         * @return クラスローダー
+         */
+        private ClassLoader getBundleLoader() {
+            return this.scoped == null ? this.getClassLoader() : this.scoped;
+        }
+
+        /**
+         * カタログ専用のクラスローダーで解決したResourceBundleのキャッシュを破棄します.
+         * <P>
+         * クラスローダー毎の設定の分もあわせて破棄します.
+         */
+        private void clearScopedCache() {
+            if (this.scoped != null) {
+                ResourceBundle.clearCache(this.scoped);
+            }
+            for (Setting loaderSetting : this.loaderSettings) {
+                loaderSetting.clearScopedCache();
+            }
+        }
+
+        /**
+         * クラスローダーに該当する設定を返却します.
+         * <P>
+         * 該当する設定が無い場合は同じLocale、Controlで作成して追加します.
+         *
+         * @param loader クラスローダー
+         * @return クラスローダーに該当する設定
+         */
+        private Setting forClassLoader(ClassLoader loader) {
+            for (Setting loaderSetting : this.loaderSettings) {
+                if (loaderSetting.classLoader.get() == loader) {
+                    return loaderSetting;
+                }
+            }
+            synchronized (this) {
+                List<Setting> alive = new ArrayList<>();
+                for (Setting loaderSetting : this.loaderSettings) {
+                    ClassLoader _loader = loaderSetting.classLoader.get();
+                    if (_loader == loader) {
+                        return loaderSetting;
+                    }
+                    if (_loader != null) {
+                        alive.add(loaderSetting);
+                    }
+                }
+                Setting created = new Setting(this.locale, this.control, this.cacheSize, false, loader, this.reloading);
+                alive.add(created);
+                this.loaderSettings = alive.toArray(new Setting[0]);
+                return created;
+            }
+        }
+    }
+
+    /**
+     * 直前に参照したロケールと、そのロケールの解決済みテーブルの組み合わせです.
+     * <P>
+     * ロケールとテーブルを1つのインスタンスで置き換えるため、異なるロケールのテーブルを返却することはありません.
+     */
+    private static class Current {
+
+        private final Locale locale;
+        private final ResourceTable table;
+
+        private Current(Locale locale, ResourceTable table) {
+            this.locale = locale;
+            this.table = table;
+        }
+    }
+
+    /**
+     * builderクラス
+     *
+     * @param <E> 生成したEnum（定数の多いリソースの場合はEnumの代わりに生成したクラス）の型
+     */
+    public static class Builder<E> {
+
+        private final Class<E> enumClass;
+        private final String baseName;
+        private Function<? super E, String> key;
+        private Function<? super E, String> value;
+        private PackedStrings packedKeys;
+        private PackedStrings packedValues;
+        private final Map<Locale, Supplier<? extends IndexedStrings>> embedded;
+        private final Map<Locale, BitSet> inherited;
+        private final List<Locale> supportedLocales;
+        private final List<int[]> supportedParents;
+        private boolean metrics;
+        private boolean metricsPerConstant;
+
+        /**
+         * インスタンスを構築します.
+         *
+         * @param enumClass 生成したEnumのクラス
+         * @param baseName 参照元のリソース名
+         */
+        public Builder(Class<E> enumClass, String baseName) {
+            this.enumClass = enumClass;
+            this.baseName = baseName;
+            this.embedded = new HashMap<>();
+            this.inherited = new HashMap<>();
+            this.supportedLocales = new ArrayList<>();
+            this.supportedParents = new ArrayList<>();
+        }
+
+        /**
+         * Enum定数からリソースのkeyと、リソースが取得できない場合に使用する値を取得する関数を設定します.
+         *
+         * @param key Enum定数からリソースのkeyを取得する関数
+         * @param value Enum定数から生成時のリソースの値を取得する関数
+         * @return chainに使用するbuilderクラス
+         */
+        public Builder<E> entries(Function<? super E, String> key, Function<? super E, String> value) {
+            this.key = key;
+            this.value = value;
+            return this;
+        }
+
+        /**
+         * 連結して保持したリソースのkeyと、リソースが取得できない場合に使用する値を設定します.
+         * <P>
+         * keyと値はEnum定数の序数順に連結します. keyと値は参照時に切り出すため、Enum定数毎に文字列を保持しません.
+         *
+         * @param keys 連結したリソースのkey
+         * @param values 連結した生成時のリソースの値
+         * @return chainに使用するbuilderクラス
+         */
+        public Builder<E> entries(PackedStrings keys, PackedStrings values) {
+            this.packedKeys = keys;
+            this.packedValues = values;
+            return this;
+        }
+
+        /**
+         * 生成時に取得したロケール毎の値を埋め込みます.
+         * <P>
+         * 値はEnum定数の序数順に指定します. 当該ロケールのPropertiesファイルに記述されていないkeyはnullを指定します.
+         *
+         * @param locale Propertiesファイルのロケール（ベースとなるPropertiesファイルの場合はルートロケール）
+         * @param texts 当該ロケールのPropertiesファイルに記述されている値
+         * @return chainに使用するbuilderクラス
+         */
+        public Builder<E> embed(Locale locale, String... texts) {
+            PackedStrings _texts = new PackedStrings(texts);
+            this.embedded.put(locale, () -> _texts);
+            return this;
+        }
+
+        /**
+         * 生成時に取得したロケール毎の値を、当該ロケールの解決時に取得するように埋め込みます.
+         * <P>
+         * 値を保持するクラスを参照する関数を指定すると、当該クラスの初期化（値の読み込み）は当該ロケールの初回の解決時まで遅延します.<br>
+         * 関数を複数指定した場合は、取得した配列を連結した値を{@link #embed(java.util.Locale, java.lang.String...)}と同じく埋め込みます.
+         *
+         * @param locale Propertiesファイルのロケール（ベースとなるPropertiesファイルの場合はルートロケール）
+         * @param chunks 当該ロケールのPropertiesファイルに記述されている値（分割した場合は分割した値）を取得する関数
+         * @return chainに使用するbuilderクラス
+         */
+        @SafeVarargs
+        public final Builder<E> embedLazily(Locale locale, Supplier<String[]>... chunks) {
+            // 可変長引数の配列は関数に渡さず、複写したリストを参照します.
+            List<Supplier<String[]>> _chunks = new ArrayList<>(chunks.length);
+            for (Supplier<String[]> chunk : chunks) {
+                _chunks.add(chunk);
+            }
+            if (_chunks.size() == 1) {
+                Supplier<String[]> chunk = _chunks.get(0);
+                this.embedded.put(locale, () -> new PackedStrings(chunk.get()));
+                return this;
+            }
+            this.embedded.put(locale, () -> new PackedStrings(_chunks.stream().map(Supplier::get).flatMap(Arrays::stream).toArray(String[]::new)));
+            return this;
+        }
+
+        /**
+         * 生成時に取得したロケール毎の値を分割して保持した配列から埋め込みます.
+         * <P>
+         * 分割した配列を連結した値を{@link #embed(java.util.Locale, java.lang.String...)}と同じく埋め込みます.
+         *
+         * @param locale Propertiesファイルのロケール（ベースとなるPropertiesファイルの場合はルートロケール）
+         * @param chunks 当該ロケールのPropertiesファイルに記述されている値を分割した配列
+         * @return chainに使用するbuilderクラス
+         */
+        public Builder<E> embedChunks(Locale locale, String[]... chunks) {
+            return this.embed(locale, Arrays.stream(chunks).flatMap(Arrays::stream).toArray(String[]::new));
+        }
+
+        /**
+         * 生成時に取得したロケール毎の値を連結して保持した文字列から埋め込みます.
+         * <P>
+         * 連結した値を{@link #embed(java.util.Locale, java.lang.String...)}と同じく埋め込みます. 値は参照時に切り出します.
+         *
+         * @param locale Propertiesファイルのロケール（ベースとなるPropertiesファイルの場合はルートロケール）
+         * @param texts 当該ロケールのPropertiesファイルに記述されている値を連結した文字列
+         * @return chainに使用するbuilderクラス
+         */
+        public Builder<E> embed(Locale locale, PackedStrings texts) {
+            this.embedded.put(locale, () -> texts);
+            return this;
+        }
+
+        /**
+         * 生成時に取得したロケール毎の値を連結して保持した文字列から、当該ロケールの解決時に取得するように埋め込みます.
+         *
+         * @param locale Propertiesファイルのロケール（ベースとなるPropertiesファイルの場合はルートロケール）
+         * @param texts 当該ロケールのPropertiesファイルに記述されている値を連結した文字列を取得する関数
+         * @return chainに使用するbuilderクラス
+         * @see #embedLazily(java.util.Locale, java.util.function.Supplier...)
+         */
+        public Builder<E> embedPacked(Locale locale, Supplier<PackedStrings> texts) {
+            this.embedded.put(locale, texts);
+            return this;
+        }
+
+        /**
+         * 生成時に出力したファイルからロケール毎の値を埋め込みます.
+         * <P>
+         * ファイルはメモリマップして、値は参照時にUTF-8から復号します. ヒープに保持するのは指定した件数までの復号済みの値のみです.<br>
+         * ファイルは生成したEnumと同じパッケージのリソースとして参照します. jarファイル内のリソースの場合は、ヒープ外の領域に読み込みます.
+         *
+         * ファイルのkeyの数がEnum定数の数と異なる場合は、生成後にファイルのみ更新されていないものとして例外とします.
+         *
+         * @param name 生成時に出力したファイルの名前（例：Message.catalog）
+         * @param cacheSize 復号した値をロケール毎に保持する件数. 1以上
+         * @return chainに使用するbuilderクラス
+         * @throws IllegalArgumentException ファイルが存在しない場合、ファイルの形式が異なる場合、keyの数がEnum定数の数と異なる場合、保持する件数が1未満の場合
+         * @throws UncheckedIOException ファイルの読み込みに失敗した場合
+         * @see MappedStrings
+         */
+        public Builder<E> embedMapped(String name, int cacheSize) {
+            if (cacheSize < 1) {
+                throw new IllegalArgumentException("cacheSize must be 1 or more. " + cacheSize);
+            }
+            URL url = this.enumClass.getResource(name);
+            if (url == null) {
+                throw new IllegalArgumentException("mapped catalog is not found. " + name);
+            }
+            int keyCount = this.packedValues == null ? this.getEnumConstants().length : this.packedValues.size();
+            try {
+                MappedStrings.open(url, keyCount, cacheSize).forEach((locale, texts) -> this.embedded.put(locale, () -> texts));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return this;
+        }
+
+        /**
+         * 生成時に親と同じ値のため埋め込みを省略したkeyを設定します.
+         * <P>
+         * 当該ロケールのPropertiesファイルに記述されているが、デフォルトのControlで親となる対応ロケール（親が無い場合は生成時の値）と同じ値のため、
+         * 埋め込んだ値をnullとしたkeyの序数を指定します. 省略した値はControlを設定した場合の解決にのみ使用します.
+         *
+         * @param locale 対応ロケール
+         * @param ordinals 省略したkeyの序数（カンマ区切りの10進数）
+         * @return chainに使用するbuilderクラス
+         */
+        public Builder<E> inherited(Locale locale, String ordinals) {
+            BitSet _ordinals = new BitSet();
+            Arrays.stream(PackedStrings.decodeInts(ordinals)).forEach(_ordinals::set);
+            this.inherited.put(locale, _ordinals);
+            return this;
+        }
+
+        /**
+         * 生成時に検出したPropertiesファイルのロケール（対応ロケール）を設定します.
+         * <P>
+         * 対応ロケールは設定した順に序数を付与します. 親となる対応ロケールは、Controlが未設定の場合に値を補完する順に序数で指定します.<br>
+         * 対応ロケールを設定した場合、Controlが未設定であればクラスパスを探索せずに解決に使用するロケールを判定します.<br>
+         * 対応ロケール以外のPropertiesファイルは解決に使用しないため、生成後にPropertiesファイルを追加しない（値を埋め込む）場合のみ設定します.
+         *
+         * @param locale 対応ロケール
+         * @param parents 親となる対応ロケールの序数
+         * @return chainに使用するbuilderクラス
+         */
+        public Builder<E> supportedLocale(Locale locale, int... parents) {
+            this.supportedLocales.add(locale);
+            this.supportedParents.add(parents);
+            return this;
+        }
+
+        /**
+         * リソースの値の参照件数を数えます.
+         * <P>
+         * 値の参照と書式化の件数、生成時の値を返却した件数、書式化に要した時間を数えて、プラットフォームMBeanサーバーに公開します.<br>
+         * 指定しない場合は数えず、参照時の処理も増えません.
+         *
+         * @param perConstant 定数毎の参照件数も数える場合はtrue
+         * @return chainに使用するbuilderクラス
+         * @see ResourceMetrics
+         */
+        public Builder<E> metrics(boolean perConstant) {
+            this.metrics = true;
+            this.metricsPerConstant = perConstant;
+            return this;
+        }
+
+        /**
+         * Enum定数を返却します.
+         *
+         * @return Enum定数
+         * @throws IllegalArgumentException Enumではないクラスで、keyと値を連結して設定していない場合
+         */
+        private E[] getEnumConstants() {
+            E[] constants = this.enumClass.getEnumConstants();
+            if (constants == null) {
+                throw new IllegalArgumentException("entries must be packed for the class that is not an enum. " + this.enumClass.getName());
+            }
+            return constants;
+        }
+
+        /**
+         * インスタンスを構築する.
+         *
+         * @return 生成したインスタンス
+         * @throws IllegalArgumentException 親となる対応ロケールの序数が範囲外の場合、埋め込みを省略したkeyのロケールが対応ロケールでない場合、Enumではないクラスでkeyと値を連結して設定していない場合
+         */
+        public ResourceCatalog build() {
+            for (Locale locale : this.inherited.keySet()) {
+                if (this.supportedLocales.contains(locale) == false) {
+                    throw new IllegalArgumentException("locale of inherited keys is not supported. " + locale);
+                }
+            }
+            for (int[] parents : this.supportedParents) {
+                for (int parent : parents) {
+                    if (parent < 0 || this.supportedLocales.size() <= parent) {
+                        throw new IllegalArgumentException("parent of supported locale is out of range. " + parent);
+                    }
+                }
+            }
+            PackedStrings _keys = this.packedKeys;
+            PackedStrings _values = this.packedValues;
+            if (_keys == null || _values == null) {
+                E[] constants = this.getEnumConstants();
+                _keys = new PackedStrings(Arrays.stream(constants).map(this.key).toArray(String[]::new));
+                _values = new PackedStrings(Arrays.stream(constants).map(this.value).toArray(String[]::new));
+            }
+            ClassLoader classLoader = this.enumClass.getClassLoader() == null
+                                      ? ClassLoader.getSystemClassLoader()
+                                      : this.enumClass.getClassLoader();
+            ResourceCatalog catalog = new ResourceCatalog(this.baseName, classLoader, _keys, _values, Collections.unmodifiableMap(this.embedded), Collections.unmodifiableMap(this.inherited),
+                                                          this.supportedLocales.toArray(new Locale[0]), this.supportedParents.toArray(new int[0][]),
+                                                          this.metrics ? this.enumClass.getName() : null, this.metricsPerConstant);
+            if (catalog.metrics != null) {
+                catalog.metrics.register();
+            }
+            return catalog;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.util.Locale;
+
+/**
+ * 生成した全てのEnumに共通するロケールの設定を保持するクラスです.
+ * <P>
+ * 設定は不変のスナップショットとしてvolatileのフィールドで公開するため、設定の変更は全てのスレッドから参照できます.
+ * <P>
+ * ロケールの指定が無い参照で使用するロケールは次の優先順で決定します.
+ * <ol>
+ * <li>{@link LocaleProvider}が返却するロケール</li>
+ * <li>Enum毎に設定したロケール（生成したEnumの{@code setLocale}）</li>
+ * <li>本クラスに設定したロケール</li>
+ * <li>デフォルトロケール</li>
+ * </ol>
+ *
+ * @author Yamashita,Takahiro
+ */
+public final class ResourceContext {
+
+    private static volatile Snapshot snapshot = new Snapshot(null, null);
+
+    private ResourceContext() {
+    }
+
+    /**
+     * 生成した全てのEnumに共通するロケールを設定します.
+     * <P>
+     * 未設定（null）の場合、デフォルトロケールで処理します.
+     *
+     * @param locale ロケール
+     */
+    public static synchronized void setLocale(Locale locale) {
+        snapshot = new Snapshot(locale, snapshot.localeProvider);
+    }
+
+    /**
+     * 生成した全てのEnumに共通するロケールを返却します.
+     *
+     * @return ロケール. 未設定の場合はnull
+     */
+    public static Locale getLocale() {
+        return snapshot.locale;
+    }
+
+    /**
+     * 処理単位のロケールを提供するクラスを設定します.
+     * <P>
+     * 未設定（null）の場合、処理単位のロケールは使用しません.
+     *
+     * @param localeProvider 処理単位のロケールを提供するクラス
+     */
+    public static synchronized void setLocaleProvider(LocaleProvider localeProvider) {
+        snapshot = new Snapshot(snapshot.locale, localeProvider);
+    }
+
+    /**
+     * 処理単位のロケールを提供するクラスを返却します.
+     *
+     * @return 処理単位のロケールを提供するクラス. 未設定の場合はnull
+     */
+    public static LocaleProvider getLocaleProvider() {
+        return snapshot.localeProvider;
+    }
+
+    /**
+     * 処理単位のロケールを返却します.
+     *
+     * @return 処理単位のロケール. 指定が無い場合はnull
+     */
+    static Locale scopedLocale() {
+        LocaleProvider localeProvider = snapshot.localeProvider;
+        return localeProvider == null ? null : localeProvider.getLocale();
+    }
+
+    /**
+     * Enum毎の設定が無い場合に使用するロケールを返却します.
+     *
+     * @return 本クラスに設定したロケール. 未設定の場合はデフォルトロケール
+     */
+    static Locale defaultLocale() {
+        Locale locale = snapshot.locale;
+        return locale == null ? Locale.getDefault() : locale;
+    }
+
+    /**
+     * 設定のスナップショット.
+     */
+    private static class Snapshot {
+
+        private final Locale locale;
+        private final LocaleProvider localeProvider;
+
+        private Snapshot(Locale locale, LocaleProvider localeProvider) {
+            this.locale = locale;
+            this.localeProvider = localeProvider;
+        }
+    }
+}
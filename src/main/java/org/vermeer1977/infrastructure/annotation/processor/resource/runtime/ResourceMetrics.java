@@ -0,0 +1,347 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * 生成したEnumのリソースの値の参照件数と書式化に要した時間を保持するクラスです.
+ * <P>
+ * {@link ResourceCatalog.Builder#metrics(boolean)}を指定した場合のみ作成して、値の参照（{@code getString}）と書式化（{@code format}）を数えます.
+ * 指定しない場合は作成せず、参照時に数えません.<br>
+ * 件数はスレッド毎に分散して加算するため（{@link LongAdder}）、並行して参照しても競合しません.
+ * <P>
+ * 作成したインスタンスはプラットフォームMBeanサーバーに「{@value #DOMAIN}:type=ResourceMetrics,name=生成したEnumのクラス名,loader=クラスローダーの識別子」で登録します.
+ * 同じEnumを複数のクラスローダーで読み込んだ場合（同じJVMの複数のアプリケーションなど）もクラスローダー毎に登録します.
+ * 同じ名前で登録済みの場合は置き換えずに登録しません. 登録できない場合も件数は数えます.
+ * <P>
+ * MBeanサーバーには当該インスタンスを弱参照で保持するMBeanを登録するため、登録によりカタログと生成したEnumのクラスローダーの回収を妨げません.
+ * 回収済みのMBeanは次の参照時に登録を解除します.<br>
+ * 本ライブラリ自体を生成したEnumと同じクラスローダーで読み込む場合は、登録したMBeanのクラスがクラスローダーを参照するため、
+ * アプリケーションの停止時に{@link #unregister()}で登録を解除してください.
+ *
+ * @author Yamashita,Takahiro
+ */
+public final class ResourceMetrics implements ResourceMetricsMXBean {
+
+    /**
+     * MBeanを登録するドメイン
+     */
+    public static final String DOMAIN = "org.vermeer1977.infrastructure.annotation.processor.resource";
+
+    private final ResourceCatalog catalog;
+    private final ObjectName objectName;
+    private final LongAdder lookups;
+    private final LongAdder fallbacks;
+    private final LongAdder formats;
+    private final LongAdder formatNanos;
+    private final LongAdder[] constantLookups;
+    private volatile boolean registered;
+
+    /**
+     * インスタンスを構築します.
+     *
+     * @param catalog 数える対象のカタログ
+     * @param name 生成したEnumのクラス名
+     * @param loader 生成したEnumのクラスローダー
+     * @param perConstant 定数毎に数える場合はtrue
+     */
+    ResourceMetrics(ResourceCatalog catalog, String name, ClassLoader loader, boolean perConstant) {
+        this.catalog = catalog;
+        try {
+            this.objectName = new ObjectName(DOMAIN + ":type=ResourceMetrics,name=" + name + ",loader=" + Integer.toHexString(System.identityHashCode(loader)));
+        } catch (JMException ex) {
+            throw new IllegalArgumentException("metrics name is invalid. " + name, ex);
+        }
+        this.lookups = new LongAdder();
+        this.fallbacks = new LongAdder();
+        this.formats = new LongAdder();
+        this.formatNanos = new LongAdder();
+        this.constantLookups = perConstant ? new LongAdder[catalog.size()] : null;
+        if (this.constantLookups != null) {
+            for (int i = 0; i < this.constantLookups.length; i++) {
+                this.constantLookups[i] = new LongAdder();
+            }
+        }
+    }
+
+    /**
+     * MBeanを登録した名前を返却します.
+     *
+     * @return MBeanの名前
+     */
+    public ObjectName getObjectName() {
+        return this.objectName;
+    }
+
+    /**
+     * プラットフォームMBeanサーバーに登録します.
+     * <P>
+     * 同じ名前で登録済みの場合は、他のインスタンスが登録したMBeanを置き換えないように登録しません.
+     */
+    void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(new WeakMetrics(this), this.objectName);
+            this.registered = true;
+        } catch (JMException | SecurityException ex) {
+            // 公開できない場合も件数は数えて、生成したEnumのmetrics()から参照できるようにします.
+        }
+    }
+
+    /**
+     * 当該インスタンスが登録したMBeanをプラットフォームMBeanサーバーから解除します.
+     * <P>
+     * アプリケーションの停止時など、生成したEnumを読み込んだクラスローダーを破棄する場合に使用します. 件数は引き続き数えます.<br>
+     * 他のインスタンスが同じ名前で登録したMBeanは解除しません.
+     */
+    public void unregister() {
+        if (this.registered == false) {
+            return;
+        }
+        this.registered = false;
+        unregister(this.objectName);
+    }
+
+    /**
+     * 登録したMBeanを解除します.
+     *
+     * @param objectName 登録したMBeanの名前
+     */
+    private static void unregister(ObjectName objectName) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException | SecurityException ex) {
+            // 解除済みの場合は何もしません.
+        }
+    }
+
+    /**
+     * 参照を数えて、テーブルの序数に該当する値を返却します.
+     *
+     * @param table 解決済みテーブル
+     * @param ordinal Enum定数の序数
+     * @return リソースの値
+     */
+    String lookup(ResourceTable table, int ordinal) {
+        this.count(table, ordinal);
+        return table.getString(ordinal);
+    }
+
+    /**
+     * 参照と書式化を数えて、書式化の開始時刻を返却します.
+     * <P>
+     * 書式化の終了時に{@link #endFormat(long)}で要した時間を加算します. 関数を受け取らないため、書式化の都度オブジェクトを生成しません.
+     *
+     * @param table 解決済みテーブル
+     * @param ordinal Enum定数の序数
+     * @return 書式化の開始時刻（ナノ秒）
+     */
+    long beginFormat(ResourceTable table, int ordinal) {
+        this.count(table, ordinal);
+        this.formats.increment();
+        return System.nanoTime();
+    }
+
+    /**
+     * 書式化に要した時間を加算します.
+     *
+     * @param start {@link #beginFormat(ResourceTable, int)}で取得した開始時刻
+     */
+    void endFormat(long start) {
+        this.formatNanos.add(System.nanoTime() - start);
+    }
+
+    private void count(ResourceTable table, int ordinal) {
+        this.lookups.increment();
+        if (this.constantLookups != null) {
+            this.constantLookups[ordinal].increment();
+        }
+        if (table.getTexts().isFallback(ordinal)) {
+            this.fallbacks.increment();
+        }
+    }
+
+    @Override
+    public long getLookupCount() {
+        return this.lookups.sum();
+    }
+
+    @Override
+    public long getFallbackCount() {
+        return this.fallbacks.sum();
+    }
+
+    @Override
+    public long getFormatCount() {
+        return this.formats.sum();
+    }
+
+    @Override
+    public long getFormatTotalNanos() {
+        return this.formatNanos.sum();
+    }
+
+    @Override
+    public long getFormatAverageNanos() {
+        long count = this.formats.sum();
+        return count == 0 ? 0 : this.formatNanos.sum() / count;
+    }
+
+    @Override
+    public long getCacheHitCount() {
+        return this.catalog.cacheStats().hitCount();
+    }
+
+    @Override
+    public long getCacheMissCount() {
+        return this.catalog.cacheStats().missCount();
+    }
+
+    @Override
+    public long getCacheEvictionCount() {
+        return this.catalog.cacheStats().evictionCount();
+    }
+
+    @Override
+    public Map<String, Long> getLookupCountByKey() {
+        if (this.constantLookups == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < this.constantLookups.length; i++) {
+            long count = this.constantLookups[i].sum();
+            if (count > 0) {
+                counts.put(this.catalog.keyOf(i), count);
+            }
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    @Override
+    public void reset() {
+        this.lookups.reset();
+        this.fallbacks.reset();
+        this.formats.reset();
+        this.formatNanos.reset();
+        if (this.constantLookups != null) {
+            for (LongAdder constantLookup : this.constantLookups) {
+                constantLookup.reset();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceMetrics{" + "name=" + this.objectName + ", lookupCount=" + this.getLookupCount() + ", fallbackCount=" + this.getFallbackCount()
+               + ", formatCount=" + this.getFormatCount() + ", formatTotalNanos=" + this.getFormatTotalNanos() + '}';
+    }
+
+    /**
+     * MBeanサーバーに登録する、参照件数を弱参照で保持するMBeanです.
+     * <P>
+     * 参照件数が回収済みの場合は件数を0として、登録を解除します.
+     */
+    private static final class WeakMetrics implements ResourceMetricsMXBean {
+
+        private final WeakReference<ResourceMetrics> metrics;
+        private final ObjectName objectName;
+
+        private WeakMetrics(ResourceMetrics metrics) {
+            this.metrics = new WeakReference<>(metrics);
+            this.objectName = metrics.objectName;
+        }
+
+        private ResourceMetrics get() {
+            ResourceMetrics _metrics = this.metrics.get();
+            if (_metrics == null) {
+                unregister(this.objectName);
+            }
+            return _metrics;
+        }
+
+        @Override
+        public long getLookupCount() {
+            ResourceMetrics _metrics = this.get();
+            return _metrics == null ? 0 : _metrics.getLookupCount();
+        }
+
+        @Override
+        public long getFallbackCount() {
+            ResourceMetrics _metrics = this.get();
+            return _metrics == null ? 0 : _metrics.getFallbackCount();
+        }
+
+        @Override
+        public long getFormatCount() {
+            ResourceMetrics _metrics = this.get();
+            return _metrics == null ? 0 : _metrics.getFormatCount();
+        }
+
+        @Override
+        public long getFormatTotalNanos() {
+            ResourceMetrics _metrics = this.get();
+            return _metrics == null ? 0 : _metrics.getFormatTotalNanos();
+        }
+
+        @Override
+        public long getFormatAverageNanos() {
+            ResourceMetrics _metrics = this.get();
+            return _metrics == null ? 0 : _metrics.getFormatAverageNanos();
+        }
+
+        @Override
+        public long getCacheHitCount() {
+            ResourceMetrics _metrics = this.get();
+            return _metrics == null ? 0 : _metrics.getCacheHitCount();
+        }
+
+        @Override
+        public long getCacheMissCount() {
+            ResourceMetrics _metrics = this.get();
+            return _metrics == null ? 0 : _metrics.getCacheMissCount();
+        }
+
+        @Override
+        public long getCacheEvictionCount() {
+            ResourceMetrics _metrics = this.get();
+            return _metrics == null ? 0 : _metrics.getCacheEvictionCount();
+        }
+
+        @Override
+        public Map<String, Long> getLookupCountByKey() {
+            ResourceMetrics _metrics = this.get();
+            return _metrics == null ? Collections.emptyMap() : _metrics.getLookupCountByKey();
+        }
+
+        @Override
+        public void reset() {
+            ResourceMetrics _metrics = this.get();
+            if (_metrics != null) {
+                _metrics.reset();
+            }
+        }
+    }
+}
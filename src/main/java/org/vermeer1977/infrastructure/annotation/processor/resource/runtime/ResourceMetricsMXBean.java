@@ -0,0 +1,106 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.util.Map;
+
+/**
+ * 生成したEnumの参照件数をJMXで公開するインターフェースです.
+ * <P>
+ * 実装は{@link ResourceMetrics}で、プラットフォームMBeanサーバーに生成したEnum毎に登録します.
+ *
+ * @author Yamashita,Takahiro
+ */
+public interface ResourceMetricsMXBean {
+
+    /**
+     * リソースの値を参照した件数を返却します.
+     * <P>
+     * 書式化した件数を含みます.
+     *
+     * @return 参照した件数
+     */
+    long getLookupCount();
+
+    /**
+     * Propertiesファイルに値が無いため、生成時の値を返却した件数を返却します.
+     *
+     * @return 生成時の値を返却した件数
+     */
+    long getFallbackCount();
+
+    /**
+     * 埋め込み文字を置換した件数を返却します.
+     *
+     * @return 書式化した件数
+     */
+    long getFormatCount();
+
+    /**
+     * 埋め込み文字の置換に要した時間の合計を返却します.
+     *
+     * @return 書式化に要した時間の合計（ナノ秒）
+     */
+    long getFormatTotalNanos();
+
+    /**
+     * 埋め込み文字の置換に要した時間の平均を返却します.
+     *
+     * @return 書式化に要した時間の平均（ナノ秒）. 書式化していない場合は0
+     */
+    long getFormatAverageNanos();
+
+    /**
+     * 参照したロケール毎のキャッシュに該当した件数を返却します.
+     *
+     * @return キャッシュに該当した件数
+     * @see ResourceCatalog#cacheStats()
+     */
+    long getCacheHitCount();
+
+    /**
+     * 参照したロケール毎のキャッシュに該当せずに解決した件数を返却します.
+     *
+     * @return キャッシュに該当しなかった件数
+     * @see ResourceCatalog#cacheStats()
+     */
+    long getCacheMissCount();
+
+    /**
+     * 参照したロケール毎のキャッシュから破棄した件数を返却します.
+     *
+     * @return キャッシュから破棄した件数
+     * @see ResourceCatalog#cacheStats()
+     */
+    long getCacheEvictionCount();
+
+    /**
+     * 定数毎の参照した件数を返却します.
+     * <P>
+     * 参照した定数のみを序数順に返却します. 定数毎に数えない場合は空です.
+     *
+     * @return リソースのkeyと参照した件数
+     */
+    Map<String, Long> getLookupCountByKey();
+
+    /**
+     * 参照件数を0に戻します.
+     * <P>
+     * キャッシュの参照件数は戻しません.
+     */
+    void reset();
+}
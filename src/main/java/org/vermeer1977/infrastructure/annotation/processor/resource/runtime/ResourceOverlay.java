@@ -0,0 +1,179 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle.Control;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * テナント毎に一部のリソースの値を置き換える不変の上書きです.
+ * <P>
+ * 上書きする値のみをロケール毎に保持して、解決済みテーブルの値に重ねて参照します（{@link ResourceTexts}）.<br>
+ * 上書きした値を重ねたテーブルはロケール毎に初回の参照時に作成して保持するため、以降の参照で増えるのは上書きの値の配列の参照のみです.
+ * 上書きしない値は解決済みテーブルの値を返却します.
+ * <P>
+ * 上書きする値のロケールは、テーブルのロケールの候補（例：en_US、en、ルートロケール）の順に最初に定義した値を使用します.<br>
+ * 上書きを変更する場合は新たに作成して{@link ResourceCatalog#setOverlay(java.lang.String, ResourceOverlay)}で置き換えます.
+ *
+ * @author Yamashita,Takahiro
+ */
+public final class ResourceOverlay {
+
+    private static final Control DEFAULT_CONTROL = Control.getControl(Control.FORMAT_DEFAULT);
+
+    private final ResourceCatalog catalog;
+    private final Map<Locale, String[]> texts;
+    private final ConcurrentHashMap<Locale, ResourceTable> tables;
+
+    private ResourceOverlay(ResourceCatalog catalog, Map<Locale, String[]> texts) {
+        this.catalog = catalog;
+        this.texts = texts;
+        this.tables = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * 必須項目の設定
+     *
+     * @param catalog 上書きするリソースのカタログ（必須）
+     * @return builderクラス
+     */
+    public static Builder of(ResourceCatalog catalog) {
+        return new ResourceOverlay.Builder(catalog);
+    }
+
+    /**
+     * 上書きするリソースのカタログを返却します.
+     *
+     * @return 上書きするリソースのカタログ
+     */
+    ResourceCatalog getCatalog() {
+        return this.catalog;
+    }
+
+    /**
+     * 解決済みテーブルに上書きした値を重ねたテーブルを返却します.
+     * <P>
+     * 作成済みのテーブルが同じ解決済みテーブルに重ねたものである場合は、作成済みのテーブルを返却します.
+     * 再読み込みなどで解決済みテーブルが置き換わった場合は作成し直します.
+     *
+     * @param base 解決済みテーブル
+     * @return 上書きした値を重ねたテーブル. 上書きする値が無い場合は解決済みテーブル
+     */
+    ResourceTable apply(ResourceTable base) {
+        Locale locale = base.getLocale();
+        ResourceTable table = this.tables.get(locale);
+        if (table != null && (table == base || table.getTexts().getParent() == base.getTexts())) {
+            return table;
+        }
+        PackedStrings layer = this.layer(locale);
+        table = layer == null ? base : new ResourceTable(locale, new ResourceTexts(layer, base.getTexts()));
+        this.tables.put(locale, table);
+        return table;
+    }
+
+    /**
+     * ロケールの候補の順に上書きする値を重ねます.
+     *
+     * @param locale テーブルのロケール
+     * @return 上書きする値. 定義していない要素はnull. 上書きする値が無い場合はnull
+     */
+    private PackedStrings layer(Locale locale) {
+        List<Locale> candidates = DEFAULT_CONTROL.getCandidateLocales("", locale);
+        String[] layer = null;
+        for (Locale candidate : candidates) {
+            String[] _texts = this.texts.get(candidate);
+            if (_texts == null) {
+                continue;
+            }
+            if (layer == null) {
+                layer = new String[_texts.length];
+            }
+            for (int i = 0; i < _texts.length; i++) {
+                if (layer[i] == null) {
+                    layer[i] = _texts[i];
+                }
+            }
+        }
+        return layer == null ? null : new PackedStrings(layer);
+    }
+
+    /**
+     * ResourceOverlayを構築するクラスです.
+     */
+    public static class Builder {
+
+        private final ResourceCatalog catalog;
+        private final Map<Locale, String[]> texts;
+
+        /**
+         * インスタンスを構築します.
+         *
+         * @param catalog 上書きするリソースのカタログ
+         */
+        public Builder(ResourceCatalog catalog) {
+            this.catalog = catalog;
+            this.texts = new HashMap<>();
+        }
+
+        /**
+         * 上書きする値を設定します.
+         *
+         * @param locale 値のロケール. 全てのロケールで上書きする場合は{@link Locale#ROOT}
+         * @param key リソースのkey
+         * @param text 上書きする値
+         * @return builderクラス
+         * @throws IllegalArgumentException カタログに存在しないkeyを指定した場合
+         */
+        public Builder put(Locale locale, String key, String text) {
+            int ordinal = this.catalog.indexOfKey(key);
+            if (ordinal < 0) {
+                throw new IllegalArgumentException("key is not found. key = " + key);
+            }
+            this.texts.computeIfAbsent(locale, l -> new String[this.catalog.size()])[ordinal] = text;
+            return this;
+        }
+
+        /**
+         * 上書きする値をまとめて設定します.
+         *
+         * @param locale 値のロケール. 全てのロケールで上書きする場合は{@link Locale#ROOT}
+         * @param texts keyと上書きする値
+         * @return builderクラス
+         * @throws IllegalArgumentException カタログに存在しないkeyを指定した場合
+         */
+        public Builder putAll(Locale locale, Map<String, String> texts) {
+            texts.forEach((key, text) -> this.put(locale, key, text));
+            return this;
+        }
+
+        /**
+         * 設定した値でインスタンスを構築します.
+         *
+         * @return 構築したインスタンス
+         */
+        public ResourceOverlay build() {
+            Map<Locale, String[]> _texts = new HashMap<>();
+            this.texts.forEach((locale, values) -> _texts.put(locale, values.clone()));
+            return new ResourceOverlay(this.catalog, Collections.unmodifiableMap(_texts));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 外部のディレクトリのPropertiesファイルの変更を監視して、再読み込みを呼び出すクラスです.
+ * <P>
+ * 監視はデーモンスレッドで行うため、再読み込みは参照するスレッドの処理を待たせません.<br>
+ * 保存時に続けて発生する変更は、変更が{@link #QUIET_MILLIS}ミリ秒途切れるまで待ってから1度だけ再読み込みします.
+ *
+ * @author Yamashita,Takahiro
+ */
+final class ResourceReloader implements Closeable {
+
+    /**
+     * 変更が途切れたと判定するまでの待機時間（ミリ秒）.
+     */
+    static final long QUIET_MILLIS = 200;
+
+    private final WatchService watchService;
+    private final String fileNamePrefix;
+    private final Runnable reload;
+    private final Thread thread;
+
+    /**
+     * 監視を開始します.
+     *
+     * @param directory 監視するディレクトリ
+     * @param fileNamePrefix 監視するPropertiesファイルのファイル名の接頭辞（BaseNameの末尾）
+     * @param reload 再読み込みの処理
+     * @throws IOException 監視を開始できない場合
+     */
+    ResourceReloader(Path directory, String fileNamePrefix, Runnable reload) throws IOException {
+        this.watchService = directory.getFileSystem().newWatchService();
+        this.fileNamePrefix = fileNamePrefix;
+        this.reload = reload;
+        directory.register(this.watchService,
+                           StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        this.thread = new Thread(this::watch, "resource-reloader-" + fileNamePrefix);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                boolean changed = this.poll(this.watchService.take());
+                WatchKey key;
+                while ((key = this.watchService.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= this.poll(key);
+                }
+                if (changed) {
+                    try {
+                        this.reload.run();
+                    } catch (RuntimeException ex) {
+                        // 解析できないファイルは次の変更まで読み込まず、読み込み済みの値を使用し続けます.
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ex) {
+            // 監視を終了します.
+        }
+    }
+
+    /**
+     * 監視しているPropertiesファイルの変更が含まれるかを判定します.
+     *
+     * @param key 変更を検知したキー
+     * @return 監視しているPropertiesファイルの変更が含まれる場合はtrue
+     */
+    private boolean poll(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed = true;
+                continue;
+            }
+            String fileName = event.context().toString();
+            if (fileName.equals(this.fileNamePrefix + ".properties")
+                || (fileName.startsWith(this.fileNamePrefix + "_") && fileName.endsWith(".properties"))) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    /**
+     * 監視を終了します.
+     *
+     * @throws IOException 監視の終了に失敗した場合
+     */
+    @Override
+    public void close() throws IOException {
+        this.thread.interrupt();
+        this.watchService.close();
+    }
+}
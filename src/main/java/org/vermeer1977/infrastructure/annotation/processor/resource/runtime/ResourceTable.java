@@ -0,0 +1,295 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * ロケール単位で解決したリソースの値を保持するクラスです.
+ * <P>
+ * 値はEnum定数の序数（ordinal）を添字として、親となるロケールの値と重ねて保持します（{@link ResourceTexts}）.<br>
+ * 書式化に使用する解析済みの書式は初回の書式化時に作成して保持します. 作成した書式は不変のため、同時に作成された場合もいずれかを保持するだけで結果は変わりません.<br>
+ * 書式は当該ロケールで書式化するためテーブル毎に保持して、書式を保持する配列も初回の書式化時に作成します.
+ * 値と値を符号化したバイト列は同じ値に解決されるロケールで共有するため、書式化しないロケールのテーブルは定数の数に比例する領域を持ちません.
+ *
+ * @author Yamashita,Takahiro
+ */
+final class ResourceTable {
+
+    private final Locale locale;
+    private final ResourceTexts texts;
+    private MessageTemplate[] templates;
+    private int maxLength = -1;
+    private Map<String, String> snapshot;
+    private volatile byte[] snapshotJson;
+
+    ResourceTable(Locale locale, ResourceTexts texts) {
+        this.locale = locale;
+        this.texts = texts;
+    }
+
+    /**
+     * 値を解決したロケールを返却します.
+     *
+     * @return ロケール
+     */
+    Locale getLocale() {
+        return this.locale;
+    }
+
+    /**
+     * 解決した値を返却します.
+     *
+     * @return 解決した値
+     */
+    ResourceTexts getTexts() {
+        return this.texts;
+    }
+
+    /**
+     * 序数に該当するリソースの値を返却します.
+     *
+     * @param ordinal Enum定数の序数
+     * @return リソースの値
+     */
+    String getString(int ordinal) {
+        return this.texts.get(ordinal);
+    }
+
+    /**
+     * 序数に該当するリソースの値の埋め込み文字を置換した文字列を返却します.
+     *
+     * @param ordinal Enum定数の序数
+     * @param params 埋め込み文字
+     * @return 埋め込み文字を置換した文字列
+     */
+    String format(int ordinal, Object... params) {
+        return this.getTemplate(ordinal).format(params);
+    }
+
+    /**
+     * 序数に該当するリソースの値の埋め込み文字を置換した文字列を返却します.
+     *
+     * @param ordinal Enum定数の序数
+     * @param count 埋め込み文字の数
+     * @param param0 埋め込み文字{@literal {0}}
+     * @param param1 埋め込み文字{@literal {1}}
+     * @param param2 埋め込み文字{@literal {2}}
+     * @param param3 埋め込み文字{@literal {3}}
+     * @return 埋め込み文字を置換した文字列
+     */
+    String format(int ordinal, int count, Object param0, Object param1, Object param2, Object param3) {
+        return this.getTemplate(ordinal).format(count, param0, param1, param2, param3);
+    }
+
+    /**
+     * 序数に該当するリソースの値の埋め込み文字を置換した文字列を追記します.
+     *
+     * @param ordinal Enum定数の序数
+     * @param sb 追記先
+     * @param params 埋め込み文字
+     */
+    void formatTo(int ordinal, StringBuilder sb, Object... params) {
+        this.getTemplate(ordinal).formatTo(sb, params);
+    }
+
+    /**
+     * 序数に該当するリソースの値の埋め込み文字を置換した文字列を追記します.
+     *
+     * @param ordinal Enum定数の序数
+     * @param out 追記先
+     * @param params 埋め込み文字
+     * @throws IOException 追記先への出力に失敗した場合
+     */
+    void appendTo(int ordinal, Appendable out, Object... params) throws IOException {
+        this.getTemplate(ordinal).appendTo(out, params);
+    }
+
+    /**
+     * 序数に該当するリソースの値の埋め込み文字を置換した文字列をUTF-8で書き込みます.
+     *
+     * @param ordinal Enum定数の序数
+     * @param dst 書き込み先
+     * @param params 埋め込み文字
+     */
+    void writeUtf8(int ordinal, ByteBuffer dst, Object... params) {
+        this.getTemplate(ordinal).writeUtf8(dst, params);
+    }
+
+    /**
+     * 序数に該当するリソースの値をUTF-8で符号化した読み取り専用のバッファを返却します.
+     * <P>
+     * 符号化したバイト列は初回の参照時に作成して値と同じ単位で保持し、参照の都度バイト列を参照するバッファを返却します.<br>
+     * バッファは位置と上限が可変のためスレッド間で共有せず、バイト列のみを他のスレッドから完成した状態で参照できるように保持します.
+     *
+     * @param ordinal Enum定数の序数
+     * @return リソースの値をUTF-8で符号化したバッファ
+     */
+    ByteBuffer toUtf8(int ordinal) {
+        return ByteBuffer.wrap(this.texts.getUtf8(ordinal)).asReadOnlyBuffer();
+    }
+
+    /**
+     * リソースの値の文字数の最大値を返却します.
+     * <P>
+     * 初回の参照時に算出して保持します. 同時に算出された場合も結果は変わりません.
+     *
+     * @return リソースの値の文字数の最大値
+     */
+    int maxLength() {
+        int _maxLength = this.maxLength;
+        if (_maxLength < 0) {
+            _maxLength = 0;
+            for (int i = 0; i < this.texts.size(); i++) {
+                _maxLength = Math.max(_maxLength, this.texts.get(i).length());
+            }
+            this.maxLength = _maxLength;
+        }
+        return _maxLength;
+    }
+
+    /**
+     * keyと値の変更不可のマップを返却します.
+     * <P>
+     * 初回の参照時に作成して保持します. 同時に作成された場合も結果は変わりません. マップはEnum定数の序数順に列挙します.
+     *
+     * @param keys Enum定数の序数順に並べたリソースのkey
+     * @return keyと値のマップ
+     */
+    Map<String, String> snapshot(IndexedStrings keys) {
+        Map<String, String> _snapshot = this.snapshot;
+        if (_snapshot == null) {
+            Map<String, String> map = new LinkedHashMap<>();
+            for (int i = 0; i < this.texts.size(); i++) {
+                map.put(keys.get(i), this.texts.get(i));
+            }
+            _snapshot = Collections.unmodifiableMap(map);
+            this.snapshot = _snapshot;
+        }
+        return _snapshot;
+    }
+
+    /**
+     * keyと値をJSONのオブジェクトとしてUTF-8で符号化した読み取り専用のバッファを返却します.
+     * <P>
+     * 符号化したバイト列は初回の参照時に作成して保持し、参照の都度バイト列を参照するバッファを返却します.
+     *
+     * @param keys Enum定数の序数順に並べたリソースのkey
+     * @return JSONのオブジェクトを符号化したバッファ
+     * @see #toUtf8(int)
+     */
+    ByteBuffer snapshotJson(IndexedStrings keys) {
+        byte[] json = this.snapshotJson;
+        if (json == null) {
+            StringBuilder sb = new StringBuilder(this.maxLength() * this.texts.size() / 2 + 2).append('{');
+            for (int i = 0; i < this.texts.size(); i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                appendJsonString(sb, keys.get(i)).append(':');
+                appendJsonString(sb, this.texts.get(i));
+            }
+            json = sb.append('}').toString().getBytes(StandardCharsets.UTF_8);
+            this.snapshotJson = json;
+        }
+        return ByteBuffer.wrap(json).asReadOnlyBuffer();
+    }
+
+    /**
+     * 文字列をJSONの文字列として追記します.
+     * <P>
+     * 制御文字と、JavaScriptの文字列リテラルで改行となるU+2028、U+2029はエスケープします.
+     *
+     * @param sb 追記先
+     * @param string 文字列
+     * @return 追記先
+     */
+    private static StringBuilder appendJsonString(StringBuilder sb, String string) {
+        sb.append('"');
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"');
+    }
+
+    /**
+     * 全ての値の書式を解析して保持します.
+     * <P>
+     * 以降の書式化は解析済みの書式を使用します. 書式として解析できない値は書式化の時点で例外とするため、ここでは解析しません.
+     */
+    void preload() {
+        for (int i = 0; i < this.texts.size(); i++) {
+            try {
+                this.getTemplate(i);
+            } catch (IllegalArgumentException ex) {
+                // 書式として解析できない値は書式化しない限り使用できるため、読み込みを継続します.
+            }
+        }
+    }
+
+    /**
+     * 序数に該当する解析済みの書式を返却します.
+     * <P>
+     * 初回の参照時に解析して、以降は同じインスタンスを返却します.<br>
+     * 保持する配列を同時に作成した場合はいずれかを保持して、保持しなかった配列の書式は次回の参照時に改めて解析します.
+     *
+     * @param ordinal Enum定数の序数
+     * @return 解析済みの書式
+     */
+    MessageTemplate getTemplate(int ordinal) {
+        MessageTemplate[] _templates = this.templates;
+        if (_templates == null) {
+            _templates = new MessageTemplate[this.texts.size()];
+            this.templates = _templates;
+        }
+        MessageTemplate template = _templates[ordinal];
+        if (template == null) {
+            template = MessageTemplate.of(this.texts.get(ordinal), this.locale);
+            _templates[ordinal] = template;
+        }
+        return template;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 参照したロケール毎に解決済みテーブルを保持するキャッシュです.
+ * <P>
+ * テーブルはConcurrentHashMapで保持して、上限の有無にかかわらず参照はロックしません.<br>
+ * 上限を設定した場合は、参照順を表す値をテーブル毎に保持して、上限を超えた場合は最も長く参照していないロケールを破棄します.
+ * 参照順の値は直前に参照したテーブルと異なる場合のみ更新するため、同じロケールを参照し続ける間は共有する値を書き換えません.
+ * 追加と破棄は当該キャッシュ単位で排他します. 破棄したロケールは次回の参照時に改めて解決します.
+ * <P>
+ * 参照件数はキャッシュを置き換えても累積するため、呼び出し元が保持する集計を使用します.
+ *
+ * @author Yamashita,Takahiro
+ */
+final class ResourceTableCache {
+
+    private final int maximumSize;
+    private final Map<Locale, Entry> tables;
+    private final AtomicLong clock;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    /**
+     * インスタンスを構築します.
+     *
+     * @param maximumSize 保持するロケールの上限. 0以下の場合は上限なし
+     * @param hits キャッシュに該当した件数の集計
+     * @param misses キャッシュに該当しなかった件数の集計
+     * @param evictions キャッシュから破棄した件数の集計
+     */
+    ResourceTableCache(int maximumSize, LongAdder hits, LongAdder misses, LongAdder evictions) {
+        this.maximumSize = maximumSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.tables = new ConcurrentHashMap<>();
+        this.clock = new AtomicLong();
+    }
+
+    /**
+     * ロケールに該当する解決済みテーブルを返却します.
+     * <P>
+     * 該当しない場合は解決してキャッシュに追加します. 上限を設定した場合、解決は排他せずに行い、同時に解決した場合は先に追加したテーブルを返却します.
+     *
+     * @param locale ロケール
+     * @param loader テーブルを解決する関数
+     * @return 解決済みテーブル
+     */
+    ResourceTable get(Locale locale, Function<Locale, ResourceTable> loader) {
+        Entry entry = this.tables.get(locale);
+        if (entry != null) {
+            this.hits.increment();
+            if (this.maximumSize > 0 && entry.accessed != this.clock.get()) {
+                entry.accessed = this.clock.incrementAndGet();
+            }
+            return entry.table;
+        }
+        this.misses.increment();
+        if (this.maximumSize <= 0) {
+            return this.tables.computeIfAbsent(locale, l -> new Entry(loader.apply(l), 0L)).table;
+        }
+        ResourceTable loaded = loader.apply(locale);
+        synchronized (this) {
+            Entry existing = this.tables.get(locale);
+            if (existing != null) {
+                return existing.table;
+            }
+            this.tables.put(locale, new Entry(loaded, this.clock.incrementAndGet()));
+            while (this.tables.size() > this.maximumSize) {
+                this.evictEldest();
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 最も長く参照していないロケールを破棄します.
+     */
+    private void evictEldest() {
+        Locale eldest = null;
+        long eldestAccessed = Long.MAX_VALUE;
+        for (Map.Entry<Locale, Entry> entry : this.tables.entrySet()) {
+            long accessed = entry.getValue().accessed;
+            if (accessed < eldestAccessed) {
+                eldest = entry.getKey();
+                eldestAccessed = accessed;
+            }
+        }
+        this.tables.remove(eldest);
+        this.evictions.increment();
+    }
+
+    /**
+     * キャッシュしているロケールを返却します.
+     *
+     * @return キャッシュしているロケールの複製
+     */
+    List<Locale> locales() {
+        return new ArrayList<>(this.tables.keySet());
+    }
+
+    /**
+     * キャッシュしているロケールの数を返却します.
+     *
+     * @return キャッシュしているロケールの数
+     */
+    int size() {
+        return this.tables.size();
+    }
+
+    /**
+     * 解決済みテーブルと、最後に参照した順を表す値の組み合わせです.
+     */
+    private static final class Entry {
+
+        private final ResourceTable table;
+        private volatile long accessed;
+
+        private Entry(ResourceTable table, long accessed) {
+            this.table = table;
+            this.accessed = accessed;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * ロケール単位で解決したリソースの値を、親となるロケールの値と重ねて保持するクラスです.
+ * <P>
+ * 当該ロケールで定義した値（差分）のみを保持して、定義していない値は親の値から解決します.<br>
+ * 差分は生成時に埋め込んだ値をそのまま参照するため、親と同じ値をロケール毎に複写しません.
+ * 同じ差分を参照するロケールは、切り出した文字列も同じインスタンスを共有します.<br>
+ * 値をUTF-8で符号化したバイト列も値と同じ単位で保持するため、同じ値に解決されるロケールは符号化したバイト列も共有します.
+ *
+ * @author Yamashita,Takahiro
+ */
+final class ResourceTexts {
+
+    private final IndexedStrings texts;
+    private final ResourceTexts parent;
+    private volatile AtomicReferenceArray<byte[]> utf8s;
+
+    /**
+     * インスタンスを構築します.
+     *
+     * @param texts 当該ロケールで定義した値. 定義していない要素はnull
+     * @param parent 親となるロケールの値. 親が無い場合はnull
+     */
+    ResourceTexts(IndexedStrings texts, ResourceTexts parent) {
+        this.texts = texts;
+        this.parent = parent;
+    }
+
+    /**
+     * 親となるロケールの値を返却します.
+     *
+     * @return 親となるロケールの値. 親が無い場合はnull
+     */
+    ResourceTexts getParent() {
+        return this.parent;
+    }
+
+    /**
+     * 値の数を返却します.
+     *
+     * @return 値の数
+     */
+    int size() {
+        return this.texts.size();
+    }
+
+    /**
+     * 序数に該当する値を返却します.
+     * <P>
+     * 当該ロケールで定義していない場合は、親の順に最初に定義している値を返却します.
+     *
+     * @param ordinal Enum定数の序数
+     * @return リソースの値. いずれのロケールも定義していない場合はnull
+     */
+    String get(int ordinal) {
+        for (ResourceTexts layer = this; layer != null; layer = layer.parent) {
+            String text = layer.texts.get(ordinal);
+            if (text != null) {
+                return text;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 序数に該当する値を生成時の値から解決するかを判定します.
+     * <P>
+     * 親の順に最初に定義している値が、親の無い値（生成時の値）の場合に該当します.
+     *
+     * @param ordinal Enum定数の序数
+     * @return 生成時の値から解決する場合はtrue
+     */
+    boolean isFallback(int ordinal) {
+        ResourceTexts layer = this;
+        while (layer.parent != null && layer.texts.get(ordinal) == null) {
+            layer = layer.parent;
+        }
+        return layer.parent == null;
+    }
+
+    /**
+     * 序数に該当する値をUTF-8で符号化したバイト列を返却します.
+     * <P>
+     * 初回の参照時に符号化して保持します. 保持する配列も初回の参照時に作成します.
+     *
+     * @param ordinal Enum定数の序数
+     * @return リソースの値をUTF-8で符号化したバイト列
+     */
+    byte[] getUtf8(int ordinal) {
+        AtomicReferenceArray<byte[]> _utf8s = this.utf8s;
+        if (_utf8s == null) {
+            synchronized (this) {
+                _utf8s = this.utf8s;
+                if (_utf8s == null) {
+                    _utf8s = new AtomicReferenceArray<>(this.size());
+                    this.utf8s = _utf8s;
+                }
+            }
+        }
+        byte[] utf8 = _utf8s.get(ordinal);
+        if (utf8 == null) {
+            utf8 = this.get(ordinal).getBytes(StandardCharsets.UTF_8);
+            _utf8s.set(ordinal, utf8);
+        }
+        return utf8;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+
+/**
+ * Controlを設定したカタログのResourceBundleのキャッシュを、他のResourceBundleと分けるためのクラスローダーです.
+ * <P>
+ * ResourceBundleのキャッシュはControlを区別せずにクラスローダー単位で保持するため、
+ * カタログの設定毎にインスタンスを作成して、クラスとリソースの参照は全て委譲先のクラスローダーに委譲します.<br>
+ * Controlを変更した場合は当該インスタンスのキャッシュのみを破棄するため、同じクラスローダーで解決した他のResourceBundleのキャッシュは破棄しません.<br>
+ * 委譲先のクラスローダーは弱参照で保持するため、再配備で破棄されたクラスローダーを保持し続けることはありません.
+ *
+ * @author Yamashita,Takahiro
+ */
+final class ScopedResourceLoader extends ClassLoader {
+
+    private final WeakReference<ClassLoader> delegate;
+
+    /**
+     * インスタンスを構築します.
+     *
+     * @param delegate 委譲先のクラスローダー
+     */
+    ScopedResourceLoader(ClassLoader delegate) {
+        super(null);
+        this.delegate = new WeakReference<>(delegate);
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        ClassLoader loader = this.delegate.get();
+        if (loader == null) {
+            throw new ClassNotFoundException(name);
+        }
+        return loader.loadClass(name);
+    }
+
+    @Override
+    protected URL findResource(String name) {
+        ClassLoader loader = this.delegate.get();
+        return loader == null ? null : loader.getResource(name);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * スレッド単位にロケールを提供するクラスです.
+ * <P>
+ * ロケールは{@link #call(java.util.Locale, java.util.function.Supplier)}の処理中のみ設定し、処理の終了時に元に戻します.<br>
+ * 処理の終了後にThreadLocalの値を残さないため、スレッドを大量に生成する場合（仮想スレッドなど）も値が蓄積しません.
+ *
+ * @author Yamashita,Takahiro
+ */
+public final class ThreadLocalLocaleProvider implements LocaleProvider {
+
+    private final ThreadLocal<Locale> locale = new ThreadLocal<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Locale getLocale() {
+        return this.locale.get();
+    }
+
+    /**
+     * ロケールを設定して処理を実行します.
+     *
+     * @param <T> 処理結果の型
+     * @param locale 処理中に使用するロケール
+     * @param supplier 処理
+     * @return 処理結果
+     */
+    public <T> T call(Locale locale, Supplier<T> supplier) {
+        Locale previous = this.locale.get();
+        this.locale.set(locale);
+        try {
+            return supplier.get();
+        } finally {
+            if (previous == null) {
+                this.locale.remove();
+            } else {
+                this.locale.set(previous);
+            }
+        }
+    }
+
+    /**
+     * ロケールを設定して処理を実行します.
+     *
+     * @param locale 処理中に使用するロケール
+     * @param runnable 処理
+     */
+    public void run(Locale locale, Runnable runnable) {
+        this.call(locale, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+/**
+ * ResourceBundleから生成したEnumClassが実行時に参照するクラスを提供します.<br>
+ * <p>
+ * 生成したEnumClassはリソースの値の解決とキャッシュを本パッケージのクラスに委譲します.<br>
+ * そのため、生成したEnumClassを使用する場合は実行時にも本ライブラリをクラスパスに含めてください.
+ * <p>
+ * 生成した全てのEnumClassに共通するロケールは{@link org.vermeer1977.infrastructure.annotation.processor.resource.runtime.ResourceContext}で設定します.<br>
+ * リクエスト単位などでロケールを切り替える場合は{@link org.vermeer1977.infrastructure.annotation.processor.resource.runtime.LocaleProvider}を設定してください.
+ *
+ * @see org.vermeer1977.infrastructure.annotation.processor.resource
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
@@ -1,97 +1,97 @@
-/*
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *      http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- *  Copyright © 2017 Yamashita,Takahiro
- */
-package org.vermeer1977.infrastructure.annotation.processor;
-
-import com.squareup.javapoet.JavaFile;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Locale;
-import java.util.Map;
-import javax.annotation.processing.Filer;
-import javax.annotation.processing.Messager;
-import javax.annotation.processing.ProcessingEnvironment;
-import javax.lang.model.SourceVersion;
-import javax.lang.model.element.Element;
-import javax.lang.model.util.Elements;
-import javax.lang.model.util.Types;
-import org.junit.Test;
-
-/**
- *
- * @author Yamashita,Takahiro
- */
-public class ClassFactoryManagerTest {
-
-    public ClassFactoryManagerTest() {
-    }
-
-    @Test
-    public void リストのappendの疎通() {
-
-        ProcessingEnvironment processingEnvironment = new ProcessingEnvironment() {
-            @Override
-            public Map<String, String> getOptions() {
-                throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-            }
-
-            @Override
-            public Messager getMessager() {
-                throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-            }
-
-            @Override
-            public Filer getFiler() {
-                throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-            }
-
-            @Override
-            public Elements getElementUtils() {
-                throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-            }
-
-            @Override
-            public Types getTypeUtils() {
-                throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-            }
-
-            @Override
-            public SourceVersion getSourceVersion() {
-                throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-            }
-
-            @Override
-            public Locale getLocale() {
-                throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-            }
-        };
-        List<AbstractClassFactory> classFactories = Arrays.asList(new AbstractClassFactory(Override.class) {
-            @Override
-            public List<JavaFile> toJavaFiles(Element element) {
-                throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-            }
-        });
-
-        ClassFactoryManager instance = ClassFactoryManager.of(processingEnvironment).append(classFactories).build();
-
-    }
-
-    @Test(expected = ClassFactoryException.class)
-    public void 初期値設定Ofの疎通() {
-        ClassFactoryManager.Builder result = ClassFactoryManager.of(null);
-    }
-
-}
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor;
+
+import com.squareup.javapoet.JavaFile;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import org.junit.Test;
+
+/**
+ *
+ * @author Yamashita,Takahiro
+ */
+public class ClassFactoryManagerTest {
+
+    public ClassFactoryManagerTest() {
+    }
+
+    @Test
+    public void リストのappendの疎通() {
+
+        ProcessingEnvironment processingEnvironment = new ProcessingEnvironment() {
+            @Override
+            public Map<String, String> getOptions() {
+                throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+            }
+
+            @Override
+            public Messager getMessager() {
+                throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+            }
+
+            @Override
+            public Filer getFiler() {
+                throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+            }
+
+            @Override
+            public Elements getElementUtils() {
+                throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+            }
+
+            @Override
+            public Types getTypeUtils() {
+                throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+            }
+
+            @Override
+            public SourceVersion getSourceVersion() {
+                throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+            }
+
+            @Override
+            public Locale getLocale() {
+                throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+            }
+        };
+        List<AbstractClassFactory> classFactories = Arrays.asList(new AbstractClassFactory(Override.class) {
+            @Override
+            public List<JavaFile> toJavaFiles(Element element) {
+                throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+            }
+        });
+
+        ClassFactoryManager instance = ClassFactoryManager.of(processingEnvironment).append(classFactories).build();
+
+    }
+
+    @Test(expected = ClassFactoryException.class)
+    public void 初期値設定Ofの疎通() {
+        ClassFactoryManager.Builder result = ClassFactoryManager.of(null);
+    }
+
+}
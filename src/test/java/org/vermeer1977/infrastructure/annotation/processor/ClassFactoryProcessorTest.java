@@ -1,87 +1,154 @@
-package org.vermeer1977.infrastructure.annotation.processor;
-
-import com.google.common.io.Resources;
-import com.google.common.truth.Truth;
-import com.google.testing.compile.JavaFileObjects;
-import com.google.testing.compile.JavaSourceSubjectFactory;
-import static org.hamcrest.CoreMatchers.containsString;
-import org.junit.Assert;
-import org.junit.Ignore;
-import org.junit.Test;
-
-/**
- *
- * @author Yamashita,Takahiro
- */
-public class ClassFactoryProcessorTest {
-
-    @Ignore
-    @Test
-    public void 新規クラス生成() {
-        Truth.assert_()
-                .about(JavaSourceSubjectFactory.javaSource())
-                .that(JavaFileObjects.forResource(Resources.getResource("SampleEnum.java")))
-                .processedWith(new ClassFactoryProcessor())
-                .compilesWithoutError()
-                .and()
-                .generatesSources(new SourceFileReader(Resources.getResource("Message.java")).toJavaFileObject());
-    }
-
-    @Test
-    public void フィールドに対象のアノテーションが存在しない() {
-        try {
-            Truth.assert_()
-                    .about(JavaSourceSubjectFactory.javaSource())
-                    .that(JavaFileObjects.forResource(Resources.getResource("NoTargetField.java")))
-                    .processedWith(new ClassFactoryProcessor())
-                    .compilesWithoutError();
-
-        } catch (java.lang.AssertionError e) {
-            Assert.assertThat(e.getMessage(), containsString("GenerateResourceEnum.class annotated. TargetResourceName.class annotated field is required."));
-        }
-    }
-
-    @Test
-    public void 親パッケージ指定なし_サブパッケージ指定なし() {
-        Truth.assert_()
-                .about(JavaSourceSubjectFactory.javaSource())
-                .that(JavaFileObjects.forResource(Resources.getResource("packagetest/SampleEnumPackage.java")))
-                .processedWith(new ClassFactoryProcessor())
-                .compilesWithoutError()
-                .and()
-                .generatesSources(new SourceFileReader(Resources.getResource("packagetest/sampleenumpackage/Message6.java")).toJavaFileObject());
-    }
-
-    @Test
-    public void 親パッケージ指定あり_サブパッケージ指定なし() {
-        Truth.assert_()
-                .about(JavaSourceSubjectFactory.javaSource())
-                .that(JavaFileObjects.forResource(Resources.getResource("packagetest/EnumBasePackageName.java")))
-                .processedWith(new ClassFactoryProcessor())
-                .compilesWithoutError()
-                .and()
-                .generatesSources(new SourceFileReader(Resources.getResource("basepackage/Message7.java")).toJavaFileObject());
-    }
-
-    @Test
-    public void 親パッケージ指定なし_サブパッケージ指定あり() {
-        Truth.assert_()
-                .about(JavaSourceSubjectFactory.javaSource())
-                .that(JavaFileObjects.forResource(Resources.getResource("packagetest/EnumSubPackageName.java")))
-                .processedWith(new ClassFactoryProcessor())
-                .compilesWithoutError()
-                .and()
-                .generatesSources(new SourceFileReader(Resources.getResource("packagetest/subpackage/Message8.java")).toJavaFileObject());
-    }
-
-    @Test
-    public void 親パッケージ指定あり_サブパッケージ指定あり() {
-        Truth.assert_()
-                .about(JavaSourceSubjectFactory.javaSource())
-                .that(JavaFileObjects.forResource(Resources.getResource("packagetest/EnumBaseSubPackageName.java")))
-                .processedWith(new ClassFactoryProcessor())
-                .compilesWithoutError()
-                .and()
-                .generatesSources(new SourceFileReader(Resources.getResource("basepackage/subpackage2/Message9.java")).toJavaFileObject());
-    }
-}
+package org.vermeer1977.infrastructure.annotation.processor;
+
+import com.google.common.io.Resources;
+import com.google.common.truth.Truth;
+import com.google.testing.compile.JavaFileObjects;
+import com.google.testing.compile.JavaSourceSubjectFactory;
+import javax.tools.StandardLocation;
+import static org.hamcrest.CoreMatchers.containsString;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ *
+ * @author Yamashita,Takahiro
+ */
+public class ClassFactoryProcessorTest {
+
+    @Ignore
+    @Test
+    public void 新規クラス生成() {
+        Truth.assert_()
+                .about(JavaSourceSubjectFactory.javaSource())
+                .that(JavaFileObjects.forResource(Resources.getResource("SampleEnum.java")))
+                .processedWith(new ClassFactoryProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(new SourceFileReader(Resources.getResource("Message.java")).toJavaFileObject());
+    }
+
+    @Test
+    public void フィールドに対象のアノテーションが存在しない() {
+        try {
+            Truth.assert_()
+                    .about(JavaSourceSubjectFactory.javaSource())
+                    .that(JavaFileObjects.forResource(Resources.getResource("NoTargetField.java")))
+                    .processedWith(new ClassFactoryProcessor())
+                    .compilesWithoutError();
+
+        } catch (java.lang.AssertionError e) {
+            Assert.assertThat(e.getMessage(), containsString("GenerateResourceEnum.class annotated. TargetResourceName.class annotated field is required."));
+        }
+    }
+
+    @Test
+    public void 親パッケージ指定なし_サブパッケージ指定なし() {
+        Truth.assert_()
+                .about(JavaSourceSubjectFactory.javaSource())
+                .that(JavaFileObjects.forResource(Resources.getResource("packagetest/SampleEnumPackage.java")))
+                .processedWith(new ClassFactoryProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(new SourceFileReader(Resources.getResource("packagetest/sampleenumpackage/Message6.java")).toJavaFileObject());
+    }
+
+    @Test
+    public void 親パッケージ指定あり_サブパッケージ指定なし() {
+        Truth.assert_()
+                .about(JavaSourceSubjectFactory.javaSource())
+                .that(JavaFileObjects.forResource(Resources.getResource("packagetest/EnumBasePackageName.java")))
+                .processedWith(new ClassFactoryProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(new SourceFileReader(Resources.getResource("basepackage/Message7.java")).toJavaFileObject());
+    }
+
+    @Test
+    public void 親パッケージ指定なし_サブパッケージ指定あり() {
+        Truth.assert_()
+                .about(JavaSourceSubjectFactory.javaSource())
+                .that(JavaFileObjects.forResource(Resources.getResource("packagetest/EnumSubPackageName.java")))
+                .processedWith(new ClassFactoryProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(new SourceFileReader(Resources.getResource("packagetest/subpackage/Message8.java")).toJavaFileObject());
+    }
+
+    @Test
+    public void 親パッケージ指定あり_サブパッケージ指定あり() {
+        Truth.assert_()
+                .about(JavaSourceSubjectFactory.javaSource())
+                .that(JavaFileObjects.forResource(Resources.getResource("packagetest/EnumBaseSubPackageName.java")))
+                .processedWith(new ClassFactoryProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(new SourceFileReader(Resources.getResource("basepackage/subpackage2/Message9.java")).toJavaFileObject());
+    }
+
+    @Test
+    public void ロケール毎の値を埋め込む() {
+        Truth.assert_()
+                .about(JavaSourceSubjectFactory.javaSource())
+                .that(JavaFileObjects.forResource(Resources.getResource("packagetest/EnumEmbedLocales.java")))
+                .processedWith(new ClassFactoryProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(new SourceFileReader(Resources.getResource("packagetest/enumembedlocales/Message5.java")).toJavaFileObject());
+    }
+
+    @Test
+    public void 埋め込み文字の数毎の書式化メソッドを生成() {
+        Truth.assert_()
+                .about(JavaSourceSubjectFactory.javaSource())
+                .that(JavaFileObjects.forResource(Resources.getResource("packagetest/EnumFormatArity.java")))
+                .processedWith(new ClassFactoryProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(new SourceFileReader(Resources.getResource("packagetest/enumformatarity/Message5.java")).toJavaFileObject());
+    }
+
+    @Test
+    public void keyと値を連結して保持するEnumを生成() {
+        Truth.assert_()
+                .about(JavaSourceSubjectFactory.javaSource())
+                .that(JavaFileObjects.forResource(Resources.getResource("packagetest/EnumCompact.java")))
+                .processedWith(new ClassFactoryProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(new SourceFileReader(Resources.getResource("packagetest/enumcompact/Message5.java")).toJavaFileObject());
+    }
+
+    @Test
+    public void ロケール毎の値をファイルに出力するEnumを生成() {
+        Truth.assert_()
+                .about(JavaSourceSubjectFactory.javaSource())
+                .that(JavaFileObjects.forResource(Resources.getResource("packagetest/EnumMapped.java")))
+                .processedWith(new ClassFactoryProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(new SourceFileReader(Resources.getResource("packagetest/enummapped/Message5.java")).toJavaFileObject())
+                .and()
+                .generatesFileNamed(StandardLocation.CLASS_OUTPUT, "packagetest.enummapped", "Message5.catalog");
+    }
+
+    @Test
+    public void 埋め込み文字の最大数が範囲外() {
+        Truth.assert_()
+                .about(JavaSourceSubjectFactory.javaSource())
+                .that(JavaFileObjects.forResource(Resources.getResource("packagetest/InvalidFormatArity.java")))
+                .processedWith(new ClassFactoryProcessor())
+                .failsToCompile()
+                .withErrorContaining("GenerateResourceEnum.class annotated. formatArity must be between 0 and 4.");
+    }
+
+    @Test
+    public void ファイルに出力した値を保持する件数が範囲外() {
+        Truth.assert_()
+                .about(JavaSourceSubjectFactory.javaSource())
+                .that(JavaFileObjects.forResource(Resources.getResource("packagetest/InvalidMappedCacheSize.java")))
+                .processedWith(new ClassFactoryProcessor())
+                .failsToCompile()
+                .withErrorContaining("GenerateResourceEnum.class annotated. mappedCacheSize must be 1 or more.");
+    }
+}
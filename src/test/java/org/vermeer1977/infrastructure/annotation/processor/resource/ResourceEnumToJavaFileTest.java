@@ -1,117 +1,252 @@
-/*
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *      http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- *  Copyright © 2017 Yamashita,Takahiro
- */
-package org.vermeer1977.infrastructure.annotation.processor.resource;
-
-import com.google.common.io.Resources;
-import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Locale;
-import java.util.ResourceBundle;
-import static org.hamcrest.CoreMatchers.is;
-import static org.hamcrest.CoreMatchers.not;
-import org.junit.Assert;
-import org.junit.Ignore;
-import org.junit.Test;
-import org.vermeer1977.infrastructure.annotation.processor.SourceFileReader;
-
-/**
- *
- * @author Yamashita,Takahiro
- */
-public class ResourceEnumToJavaFileTest {
-
-    @Ignore
-    @Test
-    public void 疎通() {
-        String resourceBaseName = "resource.message";
-        System.out.println(ResourceEnumToJavaFile.of(resourceBaseName).build().toSourceCode());
-    }
-
-    @Test(expected = java.util.MissingResourceException.class)
-    public void リソースが存在しない場合は例外スロー() {
-        String resourceBaseName = "resource.messagenotexist";
-        ResourceEnumToJavaFile.of(resourceBaseName).build().toJavaFile();
-    }
-
-    @Test
-    public void ロケールを指定_英語ロケールを参照_ロケール一致() throws IOException {
-        String resourceBaseName = "resource.message2";
-        String javaFile = ResourceEnumToJavaFile.of(resourceBaseName)
-                .locale(Locale.ENGLISH)
-                .build().toSourceCode();
-        String after = new SourceFileReader(Resources.getResource("Message2.java")).toSourceCode();
-        Assert.assertThat(javaFile, is(after));
-    }
-
-    @Test
-    public void ロケールを指定_英語ロケールを参照_ロケール不一致() throws IOException {
-        String resourceBaseName = "resource.message2";
-        String javaFile = ResourceEnumToJavaFile.of(resourceBaseName)
-                .build().toSourceCode();
-        String after = new SourceFileReader(Resources.getResource("Message2.java")).toSourceCode();
-        Assert.assertThat(javaFile, is(not(after)));
-    }
-
-    @Test
-    public void 存在しないロケール_デフォルトロケール_日本_が優先される() throws IOException {
-        String resourceBaseName = "resource.message3";
-        String javaFile = ResourceEnumToJavaFile.of(resourceBaseName)
-                .locale(Locale.ITALIAN)
-                .build().toSourceCode();
-        String after = new SourceFileReader(Resources.getResource("Message3.java")).toSourceCode();
-        Assert.assertThat(javaFile, is(after));
-    }
-
-    @Test
-    public void 存在しないロケール_ControlでFallbackを指定_デフォルトリソースが優先される() throws IOException {
-        String resourceBaseName = "resource.message4";
-        ResourceBundle.Control control = ResourceBundle.Control.getNoFallbackControl(
-                ResourceBundle.Control.FORMAT_DEFAULT);
-        String javaFile = ResourceEnumToJavaFile.of(resourceBaseName)
-                .locale(Locale.ITALIAN)
-                .control(control)
-                .build().toSourceCode();
-        String after = new SourceFileReader(Resources.getResource("Message4.java")).toSourceCode();
-        Assert.assertThat(javaFile, is(after));
-    }
-
-    @Test
-    public void ロケールを指定しない_Controlで優先ロケールを指定_英語を優先させる() throws IOException {
-        String resourceBaseName = "resource.message5";
-        ResourceBundle.Control control = new ResourceBundle.Control() {
-            @Override
-            public List<Locale> getCandidateLocales(
-                    String baseName, Locale locale) {
-                if (locale.equals(Locale.JAPAN)) {
-                    return Arrays.asList(Locale.ENGLISH,
-                                         locale,
-                                         Locale.JAPANESE,
-                                         Locale.ROOT);
-                } else {
-                    return super.getCandidateLocales(
-                            baseName, locale);
-                }
-            }
-        };
-        String javaFile = ResourceEnumToJavaFile.of(resourceBaseName)
-                .control(control)
-                .build().toSourceCode();
-        String after = new SourceFileReader(Resources.getResource("Message5.java")).toSourceCode();
-        Assert.assertThat(javaFile, is(after));
-    }
-}
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource;
+
+import com.google.common.io.Resources;
+import com.squareup.javapoet.JavaFile;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.vermeer1977.infrastructure.annotation.processor.ClassFactoryException;
+import org.vermeer1977.infrastructure.annotation.processor.SourceFileReader;
+import org.vermeer1977.infrastructure.annotation.processor.resource.runtime.MappedStrings;
+
+/**
+ *
+ * @author Yamashita,Takahiro
+ */
+public class ResourceEnumToJavaFileTest {
+
+    @After
+    public void tearDown() {
+        ResourceBundle.clearCache(ResourceEnumToJavaFile.class.getClassLoader());
+    }
+
+    @Ignore
+    @Test
+    public void 疎通() {
+        String resourceBaseName = "resource.message";
+        System.out.println(ResourceEnumToJavaFile.of(resourceBaseName).build().toSourceCode());
+    }
+
+    @Test(expected = java.util.MissingResourceException.class)
+    public void リソースが存在しない場合は例外スロー() {
+        String resourceBaseName = "resource.messagenotexist";
+        ResourceEnumToJavaFile.of(resourceBaseName).build().toJavaFile();
+    }
+
+    @Test
+    public void ロケールを指定_英語ロケールを参照_ロケール一致() throws IOException {
+        String resourceBaseName = "resource.message2";
+        String javaFile = ResourceEnumToJavaFile.of(resourceBaseName)
+                .locale(Locale.ENGLISH)
+                .build().toSourceCode();
+        String after = new SourceFileReader(Resources.getResource("Message2.java")).toSourceCode();
+        Assert.assertThat(javaFile, is(after));
+    }
+
+    @Test
+    public void ロケールを指定_英語ロケールを参照_ロケール不一致() throws IOException {
+        String resourceBaseName = "resource.message2";
+        String javaFile = ResourceEnumToJavaFile.of(resourceBaseName)
+                .build().toSourceCode();
+        String after = new SourceFileReader(Resources.getResource("Message2.java")).toSourceCode();
+        Assert.assertThat(javaFile, is(not(after)));
+    }
+
+    @Test
+    public void 存在しないロケール_デフォルトロケール_日本_が優先される() throws IOException {
+        String resourceBaseName = "resource.message3";
+        String javaFile = ResourceEnumToJavaFile.of(resourceBaseName)
+                .locale(Locale.ITALIAN)
+                .build().toSourceCode();
+        String after = new SourceFileReader(Resources.getResource("Message3.java")).toSourceCode();
+        Assert.assertThat(javaFile, is(after));
+    }
+
+    @Test
+    public void 存在しないロケール_ControlでFallbackを指定_デフォルトリソースが優先される() throws IOException {
+        String resourceBaseName = "resource.message4";
+        ResourceBundle.Control control = ResourceBundle.Control.getNoFallbackControl(
+                ResourceBundle.Control.FORMAT_DEFAULT);
+        String javaFile = ResourceEnumToJavaFile.of(resourceBaseName)
+                .locale(Locale.ITALIAN)
+                .control(control)
+                .build().toSourceCode();
+        String after = new SourceFileReader(Resources.getResource("Message4.java")).toSourceCode();
+        Assert.assertThat(javaFile, is(after));
+    }
+
+    @Test
+    public void ロケールを指定しない_Controlで優先ロケールを指定_英語を優先させる() throws IOException {
+        String resourceBaseName = "resource.message5";
+        ResourceBundle.Control control = new ResourceBundle.Control() {
+            @Override
+            public List<Locale> getCandidateLocales(
+                    String baseName, Locale locale) {
+                if (locale.equals(Locale.JAPAN)) {
+                    return Arrays.asList(Locale.ENGLISH,
+                                         locale,
+                                         Locale.JAPANESE,
+                                         Locale.ROOT);
+                } else {
+                    return super.getCandidateLocales(
+                            baseName, locale);
+                }
+            }
+        };
+        String javaFile = ResourceEnumToJavaFile.of(resourceBaseName)
+                .control(control)
+                .build().toSourceCode();
+        String after = new SourceFileReader(Resources.getResource("Message5.java")).toSourceCode();
+        Assert.assertThat(javaFile, is(after));
+    }
+
+    @Test
+    public void 分割する単位を指定_定数の値を分割したクラスで保持() throws IOException {
+        String resourceBaseName = "resource.message5";
+        String javaFile = ResourceEnumToJavaFile.of(resourceBaseName)
+                .packageName("chunked")
+                .embedLocales(true)
+                .chunkSize(1)
+                .build().toSourceCode();
+        String after = new SourceFileReader(Resources.getResource("chunked/Message5.java")).toSourceCode();
+        Assert.assertThat(javaFile, is(after));
+    }
+
+    @Test
+    public void ロケール毎の値を埋め込む_親と同じ値は埋め込まない() throws IOException {
+        String resourceBaseName = "resource.message10";
+        String javaFile = ResourceEnumToJavaFile.of(resourceBaseName)
+                .packageName("delta")
+                .embedLocales(true)
+                .build().toSourceCode();
+        String after = new SourceFileReader(Resources.getResource("delta/Message10.java")).toSourceCode();
+        Assert.assertThat(javaFile, is(after));
+    }
+
+    @Test
+    public void ロケール毎の値をファイルに出力_ファイルを参照するEnumを生成() throws IOException {
+        String resourceBaseName = "resource.message10";
+        ResourceEnumToJavaFile resourceEnumToJavaFile = ResourceEnumToJavaFile.of(resourceBaseName)
+                .packageName("mapped")
+                .mapped(true, 16)
+                .build();
+        String after = new SourceFileReader(Resources.getResource("mapped/Message10.java")).toSourceCode();
+        Assert.assertThat(resourceEnumToJavaFile.toSourceCode(), is(after));
+        Assert.assertThat(resourceEnumToJavaFile.toMappedCatalogName(), is("Message10.catalog"));
+        ByteBuffer catalog = ByteBuffer.wrap(resourceEnumToJavaFile.toMappedCatalog());
+        Assert.assertThat(catalog.getInt(0), is(MappedStrings.MAGIC));
+        Assert.assertThat(catalog.getInt(12), is(3));
+    }
+
+    @Test
+    public void ロケール毎の値を埋め込まない_Propertiesファイルを検出しない() {
+        // message11_fr.propertiesは解析できない値のため、検出して読み込んだ場合は例外となります.
+        String javaFile = ResourceEnumToJavaFile.of("resource.message11").build().toSourceCode();
+        Assert.assertThat(javaFile.contains("MSG111"), is(true));
+        Assert.assertThat(javaFile.contains(".supportedLocale("), is(false));
+    }
+
+    @Test(expected = ClassFactoryException.class)
+    public void ファイルに出力_復号した値を保持する件数が0_例外() {
+        ResourceEnumToJavaFile.of("resource.message10").mapped(true, 0).build();
+    }
+
+    @Test
+    public void 参照件数を数える_参照件数を返却するEnumを生成() throws IOException {
+        String resourceBaseName = "resource.message2";
+        String javaFile = ResourceEnumToJavaFile.of(resourceBaseName)
+                .packageName("metrics")
+                .metrics(true, true)
+                .build().toSourceCode();
+        String after = new SourceFileReader(Resources.getResource("metrics/Message2.java")).toSourceCode();
+        Assert.assertThat(javaFile, is(after));
+    }
+
+    @Test
+    public void keyがEnumに収まらないリソース_定数をインターフェースに分けたクラスを生成してコンパイル可能() throws Exception {
+        int keyCount = 12000;
+        ResourceBundle.Control control = new ResourceBundle.Control() {
+            @Override
+            public ResourceBundle newBundle(String baseName, Locale locale, String format, ClassLoader loader, boolean reload) {
+                if (locale.equals(Locale.ROOT) == false) {
+                    return null;
+                }
+                return new ListResourceBundle() {
+                    @Override
+                    protected Object[][] getContents() {
+                        return IntStream.range(0, keyCount)
+                                .mapToObj(i -> new Object[]{String.format("msg%05d", i), "message" + i + "{0}"})
+                                .toArray(Object[][]::new);
+                    }
+                };
+            }
+        };
+        List<JavaFile> javaFiles = ResourceEnumToJavaFile.of("resource.large")
+                .packageName("large")
+                .control(control)
+                .build().toJavaFiles();
+        Assert.assertThat(javaFiles.size(), is(4));
+        Assert.assertThat(javaFiles.get(0).toString().contains("public final class Large implements LargeConstants0, LargeConstants1, LargeConstants2 {"), is(true));
+
+        Path dir = Files.createTempDirectory("large");
+        for (JavaFile javaFile : javaFiles) {
+            javaFile.writeTo(dir);
+        }
+        List<String> args = Files.walk(dir)
+                .filter(path -> path.toString().endsWith(".java"))
+                .map(Path::toString)
+                .collect(Collectors.toList());
+        args.addAll(0, Arrays.asList("-nowarn", "-encoding", "UTF-8", "-proc:none", "-cp", System.getProperty("java.class.path"), "-d", dir.toString()));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Assert.assertThat(compiler.run(null, null, null, args.toArray(new String[0])), is(0));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{dir.toUri().toURL()}, ResourceEnumToJavaFile.class.getClassLoader())) {
+            Class<?> large = loader.loadClass("large.Large");
+            large.getMethod("setControl", ResourceBundle.Control.class).invoke(null, control);
+            Object last = large.getField("MSG11999").get(null);
+            Assert.assertThat(large.getMethod("getKey").invoke(last), is("msg11999"));
+            Assert.assertThat(large.getMethod("ordinal").invoke(last), is(11999));
+            Assert.assertThat(large.getMethod("name").invoke(last), is("MSG11999"));
+            Assert.assertThat(large.getMethod("format", Object[].class).invoke(last, (Object) new Object[]{"!"}), is("message11999!"));
+            Assert.assertThat(Array.getLength(large.getMethod("values").invoke(null)), is(keyCount));
+            Assert.assertThat(Array.get(large.getMethod("values").invoke(null), 0), is(large.getField("MSG00000").get(null)));
+        }
+        Files.walk(dir).sorted((a, b) -> b.compareTo(a)).map(Path::toFile).forEach(File::delete);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.lang.management.ManagementFactory;
+import java.text.MessageFormat;
+import java.util.Locale;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 書式化1回あたりに生成するオブジェクトのバイト数を、キャッシュ導入前の{@link MessageFormat#format(java.lang.String, java.lang.Object...)}と比較します.
+ * <P>
+ * スレッド単位の割り当てバイト数を取得できないJVMの場合は計測しません.<br>
+ * 計測はJITの状態に依存するため通常のテストでは実行せず、{@code mvn -P benchmark test}で実行します.
+ *
+ * @author Yamashita,Takahiro
+ */
+public class FormatAllocationBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int MEASURE = 100_000;
+
+    enum Sample {
+        MSG552("msg552", "message552{0}and{1}");
+
+        private final String key;
+        private final String value;
+
+        private Sample(String key, String value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    @Test
+    public void キャッシュした書式_MessageFormatよりも生成するオブジェクトが少ない() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean == false) {
+            return;
+        }
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (threadMXBean.isThreadAllocatedMemorySupported() == false || threadMXBean.isThreadAllocatedMemoryEnabled() == false) {
+            return;
+        }
+        ResourceCatalog catalog = ResourceCatalog.of(Sample.class, "resource.message5").entries(e -> e.key, e -> e.value).build();
+        catalog.setLocale(Locale.JAPAN);
+        String pattern = catalog.getString(Sample.MSG552.ordinal());
+        Object[] params = {"first", "second"};
+
+        long messageFormat = this.allocatedBytesPerCall(threadMXBean, () -> MessageFormat.format(pattern, params));
+        long cached = this.allocatedBytesPerCall(threadMXBean, () -> catalog.format(Sample.MSG552.ordinal(), params));
+
+        System.out.println("MessageFormat#format : " + messageFormat + " bytes/op");
+        System.out.println("ResourceCatalog#format : " + cached + " bytes/op");
+        Assert.assertTrue("cached=" + cached + ", messageFormat=" + messageFormat, cached < messageFormat);
+    }
+
+    private long allocatedBytesPerCall(com.sun.management.ThreadMXBean threadMXBean, Runnable runnable) {
+        for (int i = 0; i < WARMUP; i++) {
+            runnable.run();
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURE; i++) {
+            runnable.run();
+        }
+        return (threadMXBean.getThreadAllocatedBytes(threadId) - before) / MEASURE;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.util.Locale;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import org.junit.Test;
+
+/**
+ * 書式化で解析済みの書式を再利用すること、埋め込み文字を配列にせずに書式化することを確認します.
+ *
+ * @author Yamashita,Takahiro
+ */
+public class FormatCacheTest {
+
+    enum Sample {
+        MSG552("msg552", "message552{0}and{1}");
+
+        private final String key;
+        private final String value;
+
+        private Sample(String key, String value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    @Test
+    public void キャッシュした書式_書式化の都度同じインスタンスを再利用() {
+        ResourceCatalog catalog = ResourceCatalog.of(Sample.class, "resource.message5").entries(e -> e.key, e -> e.value).build();
+        catalog.setLocale(Locale.JAPAN);
+        int ordinal = Sample.MSG552.ordinal();
+
+        assertThat(catalog.format(ordinal, new Object[]{"first", "second"}), is("メッセージ552firstandsecond"));
+        ResourceTable table = catalog.getTable();
+        MessageTemplate template = table.getTemplate(ordinal);
+
+        assertThat(catalog.format(ordinal, new Object[]{"third", "fourth"}), is("メッセージ552thirdandfourth"));
+        assertThat(catalog.getTable(), is(sameInstance(table)));
+        assertThat(table.getTemplate(ordinal), is(sameInstance(template)));
+    }
+
+    @Test
+    public void 埋め込み文字を配列にせずに書式化_書式の指定を含まない場合はMessageFormatを使用しない() {
+        ResourceCatalog catalog = ResourceCatalog.of(Sample.class, "resource.message5").entries(e -> e.key, e -> e.value).build();
+        catalog.setLocale(Locale.JAPAN);
+        int ordinal = Sample.MSG552.ordinal();
+
+        assertThat(catalog.format(ordinal, "first", "second"), is("メッセージ552firstandsecond"));
+        assertThat(catalog.getTable().getTemplate(ordinal).isPlain(), is(true));
+        assertThat(MessageTemplate.of("message{0}and{1}", Locale.JAPAN).isPlain(), is(true));
+        assertThat(MessageTemplate.of("message{0,number}and{1}", Locale.JAPAN).isPlain(), is(false));
+    }
+}
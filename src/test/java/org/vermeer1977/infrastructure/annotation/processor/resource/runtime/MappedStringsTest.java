@@ -0,0 +1,95 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Yamashita,Takahiro
+ */
+public class MappedStringsTest {
+
+    private Map<Locale, MappedStrings> open(List<Locale> locales, List<List<String>> texts, int cacheSize) throws IOException {
+        return this.open(locales, texts, texts.get(0).size(), cacheSize);
+    }
+
+    private Map<Locale, MappedStrings> open(List<Locale> locales, List<List<String>> texts, int keyCount, int cacheSize) throws IOException {
+        Path file = Files.createTempFile("mapped", ".catalog");
+        try {
+            Files.write(file, MappedStrings.encode(locales, texts));
+            return MappedStrings.open(file.toUri().toURL(), keyCount, cacheSize);
+        } finally {
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    @Test
+    public void 出力したファイルをメモリマップ_ロケール毎に出力前の文字列を返却() throws IOException {
+        List<String> root = Arrays.asList("msg001", "", "メッセージ{0}");
+        List<String> english = Arrays.asList("message001", null, "メッセージ{0}");
+        Map<Locale, MappedStrings> mapped = this.open(Arrays.asList(Locale.ROOT, Locale.US), Arrays.asList(root, english), 0);
+        Assert.assertThat(mapped.keySet().toArray(), is(new Object[]{Locale.ROOT, Locale.US}));
+        for (int i = 0; i < root.size(); i++) {
+            Assert.assertThat(mapped.get(Locale.ROOT).get(i), is(root.get(i)));
+            Assert.assertThat(mapped.get(Locale.US).get(i), is(english.get(i)));
+        }
+        Assert.assertThat(mapped.get(Locale.US).get(1), is(nullValue()));
+        Assert.assertThat(mapped.get(Locale.US).size(), is(3));
+    }
+
+    @Test
+    public void 同じ値_1度のみ出力() {
+        byte[] once = MappedStrings.encode(Arrays.asList(Locale.ROOT), Arrays.asList(Arrays.asList("message", null)));
+        byte[] twice = MappedStrings.encode(Arrays.asList(Locale.ROOT), Arrays.asList(Arrays.asList("message", "message")));
+        Assert.assertThat(twice.length, is(once.length));
+    }
+
+    @Test
+    public void 復号した値を保持_同じ添字は保持した文字列を返却() throws IOException {
+        Map<Locale, MappedStrings> mapped = this.open(Arrays.asList(Locale.ROOT), Arrays.asList(Arrays.asList("msg001", "msg002")), 4);
+        MappedStrings texts = mapped.get(Locale.ROOT);
+        Assert.assertThat(texts.get(1), is(sameInstance(texts.get(1))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void 形式が異なるファイル_例外() throws IOException {
+        Path file = Files.createTempFile("mapped", ".catalog");
+        try {
+            Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+            MappedStrings.open(file.toUri().toURL(), 0, 0);
+        } finally {
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void keyの数が異なるファイル_例外() throws IOException {
+        this.open(Arrays.asList(Locale.ROOT), Arrays.asList(Arrays.asList("msg001", "msg002")), 3, 0);
+    }
+}
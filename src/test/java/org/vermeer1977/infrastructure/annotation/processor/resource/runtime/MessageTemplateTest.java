@@ -0,0 +1,153 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import static org.hamcrest.CoreMatchers.is;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Yamashita,Takahiro
+ */
+public class MessageTemplateTest {
+
+    private static final List<String> PATTERNS = Arrays.asList(
+            "",
+            "message",
+            "{0}",
+            "message{0}and{1}",
+            "{1}{0}{1}",
+            "{2}only",
+            "it''s {0}",
+            "'{0}' is {0}",
+            "'it''s' {0}",
+            "unclosed '{0}",
+            "close } {0}",
+            "{0,number,#.##} and {1}",
+            "{0,choice,0#none|1#one|1<many}",
+            "{0,date,short}"
+    );
+
+    private static final List<Object[]> PARAMS = Arrays.asList(
+            new Object[]{},
+            new Object[]{"a"},
+            new Object[]{"a", "b", "c"},
+            new Object[]{null, "b"},
+            new Object[]{1234567, new BigDecimal("1234.5678")},
+            new Object[]{new Date(0L), 'c', Arrays.asList(1, 2)}
+    );
+
+    @Test
+    public void 書式化_MessageFormatと同じ文字列を返却() {
+        for (Locale locale : Arrays.asList(Locale.JAPAN, Locale.US, Locale.GERMANY)) {
+            for (String pattern : PATTERNS) {
+                MessageTemplate template = MessageTemplate.of(pattern, locale);
+                for (Object[] params : PARAMS) {
+                    String message = locale + ":" + pattern + ":" + Arrays.toString(params);
+                    String expected;
+                    try {
+                        expected = new MessageFormat(pattern, locale).format(params);
+                    } catch (IllegalArgumentException ex) {
+                        try {
+                            template.format(params);
+                            Assert.fail(message);
+                        } catch (IllegalArgumentException expectedEx) {
+                        }
+                        continue;
+                    }
+                    Assert.assertThat(message, template.format(params), is(expected));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void 追記先へ書式化_書式化した文字列と同じ文字列を追記() throws IOException {
+        for (String pattern : PATTERNS) {
+            MessageTemplate template = MessageTemplate.of(pattern, Locale.JAPAN);
+            Object[] params = {"a", "b", "c"};
+            if (pattern.contains(",")) {
+                params = new Object[]{1, 2, 3};
+            }
+            StringBuilder sb = new StringBuilder("prefix:");
+            template.formatTo(sb, params);
+            Assert.assertThat(pattern, sb.toString(), is("prefix:" + template.format(params)));
+
+            StringWriter writer = new StringWriter();
+            template.appendTo(writer, params);
+            Assert.assertThat(pattern, writer.toString(), is(template.format(params)));
+        }
+    }
+
+    @Test
+    public void UTF8で書き込み_書式化した文字列を符号化した値と同じ() {
+        List<Object[]> params = Arrays.asList(
+                new Object[]{"a", "b"},
+                new Object[]{"\u00e9\u3042", "\ud83d\ude00"},
+                new Object[]{"\ud83d", "x\ude00"},
+                new Object[]{1234567, null}
+        );
+        for (String pattern : Arrays.asList("メッセージ{0}と{1}", "{0}", "no argument", "{0,number} and {1}")) {
+            MessageTemplate template = MessageTemplate.of(pattern, Locale.JAPAN);
+            for (Object[] param : params) {
+                if (pattern.contains(",") && param[0] instanceof String) {
+                    continue;
+                }
+                ByteBuffer dst = ByteBuffer.allocate(256);
+                template.writeUtf8(dst, param);
+                dst.flip();
+                byte[] actual = new byte[dst.remaining()];
+                dst.get(actual);
+                Assert.assertArrayEquals(pattern + Arrays.toString(param), template.format(param).getBytes(StandardCharsets.UTF_8), actual);
+            }
+        }
+    }
+
+    @Test
+    public void 埋め込み文字の数_最大の番号に1を加えた値() {
+        Assert.assertThat(MessageTemplate.of("message", Locale.ROOT).getArgumentCount(), is(0));
+        Assert.assertThat(MessageTemplate.of("message{0}and{1}", Locale.ROOT).getArgumentCount(), is(2));
+        Assert.assertThat(MessageTemplate.of("{1}{0}{1}", Locale.ROOT).getArgumentCount(), is(2));
+        Assert.assertThat(MessageTemplate.of("{2}only", Locale.ROOT).getArgumentCount(), is(3));
+        Assert.assertThat(MessageTemplate.of("'{0}' is not argument", Locale.ROOT).getArgumentCount(), is(0));
+        Assert.assertThat(MessageTemplate.of("{0,number} and {1}", Locale.ROOT).getArgumentCount(), is(2));
+    }
+
+    @Test
+    public void 埋め込み文字の数_重複と使用しない番号を含む場合も最大の番号に1を加えた値() {
+        MessageTemplate template = MessageTemplate.of("{0}{0}{2}", Locale.ROOT);
+        Assert.assertThat(template.getArgumentCount(), is(3));
+        Assert.assertThat(template.format(3, "a", "b", "c", null), is("aac"));
+        Assert.assertThat(template.format("a", "b", "c"), is("aac"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void 不正な書式_例外() {
+        MessageTemplate.of("unmatched {0", Locale.ROOT);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Yamashita,Takahiro
+ */
+public class PackedStringsTest {
+
+    private PackedStrings pack(List<String> strings) {
+        return PackedStrings.of(PackedStrings.encodeLengths(strings), PackedStrings.encodeSegments(strings).toArray(new String[0]));
+    }
+
+    @Test
+    public void 連結した文字列_連結前の文字列を返却() {
+        List<String> strings = Arrays.asList("msg001", "", null, "メッセージ{0}", "a,b");
+        PackedStrings packed = this.pack(strings);
+        Assert.assertThat(packed.size(), is(strings.size()));
+        Assert.assertThat(Arrays.asList(packed.toArray()), is(strings));
+    }
+
+    @Test
+    public void 同じ添字を参照_初回に切り出した文字列を返却() {
+        PackedStrings packed = this.pack(Arrays.asList("msg001", "msg002"));
+        Assert.assertThat(packed.get(1), sameInstance(packed.get(1)));
+    }
+
+    @Test
+    public void 分割する文字数を超える文字列_サロゲートペアを分割せずに連結前の文字列を返却() {
+        StringBuilder sb = new StringBuilder("a");
+        for (int i = 0; i < PackedStrings.MAX_SEGMENT_LENGTH; i++) {
+            sb.append("𠮷");
+        }
+        List<String> strings = Arrays.asList(sb.toString(), "msg002");
+        List<String> segments = PackedStrings.encodeSegments(strings);
+        Assert.assertThat(segments.size(), is(3));
+        for (String segment : segments) {
+            Assert.assertThat(Character.isHighSurrogate(segment.charAt(segment.length() - 1)), is(false));
+        }
+        Assert.assertThat(Arrays.asList(this.pack(strings).toArray()), is(strings));
+    }
+
+    @Test
+    public void 昇順の文字列から検索_該当する添字を返却() {
+        List<String> strings = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            strings.add(String.format("msg%03d", i * 2));
+        }
+        PackedStrings packed = this.pack(strings);
+        Assert.assertThat(packed.isSorted(), is(true));
+        for (int i = 0; i < strings.size(); i++) {
+            Assert.assertThat(packed.indexOf(strings.get(i), true), is(i));
+        }
+        Assert.assertThat(packed.indexOf("msg001", true), is(-1));
+        Assert.assertThat(packed.indexOf("msg", true), is(-1));
+        Assert.assertThat(packed.indexOf("msg9999", true), is(-1));
+        Assert.assertThat(packed.indexOf(null, true), is(-1));
+        Assert.assertThat(packed.get(0), is("msg000"));
+        Assert.assertThat(packed.indexOf("msg000", true), is(0));
+    }
+
+    @Test
+    public void 昇順でない文字列から検索_該当する添字を返却() {
+        PackedStrings packed = this.pack(Arrays.asList("msg002", null, "msg001"));
+        Assert.assertThat(packed.isSorted(), is(false));
+        Assert.assertThat(packed.indexOf("msg001", false), is(2));
+        Assert.assertThat(packed.indexOf("msg003", false), is(-1));
+    }
+
+    @Test
+    public void 文字列が無い_空の文字列を返却() {
+        PackedStrings packed = this.pack(Collections.emptyList());
+        Assert.assertThat(packed.size(), is(0));
+        Assert.assertThat(packed.indexOf("msg001", true), is(-1));
+    }
+
+    @Test
+    public void nullのみ_nullを返却() {
+        PackedStrings packed = this.pack(Collections.singletonList(null));
+        Assert.assertThat(packed.size(), is(1));
+        Assert.assertThat(packed.get(0), is(nullValue()));
+    }
+
+    @Test
+    public void 数値の一覧_編集前の数値を返却() {
+        int[] values = PackedStrings.decodeInts(PackedStrings.encodeInts(Arrays.asList(0, 12, -1, 3)));
+        Assert.assertThat(Arrays.toString(values), is("[0, 12, -1, 3]"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void 長さと連結した文字列が不一致_例外() {
+        PackedStrings.of("1,2", "ab");
+    }
+}
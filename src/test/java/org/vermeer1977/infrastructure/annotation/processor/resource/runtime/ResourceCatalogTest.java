@@ -0,0 +1,606 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Yamashita,Takahiro
+ */
+public class ResourceCatalogTest {
+
+    enum Sample {
+        MSG551("msg551", "default551"),
+        MSG552("msg552", "default552{0}and{1}"),
+        MSGNONE("msgnone", "defaultnone");
+
+        private final String key;
+        private final String value;
+
+        private Sample(String key, String value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    @After
+    public void tearDown() {
+        ResourceBundle.clearCache(Sample.class.getClassLoader());
+    }
+
+    private ResourceCatalog catalog(String baseName) {
+        return ResourceCatalog.of(Sample.class, baseName).entries(e -> e.key, e -> e.value).build();
+    }
+
+    private ResourceCatalog embeddedCatalog() {
+        return ResourceCatalog.of(Sample.class, "resource.message5").entries(e -> e.key, e -> e.value)
+                .embed(Locale.ROOT, "デフォルト551", "デフォルト552{0}and{1}", null)
+                .embed(Locale.ENGLISH, "message551", "message552{0}and{1}", null)
+                .embed(Locale.JAPAN, "メッセージ551", "メッセージ552{0}and{1}", null)
+                .build();
+    }
+
+    private ResourceCatalog.Builder<Sample> supported(ResourceCatalog.Builder<Sample> builder) {
+        return builder
+                .supportedLocale(Locale.ROOT)
+                .supportedLocale(Locale.ENGLISH, 0)
+                .supportedLocale(Locale.JAPAN, 0);
+    }
+
+    private void assertSameAsResourceBundle(ResourceBundle.Control control) {
+        ResourceCatalog catalog = this.catalog("resource.message5");
+        List<ResourceCatalog> resolved = Arrays.asList(
+                this.embeddedCatalog(),
+                this.supported(ResourceCatalog.of(Sample.class, "resource.message5").entries(e -> e.key, e -> e.value)
+                        .embed(Locale.ROOT, "デフォルト551", "デフォルト552{0}and{1}", null)
+                        .embed(Locale.ENGLISH, "message551", "message552{0}and{1}", null)
+                        .embed(Locale.JAPAN, "メッセージ551", "メッセージ552{0}and{1}", null)).build(),
+                this.supported(ResourceCatalog.of(Sample.class, "resource.message5").entries(e -> e.key, e -> e.value)).build());
+        catalog.setControl(control);
+        resolved.forEach(c -> c.setControl(control));
+        for (Locale locale : Arrays.asList(Locale.ROOT, Locale.ENGLISH, Locale.US, Locale.UK, Locale.JAPAN, Locale.JAPANESE, Locale.ITALIAN)) {
+            catalog.setLocale(locale);
+            for (int i = 0; i < resolved.size(); i++) {
+                resolved.get(i).setLocale(locale);
+                for (Sample sample : Sample.values()) {
+                    Assert.assertThat(i + ":" + locale + ":" + sample, resolved.get(i).getString(sample.ordinal()), is(catalog.getString(sample.ordinal())));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void ロケールを指定_指定したロケールの値を返却() {
+        ResourceCatalog catalog = this.catalog("resource.message5");
+        catalog.setLocale(Locale.ENGLISH);
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal()), is("message551"));
+        Assert.assertThat(catalog.getString(Sample.MSG552.ordinal()), is("message552{0}and{1}"));
+    }
+
+    @Test
+    public void ロケールを変更_変更後のロケールの値を返却() {
+        ResourceCatalog catalog = this.catalog("resource.message5");
+        catalog.setLocale(Locale.ENGLISH);
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal()), is("message551"));
+        catalog.setLocale(Locale.JAPAN);
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal()), is("メッセージ551"));
+    }
+
+    @Test
+    public void Controlを変更_変更後のControlで解決した値を返却() {
+        ResourceCatalog catalog = this.catalog("resource.message5");
+        catalog.setLocale(Locale.JAPAN);
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal()), is("メッセージ551"));
+        catalog.setControl(new ResourceBundle.Control() {
+            @Override
+            public List<Locale> getCandidateLocales(String baseName, Locale locale) {
+                return Arrays.asList(Locale.ENGLISH, Locale.ROOT);
+            }
+        });
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal()), is("message551"));
+    }
+
+    @Test
+    public void Controlを変更_他のResourceBundleのキャッシュは破棄しない() {
+        ResourceBundle bundle = ResourceBundle.getBundle("resource.message5", Locale.JAPAN, Sample.class.getClassLoader());
+        ResourceCatalog catalog = this.catalog("resource.message5");
+        catalog.setLocale(Locale.JAPAN);
+        catalog.setControl(ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_DEFAULT));
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal()), is("メッセージ551"));
+        catalog.setControl(null);
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal()), is("メッセージ551"));
+        Assert.assertThat(ResourceBundle.getBundle("resource.message5", Locale.JAPAN, Sample.class.getClassLoader()), is(sameInstance(bundle)));
+    }
+
+    @Test
+    public void 埋め込み文字を配列にせずに書式化_可変長引数と同じ文字列を返却() {
+        ResourceCatalog catalog = this.catalog("resource.message5");
+        catalog.setLocale(Locale.ENGLISH);
+        int ordinal = Sample.MSG552.ordinal();
+        Assert.assertThat(catalog.format(ordinal, "a"), is(catalog.format(ordinal, new Object[]{"a"})));
+        Assert.assertThat(catalog.format(ordinal, "a", 1000), is(catalog.format(ordinal, new Object[]{"a", 1000})));
+        Assert.assertThat(catalog.format(ordinal, "a", "b", "c"), is(catalog.format(ordinal, new Object[]{"a", "b", "c"})));
+        Assert.assertThat(catalog.format(ordinal, (Object) null, "b", "c", "d"), is(catalog.format(ordinal, new Object[]{null, "b", "c", "d"})));
+        Assert.assertThat(catalog.format(ordinal, "a"), is("message552aand{1}"));
+    }
+
+    @Test
+    public void 追記先へ書式化_追記先に書式化した文字列を追記() {
+        ResourceCatalog catalog = this.catalog("resource.message5");
+        catalog.setLocale(Locale.ENGLISH);
+        StringBuilder sb = new StringBuilder("prefix:");
+        Assert.assertThat(catalog.formatTo(Sample.MSG552.ordinal(), sb, "a", "b").toString(), is("prefix:message552aandb"));
+    }
+
+    @Test
+    public void 書式化を遅延_参照時に書式化した文字列を返却() {
+        ResourceCatalog catalog = this.catalog("resource.message5");
+        catalog.setLocale(Locale.ENGLISH);
+        int[] count = new int[1];
+        Object param = new Object() {
+            @Override
+            public String toString() {
+                count[0]++;
+                return "a";
+            }
+        };
+        DeferredMessage message = catalog.defer(Sample.MSG552.ordinal(), param, "b");
+        Assert.assertThat(count[0], is(0));
+        Assert.assertThat(message.toString(), is("message552aandb"));
+        Assert.assertThat(message.get(), is(sameInstance(message.toString())));
+        Assert.assertThat(count[0], is(1));
+        Assert.assertThat(catalog.defer(Sample.MSG552.ordinal(), Locale.JAPAN, "a", "b").toString(), is(catalog.format(Sample.MSG552.ordinal(), Locale.JAPAN, "a", "b")));
+    }
+
+    @Test
+    public void 全ての値を取得_keyと値のマップを返却() {
+        ResourceCatalog catalog = this.catalog("resource.message5");
+        Map<String, String> snapshot = catalog.snapshot(Locale.ENGLISH);
+        Assert.assertThat(new ArrayList<>(snapshot.keySet()), is(Arrays.asList("msg551", "msg552", "msgnone")));
+        Assert.assertThat(snapshot.get("msg551"), is("message551"));
+        Assert.assertThat(snapshot.get("msgnone"), is("defaultnone"));
+        Assert.assertThat(catalog.snapshot(Locale.ENGLISH), is(sameInstance(snapshot)));
+
+        Map<Locale, Map<String, String>> snapshots = catalog.snapshots(Locale.JAPAN, Locale.ENGLISH);
+        Assert.assertThat(new ArrayList<>(snapshots.keySet()), is(Arrays.asList(Locale.JAPAN, Locale.ENGLISH)));
+        Assert.assertThat(snapshots.get(Locale.ENGLISH), is(sameInstance(snapshot)));
+        Assert.assertThat(snapshots.get(Locale.JAPAN).get("msg551"), is("メッセージ551"));
+    }
+
+    @Test
+    public void 全ての値をJSONで取得_エスケープしたJSONを返却() {
+        ResourceCatalog catalog = ResourceCatalog.of(Sample.class, "resource.messagenotexist")
+                .entries(e -> e.key, e -> e.key.equals("msg551") ? "a\"b\\c\nd " : "メッセージ")
+                .build();
+        ByteBuffer json = catalog.snapshotJson(Locale.ENGLISH);
+        byte[] bytes = new byte[json.remaining()];
+        json.get(bytes);
+        Assert.assertThat(new String(bytes, StandardCharsets.UTF_8),
+                          is("{\"msg551\":\"a\\\"b\\\\c\\nd\\u2028\",\"msg552\":\"メッセージ\",\"msgnone\":\"メッセージ\"}"));
+        Assert.assertThat(catalog.snapshotJson(Locale.ENGLISH).remaining(), is(bytes.length));
+    }
+
+    @Test
+    public void 文字数の最大値_現在のロケールのリソースの値の最大の文字数() {
+        ResourceCatalog catalog = this.catalog("resource.message5");
+        catalog.setLocale(Locale.ENGLISH);
+        Assert.assertThat(catalog.maxLength(), is("message552{0}and{1}".length()));
+    }
+
+    @Test
+    public void UTF8のバッファ_リソースの値を符号化した読み取り専用のバッファを返却() {
+        ResourceCatalog catalog = this.catalog("resource.message5");
+        catalog.setLocale(Locale.JAPAN);
+        ByteBuffer first = catalog.toUtf8(Sample.MSG551.ordinal());
+        byte[] bytes = new byte[first.remaining()];
+        first.get(bytes);
+        Assert.assertThat(new String(bytes, StandardCharsets.UTF_8), is("メッセージ551"));
+        Assert.assertThat(first.isReadOnly(), is(true));
+        Assert.assertThat(catalog.toUtf8(Sample.MSG551.ordinal()).remaining(), is(bytes.length));
+    }
+
+    @Test
+    public void ロケールを引数で指定_設定したロケールを変更せずに指定したロケールの値を返却() {
+        ResourceCatalog catalog = this.catalog("resource.message5");
+        catalog.setLocale(Locale.JAPAN);
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.ENGLISH), is("message551"));
+        Assert.assertThat(catalog.format(Sample.MSG552.ordinal(), Locale.ENGLISH, "a", "b"), is("message552aandb"));
+        Assert.assertThat(catalog.format(Sample.MSG552.ordinal(), Locale.ENGLISH, new Object[]{"a", "b"}), is("message552aandb"));
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal()), is("メッセージ551"));
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), null), is("メッセージ551"));
+    }
+
+    @Test
+    public void 存在しないkey_生成時の値を返却() {
+        ResourceCatalog catalog = this.catalog("resource.message5");
+        catalog.setLocale(Locale.ENGLISH);
+        Assert.assertThat(catalog.getString(Sample.MSGNONE.ordinal()), is("defaultnone"));
+    }
+
+    @Test
+    public void 存在しないリソース_生成時の値を返却() {
+        ResourceCatalog catalog = this.catalog("resource.messagenotexist");
+        catalog.setLocale(Locale.ENGLISH);
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal()), is("default551"));
+    }
+
+    @Test
+    public void 連結したkeyと値を設定_配列で設定した場合と同じ値を返却() {
+        List<String> keys = Arrays.asList("msg551", "msg552", "msgnone");
+        List<String> values = Arrays.asList("default551", "default552{0}and{1}", "defaultnone");
+        ResourceCatalog catalog = ResourceCatalog.of(Sample.class, "resource.message5")
+                .entries(PackedStrings.of(PackedStrings.encodeLengths(keys), PackedStrings.encodeSegments(keys).toArray(new String[0])),
+                         PackedStrings.of(PackedStrings.encodeLengths(values), PackedStrings.encodeSegments(values).toArray(new String[0])))
+                .build();
+        catalog.setLocale(Locale.ENGLISH);
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal()), is("message551"));
+        Assert.assertThat(catalog.getString(Sample.MSGNONE.ordinal()), is("defaultnone"));
+        Assert.assertThat(catalog.keyOf(Sample.MSG552.ordinal()), is("msg552"));
+        Assert.assertThat(catalog.indexOfKey("msgnone"), is(Sample.MSGNONE.ordinal()));
+        Assert.assertThat(catalog.indexOfKey("msg553"), is(-1));
+    }
+
+    @Test
+    public void 遅延して埋め込み_解決したロケールの値のみ取得() {
+        Set<Locale> loaded = ConcurrentHashMap.newKeySet();
+        ResourceCatalog catalog = ResourceCatalog.of(Sample.class, "resource.message5").entries(e -> e.key, e -> e.value)
+                .embedLazily(Locale.ROOT, () -> this.load(loaded, Locale.ROOT, "デフォルト551", "デフォルト552{0}and{1}", null))
+                .embedLazily(Locale.ENGLISH, () -> this.load(loaded, Locale.ENGLISH, "message551"),
+                             () -> this.load(loaded, Locale.ENGLISH, "message552{0}and{1}", null))
+                .embedLazily(Locale.JAPAN, () -> this.load(loaded, Locale.JAPAN, "メッセージ551", "メッセージ552{0}and{1}", null))
+                .build();
+        catalog.setLocale(Locale.ENGLISH);
+        Assert.assertThat(catalog.format(Sample.MSG552.ordinal(), "a", "b"), is("message552aandb"));
+        Assert.assertThat(loaded, is(new HashSet<>(Arrays.asList(Locale.ENGLISH, Locale.ROOT))));
+
+        catalog.preload(Locale.JAPAN);
+        Assert.assertThat(loaded.contains(Locale.JAPAN), is(true));
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.JAPAN), is("メッセージ551"));
+    }
+
+    @Test
+    public void 全てのロケールを事前に解決_埋め込んだ全てのロケールの値を返却() {
+        ResourceCatalog catalog = this.embeddedCatalog();
+        catalog.preloadAll();
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.ROOT), is("デフォルト551"));
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.ENGLISH), is("message551"));
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.JAPAN), is("メッセージ551"));
+    }
+
+    private String[] load(Set<Locale> loaded, Locale locale, String... texts) {
+        loaded.add(locale);
+        return texts;
+    }
+
+    @Test
+    public void 対応ロケールを設定_同じ対応ロケールに解決されるロケールは値を共有() {
+        ResourceCatalog catalog = this.supported(ResourceCatalog.of(Sample.class, "resource.message5").entries(e -> e.key, e -> e.value)).build();
+        Assert.assertThat(catalog.supportedLocales(), is(Arrays.asList(Locale.ROOT, Locale.ENGLISH, Locale.JAPAN)));
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.US), sameInstance(catalog.getString(Sample.MSG551.ordinal(), Locale.UK)));
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.US), is("message551"));
+    }
+
+    @Test
+    public void 対応ロケールとControlを設定_Controlで解決した値を返却() {
+        ResourceCatalog catalog = this.supported(ResourceCatalog.of(Sample.class, "resource.message5").entries(e -> e.key, e -> e.value)).build();
+        catalog.setControl(new ResourceBundle.Control() {
+            @Override
+            public List<Locale> getCandidateLocales(String baseName, Locale locale) {
+                if (locale.equals(Locale.JAPAN)) {
+                    return Arrays.asList(Locale.ENGLISH, locale, Locale.JAPANESE, Locale.ROOT);
+                }
+                return super.getCandidateLocales(baseName, locale);
+            }
+        });
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.JAPAN), is("message551"));
+    }
+
+    private ResourceCatalog.Builder<Sample> delta() {
+        return this.supported(ResourceCatalog.of(Sample.class, "resource.message5").entries(e -> e.key, e -> e.value))
+                .embed(Locale.ROOT, "デフォルト551", "デフォルト552{0}and{1}", null)
+                .embed(Locale.ENGLISH, "message551", null, null)
+                .inherited(Locale.ENGLISH, "1")
+                .embed(Locale.JAPAN, "メッセージ551", "メッセージ552{0}and{1}", null);
+    }
+
+    @Test
+    public void 親と同じ値の埋め込みを省略_親の値を共有() {
+        ResourceCatalog catalog = this.delta().build();
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.US), is("message551"));
+        Assert.assertThat(catalog.getString(Sample.MSG552.ordinal(), Locale.US), is("デフォルト552{0}and{1}"));
+        Assert.assertThat(catalog.getString(Sample.MSG552.ordinal(), Locale.US), sameInstance(catalog.getString(Sample.MSG552.ordinal(), Locale.ROOT)));
+        Assert.assertThat(catalog.format(Sample.MSG552.ordinal(), Locale.US, "a", "b"), is("デフォルト552aandb"));
+        Assert.assertThat(catalog.getString(Sample.MSGNONE.ordinal(), Locale.US), is("defaultnone"));
+        Assert.assertThat(catalog.maxLength(Locale.US), is("デフォルト552{0}and{1}".length()));
+    }
+
+    @Test
+    public void 親と同じ値の埋め込みを省略_Controlを設定_省略した値を復元して返却() {
+        ResourceCatalog catalog = this.delta().build();
+        catalog.setControl(new ResourceBundle.Control() {
+            @Override
+            public List<Locale> getCandidateLocales(String baseName, Locale locale) {
+                if (locale.equals(Locale.JAPAN)) {
+                    return Arrays.asList(Locale.ENGLISH, locale, Locale.JAPANESE, Locale.ROOT);
+                }
+                return super.getCandidateLocales(baseName, locale);
+            }
+        });
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.JAPAN), is("message551"));
+        Assert.assertThat(catalog.getString(Sample.MSG552.ordinal(), Locale.JAPAN), is("デフォルト552{0}and{1}"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void 埋め込みを省略したkeyのロケールが対応ロケールでない_例外() {
+        ResourceCatalog.of(Sample.class, "resource.message5").entries(e -> e.key, e -> e.value).inherited(Locale.ENGLISH, "1").build();
+    }
+
+    @Test
+    public void キャッシュの上限を設定_最も長く参照していないロケールを破棄() {
+        ResourceCatalog catalog = this.catalog("resource.message5");
+        catalog.setCacheSize(2);
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.ENGLISH), is("message551"));
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.JAPAN), is("メッセージ551"));
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.ENGLISH), is("message551"));
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.ROOT), is("デフォルト551"));
+        ResourceCacheStats stats = catalog.cacheStats();
+        Assert.assertThat(stats.hitCount(), is(1L));
+        Assert.assertThat(stats.missCount(), is(3L));
+        Assert.assertThat(stats.evictionCount(), is(1L));
+        Assert.assertThat(stats.size(), is(2));
+
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.JAPAN), is("メッセージ551"));
+        Assert.assertThat(catalog.cacheStats().missCount(), is(4L));
+        Assert.assertThat(catalog.cacheStats().evictionCount(), is(2L));
+    }
+
+    @Test
+    public void 対応ロケールを設定_対応ロケールに正規化した値を共有() {
+        ResourceCatalog catalog = this.supported(ResourceCatalog.of(Sample.class, "resource.message5").entries(e -> e.key, e -> e.value)).build();
+        catalog.setCacheSize(1);
+        Assert.assertThat(catalog.format(Sample.MSG552.ordinal(), Locale.US, 1000, "b"), is("message5521,000andb"));
+        Assert.assertThat(catalog.format(Sample.MSG552.ordinal(), Locale.UK, 1000, "b"), is("message5521,000andb"));
+        Assert.assertThat(catalog.format(Sample.MSG552.ordinal(), Locale.US, 1000, "b"), is("message5521,000andb"));
+        ResourceCacheStats stats = catalog.cacheStats();
+        Assert.assertThat(stats.missCount(), is(3L));
+        Assert.assertThat(stats.evictionCount(), is(2L));
+        Assert.assertThat(stats.size(), is(1));
+    }
+
+    @Test
+    public void ResourceBundleから解決_同じResourceBundleに解決されるロケールは値を共有() {
+        ResourceCatalog catalog = this.catalog("resource.message5");
+        ResourceTable english = catalog.getTable(Locale.ENGLISH);
+        ResourceTable variant = catalog.getTable(new Locale("en", "US", "POSIX"));
+        ResourceTable extension = catalog.getTable(Locale.forLanguageTag("en-u-nu-latn"));
+        Assert.assertThat(variant.getTexts(), is(sameInstance(english.getTexts())));
+        Assert.assertThat(extension.getTexts(), is(sameInstance(english.getTexts())));
+        Assert.assertThat(variant.getString(Sample.MSG551.ordinal()), is("message551"));
+        Assert.assertThat(catalog.format(Sample.MSG552.ordinal(), Locale.GERMANY, 1000.5, "b"), is("メッセージ5521.000,5andb"));
+    }
+
+    @Test
+    public void 対応ロケールを設定_指定したロケールで書式化() {
+        ResourceCatalog catalog = this.supported(ResourceCatalog.of(Sample.class, "resource.message5").entries(e -> e.key, e -> e.value)).build();
+        Assert.assertThat(catalog.getString(Sample.MSG552.ordinal(), Locale.GERMANY), sameInstance(catalog.getString(Sample.MSG552.ordinal(), Locale.JAPAN)));
+        Assert.assertThat(catalog.format(Sample.MSG552.ordinal(), Locale.GERMANY, 1000.5, "b"), is("メッセージ5521.000,5andb"));
+        Assert.assertThat(catalog.format(Sample.MSG552.ordinal(), Locale.JAPAN, 1000.5, "b"), is("メッセージ5521,000.5andb"));
+    }
+
+    @Test
+    public void コンテキストクラスローダーを使用_クラスローダー毎の値を返却() throws IOException {
+        Path directory = Files.createTempDirectory("catalog");
+        Path resource = Files.createDirectories(directory.resolve("resource")).resolve("message5.properties");
+        Files.write(resource, "msg551=tenant551\n".getBytes(StandardCharsets.ISO_8859_1));
+        ResourceCatalog catalog = this.supported(ResourceCatalog.of(Sample.class, "resource.message5").entries(e -> e.key, e -> e.value)).build();
+        catalog.setUseContextClassLoader(true);
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        try (URLClassLoader tenant = new URLClassLoader(new URL[]{directory.toUri().toURL()}, null)) {
+            thread.setContextClassLoader(tenant);
+            Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.ENGLISH), is("tenant551"));
+            Assert.assertThat(catalog.getString(Sample.MSG552.ordinal(), Locale.ENGLISH), is("default552{0}and{1}"));
+            thread.setContextClassLoader(Sample.class.getClassLoader());
+            Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.ENGLISH), is("message551"));
+        } finally {
+            thread.setContextClassLoader(original);
+            Files.delete(resource);
+            Files.delete(resource.getParent());
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void 対応ロケールを設定しない_生成後に追加したロケールの値を返却() throws IOException {
+        Path directory = Files.createTempDirectory("catalog");
+        Path resource = Files.createDirectories(directory.resolve("resource")).resolve("message5_fr.properties");
+        Files.write(resource, "msg551=fr551\n".getBytes(StandardCharsets.ISO_8859_1));
+        ResourceCatalog catalog = this.catalog("resource.message5");
+        catalog.setUseContextClassLoader(true);
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        try (URLClassLoader pack = new URLClassLoader(new URL[]{directory.toUri().toURL()}, Sample.class.getClassLoader())) {
+            thread.setContextClassLoader(pack);
+            Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.FRANCE), is("fr551"));
+            Assert.assertThat(catalog.getString(Sample.MSG552.ordinal(), Locale.FRANCE), is("デフォルト552{0}and{1}"));
+        } finally {
+            thread.setContextClassLoader(original);
+            Files.delete(resource);
+            Files.delete(resource.getParent());
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void 外部のディレクトリを設定_再読み込みした値を返却() throws IOException {
+        Path directory = Files.createTempDirectory("catalog");
+        Path resource = directory.resolve("message5_en.properties");
+        Files.write(resource, "msg551=external551\n".getBytes(StandardCharsets.ISO_8859_1));
+        ResourceCatalog catalog = ResourceCatalog.of(Sample.class, "resource.message5").entries(e -> e.key, e -> e.value).build();
+        String japanese = catalog.getString(Sample.MSG551.ordinal(), Locale.JAPANESE);
+        try {
+            catalog.setReloadDirectory(directory);
+            Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.ENGLISH), is("external551"));
+            Assert.assertThat(catalog.getString(Sample.MSG552.ordinal(), Locale.ENGLISH), is("message552{0}and{1}"));
+            Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.JAPANESE), is(japanese));
+
+            Files.write(resource, "msg551=reloaded551\nmsg552=reloaded552\n".getBytes(StandardCharsets.ISO_8859_1));
+            catalog.reload();
+            Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.ENGLISH), is("reloaded551"));
+            Assert.assertThat(catalog.getString(Sample.MSG552.ordinal(), Locale.ENGLISH), is("reloaded552"));
+
+            catalog.setReloadDirectory(null);
+            Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.ENGLISH), is("message551"));
+        } finally {
+            catalog.setReloadDirectory(null);
+            Files.delete(resource);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void テナントの上書きを設定_テナント毎の値を返却() {
+        ResourceCatalog catalog = this.catalog("resource.message5");
+        catalog.setOverlay("tenantA", ResourceOverlay.of(catalog)
+                           .put(Locale.ROOT, "msg551", "tenantA551")
+                           .put(Locale.ENGLISH, "msg552", "tenantA552{0}").build());
+        Assert.assertThat(catalog.getString("tenantA", Sample.MSG551.ordinal(), Locale.US), is("tenantA551"));
+        Assert.assertThat(catalog.format("tenantA", Sample.MSG552.ordinal(), Locale.US, "a"), is("tenantA552a"));
+        Assert.assertThat(catalog.getString("tenantA", Sample.MSG552.ordinal(), Locale.JAPAN), is(catalog.getString(Sample.MSG552.ordinal(), Locale.JAPAN)));
+        Assert.assertThat(catalog.getString("tenantB", Sample.MSG551.ordinal(), Locale.US), is("message551"));
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal(), Locale.US), is("message551"));
+
+        catalog.setOverlay("tenantA", null);
+        Assert.assertThat(catalog.getString("tenantA", Sample.MSG551.ordinal(), Locale.US), is("message551"));
+    }
+
+    @Test
+    public void テナントの上書きを設定_同じロケールは同じテーブルを共有() {
+        ResourceCatalog catalog = this.catalog("resource.message5");
+        ResourceOverlay overlay = ResourceOverlay.of(catalog).put(Locale.ENGLISH, "msg551", "tenant551").build();
+        ResourceTable base = catalog.getTable(Locale.ENGLISH);
+        Assert.assertThat(overlay.apply(base), is(sameInstance(overlay.apply(base))));
+        Assert.assertThat(overlay.apply(base).getTexts().getParent(), is(sameInstance(base.getTexts())));
+        ResourceTable japan = catalog.getTable(Locale.JAPAN);
+        Assert.assertThat(overlay.apply(japan), is(sameInstance(japan)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void テナントの上書きに存在しないkey_例外() {
+        ResourceCatalog catalog = this.catalog("resource.message5");
+        ResourceOverlay.of(catalog).put(Locale.ROOT, "msgnotexist", "value");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void 他のカタログの上書きを設定_例外() {
+        ResourceCatalog catalog = this.catalog("resource.message5");
+        catalog.setOverlay("tenantA", ResourceOverlay.of(this.catalog("resource.message5")).build());
+    }
+
+    @Test
+    public void 参照件数を数える_参照と書式化と生成時の値の返却を数えて公開() throws JMException {
+        ResourceCatalog catalog = ResourceCatalog.of(Sample.class, "resource.message5").entries(e -> e.key, e -> e.value).metrics(true).build();
+        ResourceMetrics metrics = catalog.metrics();
+        catalog.getString(Sample.MSG551.ordinal());
+        catalog.getString(Sample.MSGNONE.ordinal(), Locale.ENGLISH);
+        catalog.format(Sample.MSG552.ordinal(), "a", "b");
+        Assert.assertThat(metrics.getLookupCount(), is(3L));
+        Assert.assertThat(metrics.getFallbackCount(), is(1L));
+        Assert.assertThat(metrics.getFormatCount(), is(1L));
+        Assert.assertThat(metrics.getLookupCountByKey().keySet(), is(new HashSet<>(Arrays.asList("msg551", "msg552", "msgnone"))));
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        Assert.assertThat((Long) server.getAttribute(metrics.getObjectName(), "LookupCount"), is(3L));
+        metrics.reset();
+        Assert.assertThat((Long) server.getAttribute(metrics.getObjectName(), "LookupCount"), is(0L));
+        metrics.unregister();
+        Assert.assertThat(server.isRegistered(metrics.getObjectName()), is(false));
+    }
+
+    @Test
+    public void 同じEnumの参照件数を重ねて登録_登録済みのMBeanを置き換えない() throws JMException {
+        ResourceCatalog first = ResourceCatalog.of(Sample.class, "resource.message5").entries(e -> e.key, e -> e.value).metrics(false).build();
+        ResourceCatalog second = ResourceCatalog.of(Sample.class, "resource.message5").entries(e -> e.key, e -> e.value).metrics(false).build();
+        ObjectName objectName = first.metrics().getObjectName();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            Assert.assertThat(objectName.getKeyProperty("loader"), is(Integer.toHexString(System.identityHashCode(Sample.class.getClassLoader()))));
+            Assert.assertThat(second.metrics().getObjectName(), is(objectName));
+            first.getString(Sample.MSG551.ordinal());
+            second.metrics().unregister();
+            Assert.assertThat((Long) server.getAttribute(objectName, "LookupCount"), is(1L));
+        } finally {
+            first.metrics().unregister();
+        }
+        Assert.assertThat(server.isRegistered(objectName), is(false));
+    }
+
+    @Test
+    public void 参照件数を数えない_参照件数はnull() {
+        Assert.assertThat(this.catalog("resource.message5").metrics(), is(nullValue()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void 対応ロケールの親が範囲外_例外() {
+        ResourceCatalog.of(Sample.class, "resource.message5").entries(e -> e.key, e -> e.value).supportedLocale(Locale.ENGLISH, 1).build();
+    }
+
+    @Test
+    public void 埋め込んだ値から解決_ResourceBundleと同じ値を返却() {
+        this.assertSameAsResourceBundle(null);
+    }
+
+    @Test
+    public void 埋め込んだ値から解決_Controlを指定_ResourceBundleと同じ値を返却() {
+        this.assertSameAsResourceBundle(new ResourceBundle.Control() {
+            @Override
+            public List<Locale> getCandidateLocales(String baseName, Locale locale) {
+                if (locale.equals(Locale.JAPAN)) {
+                    return Arrays.asList(Locale.ENGLISH, locale, Locale.JAPANESE, Locale.ROOT);
+                }
+                return super.getCandidateLocales(baseName, locale);
+            }
+        });
+        this.assertSameAsResourceBundle(ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_DEFAULT));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *  Copyright © 2017 Yamashita,Takahiro
+ */
+package org.vermeer1977.infrastructure.annotation.processor.resource.runtime;
+
+import java.util.Locale;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Yamashita,Takahiro
+ */
+public class ResourceContextTest {
+
+    enum Sample {
+        MSG551("msg551", "default551");
+
+        private final String key;
+        private final String value;
+
+        private Sample(String key, String value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    @After
+    public void tearDown() {
+        ResourceContext.setLocale(null);
+        ResourceContext.setLocaleProvider(null);
+    }
+
+    private ResourceCatalog catalog() {
+        return ResourceCatalog.of(Sample.class, "resource.message5").entries(e -> e.key, e -> e.value).build();
+    }
+
+    @Test
+    public void 共通のロケールを設定_共通のロケールの値を返却() {
+        ResourceCatalog catalog = this.catalog();
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal()), is("メッセージ551"));
+        ResourceContext.setLocale(Locale.ENGLISH);
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal()), is("message551"));
+    }
+
+    @Test
+    public void 共通のロケールとEnumのロケールを設定_Enumのロケールの値を返却() {
+        ResourceCatalog catalog = this.catalog();
+        ResourceContext.setLocale(Locale.ENGLISH);
+        catalog.setLocale(Locale.JAPAN);
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal()), is("メッセージ551"));
+    }
+
+    @Test
+    public void 処理単位のロケールを設定_処理中のみ処理単位のロケールの値を返却() {
+        ResourceCatalog catalog = this.catalog();
+        catalog.setLocale(Locale.JAPAN);
+        ThreadLocalLocaleProvider localeProvider = new ThreadLocalLocaleProvider();
+        ResourceContext.setLocaleProvider(localeProvider);
+
+        String scoped = localeProvider.call(Locale.ENGLISH, () -> catalog.getString(Sample.MSG551.ordinal()));
+
+        Assert.assertThat(scoped, is("message551"));
+        Assert.assertThat(localeProvider.getLocale(), is(nullValue()));
+        Assert.assertThat(catalog.getString(Sample.MSG551.ordinal()), is("メッセージ551"));
+    }
+
+    @Test
+    public void 処理単位のロケールを入れ子で設定_処理の終了時に元のロケールに戻す() {
+        ThreadLocalLocaleProvider localeProvider = new ThreadLocalLocaleProvider();
+        localeProvider.run(Locale.ENGLISH, () -> {
+            localeProvider.run(Locale.JAPAN, () -> Assert.assertThat(localeProvider.getLocale(), is(Locale.JAPAN)));
+            Assert.assertThat(localeProvider.getLocale(), is(Locale.ENGLISH));
+        });
+        Assert.assertThat(localeProvider.getLocale(), is(nullValue()));
+    }
+}
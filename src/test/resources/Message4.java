@@ -1,89 +1,394 @@
-import java.lang.Exception;
-import java.lang.Integer;
-import java.lang.Object;
-import java.lang.Override;
-import java.lang.String;
-import java.util.Locale;
-import java.util.ResourceBundle;
-
-/**
- * Generated by ClassFactoryProcessor.
- * @see org.vermeer1977.infrastructure.annotation.processor.ClassFactoryProcessor
- * @see org.vermeer1977.infrastructure.annotation.processor.resource
- */
-public enum Message4 {
-  /**
-   * デフォルト331<br>
-   * parameter count = 0
-   */
-  MSG441("msg441", 0, "デフォルト331"),
-
-  /**
-   * デフォルト332{0}and{1}<br>
-   * parameter count = 2
-   */
-  MSG442("msg442", 2, "デフォルト332{0}and{1}");
-
-  private static ResourceBundle.Control control;
-
-  private static Locale locale;
-
-  private final String key;
-
-  private final Integer paramCount;
-
-  private final String value;
-
-  private Message4(String key, Integer paramCount, String value) {
-    this.key = key;
-    this.paramCount = paramCount;
-    this.value = value;
-  }
-
-  /**
-   * 任意設定項目：ResourceBundleから値を取得する際に使用するControlを設定します.<br>
-   * 未設定の場合、ResourceBundleのデフォルトで処理します.<br>
-   * 本設定はロケールのFallbackを設定したい場合などに使用します.<br>Caution:this feild is Thread-Unsafe.
-   *
-   */
-  public static void setControl(ResourceBundle.Control control) {
-    Message4.control = control;
-  }
-
-  /**
-   * 任意設定項目：ResourceBundleから値を取得する際に使用するLocaleを設定します.<br>
-   * 未設定の場合、デフォルトロケールで処理します.<br>
-   * Caution:this feild is Thread-Unsafe.
-   *
-   */
-  public static void setLocale(Locale locale) {
-    Message4.locale = locale;
-  }
-
-  /**
-   * リソースの値を返却します.<br>
-   * 例外捕捉時の対応については、リソースの取得が出来なかった場合に最低限状況判別が出来うるメッセージを表示させるための措置です.<br>
-   * あわせてメッセージIDを付与してリソースの取得が出来ていなかったことを可視できるようにしています.<br>
-   * @return 当該定数に該当するリソースの値
-   */
-  @Override
-  public String toString() {
-    try {
-      java.util.Locale _locale = Message4.locale == null ? java.util.Locale.getDefault() : Message4.locale;
-      if (Message4.control == null) {
-        return java.util.ResourceBundle.getBundle("resource.message4", _locale).getString(this.key);
-      }
-      return java.util.ResourceBundle.getBundle("resource.message4", _locale, Message4.control).getString(this.key);
-    } catch(Exception ex) {
-      return this.value;
-    }
-  }
-
-  /**
-   * 埋め込み文字の置換をした文字列を返却します.<br>
-   * @return 埋め込み文字を置換した文字列
-   */
-  public String format(Object... params) {
-    return java.text.MessageFormat.format(toString(), params);
-  }
-}
+import java.io.IOException;
+import java.lang.Appendable;
+import java.lang.Object;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.StringBuilder;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import org.vermeer1977.infrastructure.annotation.processor.resource.runtime.DeferredMessage;
+import org.vermeer1977.infrastructure.annotation.processor.resource.runtime.ResourceCacheStats;
+import org.vermeer1977.infrastructure.annotation.processor.resource.runtime.ResourceCatalog;
+import org.vermeer1977.infrastructure.annotation.processor.resource.runtime.ResourceOverlay;
+
+/**
+ * Generated by ClassFactoryProcessor.
+ * @see org.vermeer1977.infrastructure.annotation.processor.ClassFactoryProcessor
+ * @see org.vermeer1977.infrastructure.annotation.processor.resource
+ */
+public enum Message4 {
+  /**
+   * デフォルト331<br>
+   * parameter count = 0
+   */
+  MSG441("msg441", 0, "デフォルト331"),
+
+  /**
+   * デフォルト332{0}and{1}<br>
+   * parameter count = 2
+   */
+  MSG442("msg442", 2, "デフォルト332{0}and{1}");
+
+  private static final ResourceCatalog catalog = ResourceCatalog.of(Message4.class, "resource.message4").entries(e -> e.key, e -> e.value)
+      .build();
+
+  private static final List<Message4> constants = Collections.unmodifiableList(Arrays.asList(values()));
+
+  private final String key;
+
+  private final int paramCount;
+
+  private final String value;
+
+  private Message4(String key, int paramCount, String value) {
+    this.key = key;
+    this.paramCount = paramCount;
+    this.value = value;
+  }
+
+  /**
+   * 任意設定項目：ResourceBundleから値を取得する際に使用するControlを設定します.<br>
+   * 未設定の場合、ResourceBundleのデフォルトで処理します.<br>
+   * 本設定はロケールのFallbackを設定したい場合などに使用します.<br>
+   * 設定を変更した場合、ロケール単位でキャッシュしたリソースの値は破棄します.
+   *
+   */
+  public static void setControl(ResourceBundle.Control control) {
+    catalog.setControl(control);
+  }
+
+  /**
+   * 任意設定項目：ResourceBundleから値を取得する際に、スレッドのコンテキストクラスローダーを使用するかを設定します.<br>
+   * 未設定の場合、本クラスのクラスローダーを使用します.<br>
+   * 共有ライブラリに配置した本クラスから、アプリケーション毎のPropertiesファイルを参照する場合に使用します. 値はクラスローダー毎にキャッシュします.
+   *
+   */
+  public static void setUseContextClassLoader(boolean useContextClassLoader) {
+    catalog.setUseContextClassLoader(useContextClassLoader);
+  }
+
+  /**
+   * 任意設定項目：値を優先して参照するPropertiesファイルを配置したディレクトリを設定します.<br>
+   * 未設定の場合、ディレクトリは参照しません. ファイルの変更を検知した場合は再読み込みします.
+   *
+   */
+  public static void setReloadDirectory(Path directory) {
+    catalog.setReloadDirectory(directory);
+  }
+
+  /**
+   * ディレクトリのPropertiesファイルを再読み込みします.
+   */
+  public static void reload() {
+    catalog.reload();
+  }
+
+  /**
+   * 任意設定項目：ResourceBundleから値を取得する際に使用するLocaleを設定します.<br>
+   * 未設定の場合、ResourceContextに設定したロケール、デフォルトロケールの順で処理します.<br>
+   * ResourceContextにLocaleProviderを設定している場合は、LocaleProviderが返却するロケールを優先します.
+   *
+   */
+  public static void setLocale(Locale locale) {
+    catalog.setLocale(locale);
+  }
+
+  /**
+   * 現在のロケールのリソースの値の文字数の最大値を返却します.<br>
+   * 書式化した文字列のうち、埋め込み文字を置換した値を除く部分の文字数の上限です. 追記先の初期容量の見積もりに使用します.<br>
+   * @return リソースの値の文字数の最大値
+   */
+  public static int maxLength() {
+    return catalog.maxLength();
+  }
+
+  /**
+   * 指定したロケールのリソースの値の文字数の最大値を返却します.<br>
+   * @param locale ロケール
+   * @return リソースの値の文字数の最大値
+   */
+  public static int maxLength(Locale locale) {
+    return catalog.maxLength(locale);
+  }
+
+  /**
+   * 生成時に検出したPropertiesファイルのロケールの一覧を返却します.<br>
+   * ロケール毎の値を埋め込まない場合は、実行時に追加したPropertiesファイルも解決に使用するため一覧を保持しません.<br>
+   * @return 対応ロケールの一覧. 保持しない場合は空のリスト
+   */
+  public static List<Locale> supportedLocales() {
+    return catalog.supportedLocales();
+  }
+
+  /**
+   * 指定したロケールのリソースの値の解決と書式の解析を並列に行います.<br>
+   * 起動時に呼び出すと、初回の参照時の解決を省略できます. 解決はForkJoinPoolの共通プールで行い、完了するまで待機します.<br>
+   * @param locales ロケール
+   */
+  public static void preload(Locale... locales) {
+    catalog.preload(locales);
+  }
+
+  /**
+   * 解決できる全てのロケールのリソースの値の解決と書式の解析を並列に行います.<br>
+   * ロケール毎の値を埋め込んだ場合は埋め込んだ全てのロケール、それ以外は現在のロケールを解決します.<br>
+   */
+  public static void preloadAll() {
+    catalog.preloadAll();
+  }
+
+  /**
+   * 指定したロケールの全てのkeyと値の変更不可のマップを返却します.<br>
+   * マップはロケール毎に初回のみ作成して保持します. ロケールがnullの場合は現在のロケールのマップを返却します.<br>
+   * @param locale ロケール
+   * @return keyと値のマップ
+   */
+  public static Map<String, String> snapshot(Locale locale) {
+    return catalog.snapshot(locale);
+  }
+
+  /**
+   * 指定したロケールの全てのkeyと値を、JSONのオブジェクトとしてUTF-8で符号化した読み取り専用のバッファを返却します.<br>
+   * バッファはロケール毎に初回のみ作成して保持します.<br>
+   * @param locale ロケール
+   * @return JSONのオブジェクトを符号化したバッファ
+   */
+  public static ByteBuffer snapshotJson(Locale locale) {
+    return catalog.snapshotJson(locale);
+  }
+
+  /**
+   * 指定したロケール毎の全てのkeyと値の変更不可のマップを並列に作成して返却します.<br>
+   * 作成はForkJoinPoolの共通プールで行い、完了するまで待機します.<br>
+   * @param locales ロケール
+   * @return 指定した順のロケールとマップ
+   */
+  public static Map<Locale, Map<String, String>> snapshots(Locale... locales) {
+    return catalog.snapshots(locales);
+  }
+
+  /**
+   * 任意設定項目：参照したロケール毎のキャッシュに保持するロケールの上限を設定します.<br>
+   * 未設定（0以下）の場合は上限なしです. 上限を超えた場合は最も長く参照していないロケールを破棄します.<br>
+   * @param cacheSize 保持するロケールの上限
+   */
+  public static void setCacheSize(int cacheSize) {
+    catalog.setCacheSize(cacheSize);
+  }
+
+  /**
+   * 参照したロケール毎のキャッシュの参照件数を返却します.<br>
+   * @return キャッシュの参照件数
+   */
+  public static ResourceCacheStats cacheStats() {
+    return catalog.cacheStats();
+  }
+
+  /**
+   * テナント毎に一部のリソースの値を置き換える上書きを構築するクラスを返却します.<br>
+   * @return 上書きを構築するクラス
+   */
+  public static ResourceOverlay.Builder overlay() {
+    return ResourceOverlay.of(catalog);
+  }
+
+  /**
+   * 任意設定項目：テナントの上書きを設定します.<br>
+   * nullを設定した場合はテナントの上書きを解除します.
+   *
+   */
+  public static void setOverlay(String tenant, ResourceOverlay overlay) {
+    catalog.setOverlay(tenant, overlay);
+  }
+
+  /**
+   * 全ての定数を序数の順に並べた変更不可のリストを返却します.<br>
+   * {@code values()}と異なり、呼び出しの都度配列の複製はしません.<br>
+   * @return 全ての定数のリスト
+   */
+  public static List<Message4> constants() {
+    return constants;
+  }
+
+  /**
+   * 序数に該当する定数のリソースのkeyを返却します.<br>
+   * @param ordinal 定数の序数
+   * @return リソースのkey
+   */
+  public static String keyOf(int ordinal) {
+    return constants.get(ordinal).key;
+  }
+
+  /**
+   * リソースのkeyに該当する定数を返却します.<br>
+   * keyの文字列による分岐（定数が多い場合は二分探索）で判定するため、大文字への変換などの文字列の生成はしません.<br>
+   * @param key リソースのkey
+   * @return 該当する定数. 該当しない場合はnull
+   */
+  public static Message4 fromKey(String key) {
+    if (key == null) {
+      return null;
+    }
+    switch (key) {
+      case "msg441":
+        return MSG441;
+      case "msg442":
+        return MSG442;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * リソースのkeyを返却します.<br>
+   * @return リソースのkey
+   */
+  public String getKey() {
+    return this.key;
+  }
+
+  /**
+   * 生成時のリソースの値の埋め込み文字の数を返却します.<br>
+   * 埋め込み文字の番号の最大値に1を加えた値です. 同じ番号の重複や使用しない番号があっても最大の番号から数えます.<br>
+   * @return 埋め込み文字の数
+   */
+  public int getParamCount() {
+    return this.paramCount;
+  }
+
+  /**
+   * リソースの値を返却します.<br>
+   * リソースの値はロケール単位でキャッシュしたものを返却します.<br>
+   * リソースの取得が出来なかった場合は、最低限状況判別が出来うるメッセージとして生成時の値を返却します.<br>
+   * @return 当該定数に該当するリソースの値
+   */
+  @Override
+  public String toString() {
+    return catalog.getString(this.ordinal());
+  }
+
+  /**
+   * 指定したロケールのリソースの値を返却します.<br>
+   * 設定したロケールを参照も変更もしないため、リクエスト毎にロケールが異なる場合に使用します.<br>
+   * @param locale ロケール
+   * @return 当該定数に該当するリソースの値
+   */
+  public String toString(Locale locale) {
+    return catalog.getString(this.ordinal(), locale);
+  }
+
+  /**
+   * 埋め込み文字の置換をした文字列を返却します.<br>
+   * 解析済みの書式は定数とロケールの単位でキャッシュして使用します.<br>
+   * 埋め込み文字は番号の順に{@link #getParamCount()}の数だけ指定します.<br>
+   * @return 埋め込み文字を置換した文字列
+   */
+  public String format(Object... params) {
+    return catalog.format(this.ordinal(), params);
+  }
+
+  /**
+   * 指定したロケールで埋め込み文字の置換をした文字列を返却します.<br>
+   * 設定したロケールを参照も変更もしないため、リクエスト毎にロケールが異なる場合に使用します.<br>
+   * 埋め込み文字は番号の順に{@link #getParamCount()}の数だけ指定します.<br>
+   * @param locale ロケール
+   * @param params 埋め込み文字
+   * @return 埋め込み文字を置換した文字列
+   */
+  public String format(Locale locale, Object... params) {
+    return catalog.format(this.ordinal(), locale, params);
+  }
+
+  /**
+   * テナントの上書きを重ねて、指定したロケールのリソースの値を返却します.<br>
+   * テナントの上書きが無い場合は、上書きを重ねない値を返却します.<br>
+   * @param tenant テナント
+   * @param locale ロケール. 現在の設定に該当するロケールを使用する場合はnull
+   * @return 当該定数に該当するリソースの値
+   */
+  public String toString(String tenant, Locale locale) {
+    return catalog.getString(tenant, this.ordinal(), locale);
+  }
+
+  /**
+   * テナントの上書きを重ねて、指定したロケールで埋め込み文字の置換をした文字列を返却します.<br>
+   * @param tenant テナント
+   * @param locale ロケール. 現在の設定に該当するロケールを使用する場合はnull
+   * @param params 埋め込み文字
+   * @return 埋め込み文字を置換した文字列
+   */
+  public String formatTenant(String tenant, Locale locale, Object... params) {
+    return catalog.format(tenant, this.ordinal(), locale, params);
+  }
+
+  /**
+   * 埋め込み文字の置換をした文字列を追記します.<br>
+   * 書式化した文字列を生成せずに追記先へ直接追記します.<br>
+   * @param sb 追記先
+   * @param params 埋め込み文字
+   * @return 追記先
+   */
+  public StringBuilder formatTo(StringBuilder sb, Object... params) {
+    return catalog.formatTo(this.ordinal(), sb, params);
+  }
+
+  /**
+   * 書式化を文字列の参照時まで遅延するメッセージを返却します.<br>
+   * 出力しないログレベルのログに渡した場合は書式化しません.<br>
+   * @param params 埋め込み文字
+   * @return 書式化を遅延するメッセージ
+   */
+  public DeferredMessage defer(Object... params) {
+    return catalog.defer(this.ordinal(), params);
+  }
+
+  /**
+   * 指定したロケールで書式化を文字列の参照時まで遅延するメッセージを返却します.<br>
+   * 別のスレッドで出力するロガーに渡す場合に、ロケールを確定するために使用します.<br>
+   * @param locale ロケール
+   * @param params 埋め込み文字
+   * @return 書式化を遅延するメッセージ
+   */
+  public DeferredMessage defer(Locale locale, Object... params) {
+    return catalog.defer(this.ordinal(), locale, params);
+  }
+
+  /**
+   * 埋め込み文字の置換をした文字列を追記します.<br>
+   * 書式化した文字列を生成せずに追記先へ直接追記します.<br>
+   * @param <A> 追記先の型
+   * @param out 追記先
+   * @param params 埋め込み文字
+   * @return 追記先
+   * @throws IOException 追記先への出力に失敗した場合
+   */
+  public <A extends Appendable> A appendTo(A out, Object... params) throws IOException {
+    return catalog.appendTo(this.ordinal(), out, params);
+  }
+
+  /**
+   * 埋め込み文字の置換をした文字列をUTF-8で書き込みます.<br>
+   * 固定文字列は符号化済みのバイト列を書き込み、埋め込み文字のみ書き込み時に符号化します.<br>
+   * @param dst 書き込み先
+   * @param params 埋め込み文字
+   * @return 書き込み先
+   */
+  public ByteBuffer writeUtf8(ByteBuffer dst, Object... params) {
+    return catalog.writeUtf8(this.ordinal(), dst, params);
+  }
+
+  /**
+   * リソースの値をUTF-8で符号化した読み取り専用のバッファを返却します.<br>
+   * 符号化したバイト列はロケール単位で共有するため、バイト列の複写はしません.<br>
+   * @return リソースの値をUTF-8で符号化したバッファ
+   */
+  public ByteBuffer toUtf8() {
+    return catalog.toUtf8(this.ordinal());
+  }
+}
@@ -1,11 +1,11 @@
-
-import org.vermeer1977.infrastructure.annotation.processor.resource.GenerateResourceEnum;
-
-/**
- *
- * @author Yamashita,Takahiro
- */
-@GenerateResourceEnum
-public class NoTargetField {
-
-}
+
+import org.vermeer1977.infrastructure.annotation.processor.resource.GenerateResourceEnum;
+
+/**
+ *
+ * @author Yamashita,Takahiro
+ */
+@GenerateResourceEnum
+public class NoTargetField {
+
+}
@@ -1,15 +1,15 @@
-
-import org.vermeer1977.infrastructure.annotation.processor.resource.GenerateResourceEnum;
-import org.vermeer1977.infrastructure.annotation.processor.resource.TargetResource;
-
-/**
- *
- * @author Yamashita,Takahiro
- */
-@GenerateResourceEnum
-public class SampleEnum {
-
-    @TargetResource
-    final String resourceName = "resource.message";
-
-}
+
+import org.vermeer1977.infrastructure.annotation.processor.resource.GenerateResourceEnum;
+import org.vermeer1977.infrastructure.annotation.processor.resource.TargetResource;
+
+/**
+ *
+ * @author Yamashita,Takahiro
+ */
+@GenerateResourceEnum
+public class SampleEnum {
+
+    @TargetResource
+    final String resourceName = "resource.message";
+
+}
@@ -0,0 +1,16 @@
+package packagetest;
+
+import org.vermeer1977.infrastructure.annotation.processor.resource.GenerateResourceEnum;
+import org.vermeer1977.infrastructure.annotation.processor.resource.TargetResource;
+
+/**
+ *
+ * @author Yamashita,Takahiro
+ */
+@GenerateResourceEnum(embedLocales = true, compact = true)
+public class EnumCompact {
+
+    @TargetResource
+    final String resourceName = "resource.message5";
+
+}
@@ -0,0 +1,16 @@
+package packagetest;
+
+import org.vermeer1977.infrastructure.annotation.processor.resource.GenerateResourceEnum;
+import org.vermeer1977.infrastructure.annotation.processor.resource.TargetResource;
+
+/**
+ *
+ * @author Yamashita,Takahiro
+ */
+@GenerateResourceEnum(formatArity = 2)
+public class EnumFormatArity {
+
+    @TargetResource
+    final String resourceName = "resource.message5";
+
+}